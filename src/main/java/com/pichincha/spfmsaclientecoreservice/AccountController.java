@@ -2,15 +2,20 @@ package com.pichincha.spfmsaclientecoreservice;
 
 import com.pichincha.spfmsaclientecoreservice.api.AccountsApi;
 import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.domain.Money;
 import com.pichincha.spfmsaclientecoreservice.exception.ResourceNotFoundException;
+import com.pichincha.spfmsaclientecoreservice.model.AccountBalanceDTO;
 import com.pichincha.spfmsaclientecoreservice.model.AccountDTO;
 import com.pichincha.spfmsaclientecoreservice.service.AccountService;
+import com.pichincha.spfmsaclientecoreservice.service.KeysetPage;
+import com.pichincha.spfmsaclientecoreservice.service.KeysetPagination;
 import com.pichincha.spfmsaclientecoreservice.service.mapper.AccountMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Slf4j
@@ -20,6 +25,7 @@ public class AccountController implements AccountsApi {
 
     private final AccountService accountService;
     private final AccountMapper accountMapper;
+    private final KeysetPagination keysetPagination;
 
     @Override
     public ResponseEntity<AccountDTO> createAccount(AccountDTO accountDTO) {
@@ -39,23 +45,36 @@ public class AccountController implements AccountsApi {
     }
 
     @Override
-    public ResponseEntity<List<AccountDTO>> getAllAccounts() {
-        log.info("Fetching all accounts");
-        List<Account> accounts = accountService.getAllAccounts();
-        List<AccountDTO> accountDTOs = accounts.stream()
+    public ResponseEntity<List<AccountDTO>> getAllAccounts(String cursor, Integer size) {
+        int pageSize = keysetPagination.resolveSize(size);
+        log.info("Fetching accounts page: cursor={}, size={}", cursor, pageSize);
+        KeysetPage<Account> page = accountService.getAccountsPage(keysetPagination.decodeCursor(cursor), pageSize);
+        List<AccountDTO> accountDTOs = page.content().stream()
                 .map(accountMapper::toDto)
                 .toList();
-        log.info("Total accounts found: {}", accountDTOs.size());
-        return ResponseEntity.ok(accountDTOs);
+        log.info("Accounts found in page: {}", accountDTOs.size());
+        return ResponseEntity.ok()
+                .headers(keysetPagination.nextCursorHeaders(page))
+                .body(accountDTOs);
     }
 
     @Override
     public ResponseEntity<AccountDTO> findAccountById(Long accountId) {
         log.info("Fetching account with ID: {}", accountId);
-        Account account = accountService.findAccountById(accountId)
+        AccountDTO account = accountService.findAccountHeader(accountId)
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + accountId));
         log.info("Account found: {}", account.getAccountNumber());
-        return ResponseEntity.ok(accountMapper.toDto(account));
+        return ResponseEntity.ok(account);
+    }
+
+    @Override
+    public ResponseEntity<AccountBalanceDTO> getAccountBalance(Long accountId, LocalDate date) {
+        log.info("Fetching balance of account ID: {} at {}", accountId, date);
+        long balance = accountService.getBalanceAt(accountId, date);
+        return ResponseEntity.ok(new AccountBalanceDTO()
+                .accountId(accountId)
+                .date(date)
+                .balance(Money.toDouble(balance)));
     }
 
     @Override
@@ -5,6 +5,8 @@ import com.pichincha.spfmsaclientecoreservice.domain.Client;
 import com.pichincha.spfmsaclientecoreservice.exception.ResourceNotFoundException;
 import com.pichincha.spfmsaclientecoreservice.model.ClientDTO;
 import com.pichincha.spfmsaclientecoreservice.service.ClientService;
+import com.pichincha.spfmsaclientecoreservice.service.KeysetPage;
+import com.pichincha.spfmsaclientecoreservice.service.KeysetPagination;
 import com.pichincha.spfmsaclientecoreservice.service.mapper.ClientMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +22,7 @@ public class ClientController implements ClientsApi {
 
     private final ClientService clientService;
     private final ClientMapper clientMapper;
+    private final KeysetPagination keysetPagination;
 
     @Override
     public ResponseEntity<ClientDTO> createClient(ClientDTO clientDTO) {
@@ -39,23 +42,26 @@ public class ClientController implements ClientsApi {
     }
 
     @Override
-    public ResponseEntity<List<ClientDTO>> getAllClients() {
-        log.info("Fetching all clients");
-        List<Client> clients = clientService.getAllClients();
-        List<ClientDTO> clientDTOs = clients.stream()
+    public ResponseEntity<List<ClientDTO>> getAllClients(String cursor, Integer size) {
+        int pageSize = keysetPagination.resolveSize(size);
+        log.info("Fetching clients page: cursor={}, size={}", cursor, pageSize);
+        KeysetPage<Client> page = clientService.getClientsPage(keysetPagination.decodeCursor(cursor), pageSize);
+        List<ClientDTO> clientDTOs = page.content().stream()
                 .map(clientMapper::toDto)
                 .toList();
-        log.info("Total clients found: {}", clientDTOs.size());
-        return ResponseEntity.ok(clientDTOs);
+        log.info("Clients found in page: {}", clientDTOs.size());
+        return ResponseEntity.ok()
+                .headers(keysetPagination.nextCursorHeaders(page))
+                .body(clientDTOs);
     }
 
     @Override
     public ResponseEntity<ClientDTO> findClientById(Long clientId) {
         log.info("Fetching client with ID: {}", clientId);
-        Client client = clientService.findClientById(clientId)
+        ClientDTO client = clientService.findClientHeader(clientId)
                 .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + clientId));
         log.info("Client found: {}", client.getName());
-        return ResponseEntity.ok(clientMapper.toDto(client));
+        return ResponseEntity.ok(client);
     }
 
     @Override
@@ -1,29 +1,50 @@
 package com.pichincha.spfmsaclientecoreservice;
 
 import com.pichincha.spfmsaclientecoreservice.api.ReportsApi;
+import com.pichincha.spfmsaclientecoreservice.exception.ResourceNotFoundException;
+import com.pichincha.spfmsaclientecoreservice.model.AccountStatementSummaryDTO;
 import com.pichincha.spfmsaclientecoreservice.model.ReportDTO;
+import com.pichincha.spfmsaclientecoreservice.model.ReportJobDTO;
 import com.pichincha.spfmsaclientecoreservice.model.ReportResponseDTO;
-import com.pichincha.spfmsaclientecoreservice.service.PdfReportService;
+import com.pichincha.spfmsaclientecoreservice.service.ReportJob;
+import com.pichincha.spfmsaclientecoreservice.service.ReportJobService;
 import com.pichincha.spfmsaclientecoreservice.service.ReportService;
+import com.pichincha.spfmsaclientecoreservice.service.StatementCacheService;
 import com.pichincha.spfmsaclientecoreservice.service.mapper.ReportMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.math.BigDecimal;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 public class ReportController implements ReportsApi {
 
+    public static final String PATH_DOWNLOAD_ACCOUNT_STATEMENT_PDF = "/reports/pdf/download";
+
     private final ReportService reportService;
     private final ReportMapper reportMapper;
-    private final PdfReportService pdfReportService;
+    private final StatementCacheService statementCacheService;
+    private final ReportJobService reportJobService;
 
     @Override
     public ResponseEntity<List<ReportDTO>> generateAccountStatement(
@@ -34,29 +55,15 @@ public class ReportController implements ReportsApi {
         log.info("Generating account statement for client ID: {} from {} to {}",
                 clientId, startDate, endDate);
 
-        List<com.pichincha.spfmsaclientecoreservice.domain.Transaction> transactions =
-                reportService.generateAccountStatement(clientId, startDate, endDate);
-
-        BigDecimal totalDebits = transactions.stream()
-                .filter(transaction -> transaction.getAmount() < 0)
-                .map(transaction -> BigDecimal.valueOf(Math.abs(transaction.getAmount())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalCredits = transactions.stream()
-                .filter(transaction -> transaction.getAmount() > 0)
-                .map(transaction -> BigDecimal.valueOf(transaction.getAmount()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        List<ReportDTO> reports = transactions.stream()
-                .map(transaction -> reportMapper.toDto(transaction, totalDebits, totalCredits))
-                .toList();
-
-        log.info("Account statement generated: {} transactions, Total Debits: {}, Total Credits: {}",
-                reports.size(), totalDebits, totalCredits);
+        List<ReportDTO> reports = buildReports(clientId, startDate, endDate);
 
         return ResponseEntity.ok(reports);
     }
 
+    /**
+     * Kept for compatibility: the Base64 body needs the whole PDF in memory. The binary download
+     * streams it from the statement cache and is the memory-bounded way to get it
+     */
     @Override
     public ResponseEntity<ReportResponseDTO> generateAccountStatementWithPdf(
             Long clientId,
@@ -66,34 +73,116 @@ public class ReportController implements ReportsApi {
         log.info("Generating account statement with PDF for client ID: {} from {} to {}",
                 clientId, startDate, endDate);
 
-        List<com.pichincha.spfmsaclientecoreservice.domain.Transaction> transactions =
-                reportService.generateAccountStatement(clientId, startDate, endDate);
-
-        BigDecimal totalDebits = transactions.stream()
-                .filter(transaction -> transaction.getAmount() < 0)
-                .map(transaction -> BigDecimal.valueOf(Math.abs(transaction.getAmount())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalCredits = transactions.stream()
-                .filter(transaction -> transaction.getAmount() > 0)
-                .map(transaction -> BigDecimal.valueOf(transaction.getAmount()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        List<ReportDTO> reports = transactions.stream()
-                .map(transaction -> reportMapper.toDto(transaction, totalDebits, totalCredits))
-                .toList();
+        List<ReportDTO> reports = buildReports(clientId, startDate, endDate);
 
         log.info("Generating PDF report with {} transactions", reports.size());
-        byte[] pdfBytes = pdfReportService.generateAccountStatementPdf(reports);
-        String pdfBase64 = Base64.getEncoder().encodeToString(pdfBytes);
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        statementCacheService.writeStatementPdf(clientId, startDate, endDate, reports, pdf);
+        String pdfBase64 = Base64.getEncoder().encodeToString(pdf.toByteArray());
 
         ReportResponseDTO response = new ReportResponseDTO();
         response.setReportJson(reports);
         response.setPdfBase64(pdfBase64);
 
-        log.info("PDF report generated successfully, size: {} bytes", pdfBytes.length);
+        log.info("PDF report generated successfully, size: {} bytes", pdf.size());
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Binary PDF streamed to the response from its statement cache file. The rows are loaded on the
+     * request thread, so lookup errors still map to the usual error responses, and a missing PDF is
+     * rendered from them. Not part of openapi.yaml, like the transaction export
+     */
+    @GetMapping(value = PATH_DOWNLOAD_ACCOUNT_STATEMENT_PDF, produces = MediaType.APPLICATION_PDF_VALUE)
+    public ResponseEntity<StreamingResponseBody> downloadAccountStatementPdf(
+            @RequestParam Long clientId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        log.info("Downloading account statement PDF for client ID: {} from {} to {}",
+                clientId, startDate, endDate);
+
+        List<ReportDTO> reports = buildReports(clientId, startDate, endDate);
+        StreamingResponseBody body = output -> {
+            long size = statementCacheService.writeStatementPdf(clientId, startDate, endDate, reports, output);
+            log.info("PDF report streamed, size: {} bytes", size);
+        };
+
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("estado-cuenta-" + clientId + "-" + startDate + "-" + endDate + ".pdf")
+                .build();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(body);
+    }
+
+    @Override
+    public ResponseEntity<ReportJobDTO> createReportJob(
+            Long clientId,
+            LocalDate startDate,
+            LocalDate endDate
+    ) {
+        ReportJob job = reportJobService.submitAccountStatement(clientId, startDate, endDate);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reportMapper.toJobDto(job));
+    }
+
+    @Override
+    public ResponseEntity<ReportJobDTO> getReportJob(String jobId) {
+        ReportJob job = reportJobService.findJob(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job not found with id: " + jobId));
+        return ResponseEntity.ok(reportMapper.toJobDto(job));
+    }
+
+    /**
+     * PDF of a completed report job, served from the result store. Not part of openapi.yaml,
+     * like the other binary downloads
+     */
+    @GetMapping(value = "/reports/jobs/{jobId}/pdf", produces = MediaType.APPLICATION_PDF_VALUE)
+    public ResponseEntity<Resource> downloadReportJobPdf(@PathVariable String jobId) {
+        ReportJob job = reportJobService.findJob(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job not found with id: " + jobId));
+        Optional<Path> result = reportJobService.findResult(jobId);
+        if (result.isEmpty()) {
+            log.info("Report job {} has no PDF to download, status: {}", jobId, job.status());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("estado-cuenta-" + job.clientId() + "-" + job.startDate() + "-" + job.endDate() + ".pdf")
+                .build();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(new FileSystemResource(result.get()));
+    }
+
+    @Override
+    public ResponseEntity<List<AccountStatementSummaryDTO>> getAccountStatementSummary(
+            Long clientId,
+            LocalDate startDate,
+            LocalDate endDate
+    ) {
+        log.info("Generating account statement summary for client ID: {} from {} to {}",
+                clientId, startDate, endDate);
+        List<AccountStatementSummaryDTO> summary = reportService.summarizeAccountStatement(clientId, startDate, endDate)
+                .stream()
+                .map(reportMapper::toSummaryDto)
+                .toList();
+        return ResponseEntity.ok(summary);
+    }
+
+    private List<ReportDTO> buildReports(Long clientId, LocalDate startDate, LocalDate endDate) {
+        List<ReportDTO> reports = statementCacheService.findStatement(clientId, startDate, endDate);
+
+        if (!reports.isEmpty()) {
+            log.info("Account statement generated: {} transactions, Total Debits: {}, Total Credits: {}",
+                    reports.size(), reports.get(0).getTotalDebits(), reports.get(0).getTotalCredits());
+        } else {
+            log.info("Account statement generated: no transactions");
+        }
+        return reports;
+    }
 }
 
@@ -1,16 +1,31 @@
 package com.pichincha.spfmsaclientecoreservice;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pichincha.spfmsaclientecoreservice.api.TransactionsApi;
 import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
 import com.pichincha.spfmsaclientecoreservice.exception.ResourceNotFoundException;
+import com.pichincha.spfmsaclientecoreservice.model.TransactionBatchResultDTO;
 import com.pichincha.spfmsaclientecoreservice.model.TransactionDTO;
+import com.pichincha.spfmsaclientecoreservice.service.KeysetPage;
+import com.pichincha.spfmsaclientecoreservice.service.KeysetPagination;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionImportService;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionImportSummary;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionPostingResult;
 import com.pichincha.spfmsaclientecoreservice.service.TransactionService;
 import com.pichincha.spfmsaclientecoreservice.service.mapper.TransactionMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @Slf4j
@@ -18,8 +33,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TransactionController implements TransactionsApi {
 
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private final TransactionService transactionService;
+    private final TransactionImportService transactionImportService;
     private final TransactionMapper transactionMapper;
+    private final KeysetPagination keysetPagination;
+    private final ObjectMapper objectMapper;
 
     @Override
     public ResponseEntity<TransactionDTO> createTransaction(TransactionDTO transactionDTO) {
@@ -31,6 +51,58 @@ public class TransactionController implements TransactionsApi {
         return ResponseEntity.ok(transactionMapper.toDto(savedTransaction));
     }
 
+    @Override
+    public ResponseEntity<TransactionBatchResultDTO> createTransactionsBatch(List<TransactionDTO> transactionDTOs) {
+        log.info("Creating batch of {} transactions", transactionDTOs.size());
+        List<Transaction> transactions = transactionDTOs.stream()
+                .map(transactionMapper::toEntity)
+                .toList();
+        List<TransactionPostingResult> results = transactionService.createTransactions(transactions);
+        TransactionBatchResultDTO response = transactionMapper.toBatchResultDto(results);
+        log.info("Batch processed: {} created, {} failed", response.getSucceeded(), response.getFailed());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Not part of openapi.yaml: the generated interfaces cannot stream the request and response bodies
+     */
+    @PostMapping(value = "/transactions/import", consumes = APPLICATION_NDJSON, produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> importTransactions(InputStream input) {
+        log.info("Starting NDJSON transaction import");
+        StreamingResponseBody body = output -> {
+            TransactionImportSummary summary = transactionImportService.importTransactions(input, output);
+            log.info("NDJSON import completed: {} created, {} failed", summary.created(), summary.failed());
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON))
+                .body(body);
+    }
+
+    /**
+     * Full export as a JSON array written row by row. Not part of openapi.yaml, like the import
+     */
+    @GetMapping(value = "/transactions/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTransactions() {
+        log.info("Starting transaction export");
+        StreamingResponseBody body = output -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(output)) {
+                generator.writeStartArray();
+                long exported = transactionService.exportTransactions(transaction -> {
+                    try {
+                        generator.writeObject(transactionMapper.toDto(transaction));
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                });
+                generator.writeEndArray();
+                log.info("Transaction export completed: {} transactions", exported);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
     @Override
     public ResponseEntity<Void> deleteTransaction(Long transactionId) {
         log.info("Deleting transaction with ID: {}", transactionId);
@@ -40,14 +112,17 @@ public class TransactionController implements TransactionsApi {
     }
 
     @Override
-    public ResponseEntity<List<TransactionDTO>> getAllTransactions() {
-        log.info("Fetching all transactions");
-        List<Transaction> transactions = transactionService.getAllTransactions();
-        List<TransactionDTO> transactionDTOs = transactions.stream()
+    public ResponseEntity<List<TransactionDTO>> getAllTransactions(String cursor, Integer size) {
+        int pageSize = keysetPagination.resolveSize(size);
+        log.info("Fetching transactions page: cursor={}, size={}", cursor, pageSize);
+        KeysetPage<Transaction> page = transactionService.getTransactionsPage(keysetPagination.decodeCursor(cursor), pageSize);
+        List<TransactionDTO> transactionDTOs = page.content().stream()
                 .map(transactionMapper::toDto)
                 .toList();
-        log.info("Total transactions found: {}", transactionDTOs.size());
-        return ResponseEntity.ok(transactionDTOs);
+        log.info("Transactions found in page: {}", transactionDTOs.size());
+        return ResponseEntity.ok()
+                .headers(keysetPagination.nextCursorHeaders(page))
+                .body(transactionDTOs);
     }
 
     @Override
@@ -0,0 +1,88 @@
+package com.pichincha.spfmsaclientecoreservice.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.domain.Client;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Local Caffeine caches for client and account headers. Entries are detached DTOs; the manager is
+ * transaction aware, so evictions and puts made inside a transaction apply after it commits, and a
+ * header loaded before an eviction of its key is not stored.
+ * Hit and miss counts are published by actuator as {@code cache.gets}.
+ * <p>
+ * Also provides the JCache regions of the Hibernate second-level and query caches.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CLIENT_HEADERS = "clientHeaders";
+    public static final String ACCOUNT_HEADERS = "accountHeaders";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.headers.maximum-size:10000}") long maximumSize,
+                                     @Value("${cache.headers.ttl:PT10M}") Duration ttl) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                return new EvictionGuardedCaffeineCache(name, cache, isAllowNullValues(), ttl);
+            }
+        };
+        caffeineCacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        caffeineCacheManager.setCacheNames(List.of(CLIENT_HEADERS, ACCOUNT_HEADERS));
+        caffeineCacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+
+    /**
+     * One JCache manager per application context, so contexts sharing a JVM (tests) never share regions.
+     * The update timestamps region is neither bounded nor expired: losing an entry would let the
+     * query cache serve results older than the last change to their tables
+     */
+    @Bean
+    public javax.cache.CacheManager hibernateCacheManager(
+            @Value("${cache.entities.maximum-size:10000}") long maximumSize,
+            @Value("${cache.entities.ttl:PT30M}") Duration ttl) {
+        javax.cache.CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : List.of(Client.class.getName(), Account.class.getName(),
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            cacheManager.createCache(region, configuration);
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(
+            javax.cache.CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
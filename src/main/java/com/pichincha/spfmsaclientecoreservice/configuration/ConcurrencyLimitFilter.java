@@ -0,0 +1,142 @@
+package com.pichincha.spfmsaclientecoreservice.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pichincha.spfmsaclientecoreservice.exception.GlobalExceptionHandler.ErrorResponse;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Virtual-thread mode only: Tomcat no longer caps request threads, so every request would reach the
+ * connection pool at once. Requests wait here for a permit instead (a parked virtual thread costs next
+ * to nothing) and get a 503 when none frees up in time, rather than timing out inside the pool.
+ * With open-in-view a request keeps its connection until it ends, so the default matches the pool size.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(
+            @Value("${concurrency.max-in-flight:${spring.datasource.hikari.maximum-pool-size:10}}") int maxInFlight,
+            @Value("${concurrency.acquire-timeout:PT5S}") Duration acquireTimeout,
+            ObjectMapper objectMapper) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("concurrency.max-in-flight must be greater than zero");
+        }
+        this.permits = new Semaphore(maxInFlight, true);
+        this.acquireTimeout = acquireTimeout;
+        this.objectMapper = objectMapper;
+        log.info("Virtual threads enabled: at most {} requests in flight, waiting up to {}", maxInFlight, acquireTimeout);
+    }
+
+    /**
+     * Health checks must answer even when the service is saturated
+     */
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (!acquire()) {
+            log.warn("Request {} {} rejected: no permit within {}", request.getMethod(), request.getRequestURI(),
+                    acquireTimeout);
+            reject(response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // streamed bodies (export, import, PDF download) keep reading the database after doFilter returns
+                request.getAsyncContext().addListener(new ReleaseOnCompletion());
+            } else {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Releases the permit once the async request ends; an error or timeout is followed by onComplete,
+     * so the release is guarded to happen only once
+     */
+    private class ReleaseOnCompletion implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // the same permit covers a restarted async cycle
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+
+    private boolean acquire() {
+        try {
+            return permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+                .message("Servicio saturado, intente más tarde")
+                .build();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
@@ -0,0 +1,94 @@
+package com.pichincha.spfmsaclientecoreservice.configuration;
+
+import com.pichincha.spfmsaclientecoreservice.ReportController;
+import com.pichincha.spfmsaclientecoreservice.api.AccountsApi;
+import com.pichincha.spfmsaclientecoreservice.api.ClientsApi;
+import com.pichincha.spfmsaclientecoreservice.api.ReportsApi;
+import com.pichincha.spfmsaclientecoreservice.api.TransactionsApi;
+import com.pichincha.spfmsaclientecoreservice.service.ResourceVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Conditional GETs for the resources the front end polls. The strong ETag is read from the entity
+ * versions before the handler runs, so an If-None-Match hit answers 304 without loading, mapping or
+ * serializing anything. A change between the lookup and the handler costs one extra 200 at most: the
+ * body is then newer than its ETag, never older. Unknown ids and malformed parameters get no ETag and
+ * reach the handler, which answers 404 or 400 as before.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    static final String[] PATH_PATTERNS = {
+            "/clients/*", "/accounts/*", "/accounts/*/balance", "/transactions/*",
+            ReportsApi.PATH_GENERATE_ACCOUNT_STATEMENT, ReportsApi.PATH_GENERATE_ACCOUNT_STATEMENT_WITH_PDF,
+            ReportsApi.PATH_GET_ACCOUNT_STATEMENT_SUMMARY, ReportController.PATH_DOWNLOAD_ACCOUNT_STATEMENT_PDF
+    };
+
+    private final ResourceVersionService resourceVersionService;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        Optional<String> etag = findEtag(request);
+        if (etag.isEmpty()) {
+            return true;
+        }
+        // sets the ETag header either way; true means the 304 is already written
+        if (new ServletWebRequest(request, response).checkNotModified(etag.get())) {
+            log.debug("Not modified: {} {}", request.getRequestURI(), etag.get());
+            return false;
+        }
+        return true;
+    }
+
+    private Optional<String> findEtag(HttpServletRequest request) {
+        String pattern = String.valueOf(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        return switch (pattern) {
+            case ClientsApi.PATH_FIND_CLIENT_BY_ID ->
+                    lookup(pathVariable(request, "clientId"), resourceVersionService::findClientEtag);
+            case AccountsApi.PATH_FIND_ACCOUNT_BY_ID, AccountsApi.PATH_GET_ACCOUNT_BALANCE ->
+                    lookup(pathVariable(request, "accountId"), resourceVersionService::findAccountEtag);
+            case TransactionsApi.PATH_FIND_TRANSACTION_BY_ID ->
+                    lookup(pathVariable(request, "transactionId"), resourceVersionService::findTransactionEtag);
+            case ReportsApi.PATH_GENERATE_ACCOUNT_STATEMENT, ReportsApi.PATH_GENERATE_ACCOUNT_STATEMENT_WITH_PDF,
+                 ReportsApi.PATH_GET_ACCOUNT_STATEMENT_SUMMARY, ReportController.PATH_DOWNLOAD_ACCOUNT_STATEMENT_PDF ->
+                    lookup(request.getParameter("clientId"), resourceVersionService::findStatementEtag);
+            default -> Optional.empty();
+        };
+    }
+
+    private Optional<String> lookup(String id, Function<Long, Optional<String>> finder) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        try {
+            return finder.apply(Long.valueOf(id));
+        } catch (NumberFormatException exception) {
+            return Optional.empty();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String pathVariable(HttpServletRequest request, String name) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables instanceof Map<?, ?> map ? ((Map<String, String>) map).get(name) : null;
+    }
+}
@@ -1,8 +1,10 @@
 package com.pichincha.spfmsaclientecoreservice.configuration;
 
+import com.pichincha.spfmsaclientecoreservice.service.KeysetPagination;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -22,6 +24,7 @@ public class CorsConfig {
                         .allowedOrigins(allowedOrigins.split(","))
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                         .allowedHeaders("*")
+                        .exposedHeaders(KeysetPagination.NEXT_CURSOR_HEADER, HttpHeaders.ETAG)
                         .allowCredentials(true);
             }
         };
@@ -0,0 +1,124 @@
+package com.pichincha.spfmsaclientecoreservice.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caffeine cache that does not store a value loaded before the latest eviction of its key. Loads go
+ * through {@link #get(Object, Callable)}, as with @Cacheable(sync = true), which reads the eviction
+ * sequence before the lookup and keeps it for that call only; the loaded value is dropped when the key
+ * was evicted since, because it may predate the change.
+ */
+@Slf4j
+final class EvictionGuardedCaffeineCache extends CaffeineCache {
+
+    private static final int STRIPES = 64;
+
+    // sequence of the last eviction per key
+    private final Cache<Object, Long> evictions;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong clearedAt = new AtomicLong();
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    EvictionGuardedCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues, Duration ttl) {
+        super(name, cache, allowNullValues);
+        // a load running longer than the TTL is not expected
+        this.evictions = Caffeine.newBuilder().expireAfterWrite(ttl).build();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * The loader runs outside any cache lock, so an eviction during the load is not blocked. A null
+     * value is returned without being cached when the cache does not allow nulls; a plain put is not a
+     * load and is always stored
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        long loadSequence = sequence.get();
+        Object cached = lookup(key);
+        if (cached != null) {
+            return (T) fromStoreValue(cached);
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception exception) {
+            throw new ValueRetrievalException(key, valueLoader, exception);
+        }
+        if (value != null || isAllowNullValues()) {
+            putLoaded(key, value, loadSequence);
+        }
+        return value;
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        ReentrantLock stripe = stripeFor(key);
+        stripe.lock();
+        try {
+            evictions.put(key, sequence.incrementAndGet());
+            return super.evictIfPresent(key);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        invalidate();
+    }
+
+    @Override
+    public boolean invalidate() {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+        try {
+            clearedAt.set(sequence.incrementAndGet());
+            return super.invalidate();
+        } finally {
+            for (ReentrantLock stripe : stripes) {
+                stripe.unlock();
+            }
+        }
+    }
+
+    private void putLoaded(Object key, Object value, long loadSequence) {
+        ReentrantLock stripe = stripeFor(key);
+        stripe.lock();
+        try {
+            if (evictedSince(key, loadSequence)) {
+                log.debug("Entry {} of cache {} evicted while it was loaded, not cached", key, getName());
+                return;
+            }
+            put(key, value);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    private boolean evictedSince(Object key, long loadSequence) {
+        Long evictedAt = evictions.getIfPresent(key);
+        return clearedAt.get() > loadSequence || (evictedAt != null && evictedAt > loadSequence);
+    }
+
+    private ReentrantLock stripeFor(Object key) {
+        return stripes[Math.floorMod(key.hashCode(), STRIPES)];
+    }
+}
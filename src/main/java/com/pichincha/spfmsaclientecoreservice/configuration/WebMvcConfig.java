@@ -0,0 +1,20 @@
+package com.pichincha.spfmsaclientecoreservice.configuration;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(conditionalGetInterceptor)
+                .addPathPatterns(ConditionalGetInterceptor.PATH_PATTERNS);
+    }
+}
@@ -1,11 +1,15 @@
 package com.pichincha.spfmsaclientecoreservice.domain;
 
+import com.pichincha.spfmsaclientecoreservice.domain.converter.MoneyConverter;
 import com.pichincha.spfmsaclientecoreservice.domain.enums.AccountType;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -13,11 +17,18 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "account")
+@Table(name = "account", indexes = {
+        // cuentas de un cliente: estados de cuenta y reportes por cliente
+        @Index(name = "idx_account_client", columnList = "client_id")
+})
+// caché de segundo nivel (región com...domain.Account, ver CacheConfig); los registros la actualizan al confirmar
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Account {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_seq")
+    @SequenceGenerator(name = "account_seq", sequenceName = "account_seq", allocationSize = 50)
     @Column(name = "account_id")
     private Long accountId;
 
@@ -28,12 +39,31 @@ public class Account {
     @Column(name = "account_type", nullable = false, length = 20)
     private AccountType accountType;
 
-    @Column(name = "initial_balance", nullable = false)
-    private Double initialBalance;
+    // saldos en centavos (ver Money)
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "initial_balance", nullable = false, precision = 19, scale = 2)
+    private Long initialBalance;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "current_balance", precision = 19, scale = 2)
+    private Long currentBalance;
 
     @Column(name = "status", nullable = false)
     private Boolean status;
 
+    // movimientos anteriores a esta fecha están en transaction_archive
+    @Column(name = "archived_until")
+    private LocalDateTime archivedUntil;
+
+    // saldo tras el último movimiento archivado; punto de partida del historial en transaction
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "archived_balance", precision = 19, scale = 2)
+    private Long archivedBalance;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
     private Client client;
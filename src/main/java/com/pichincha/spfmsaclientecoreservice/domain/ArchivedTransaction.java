@@ -0,0 +1,46 @@
+package com.pichincha.spfmsaclientecoreservice.domain;
+
+import com.pichincha.spfmsaclientecoreservice.domain.converter.MoneyConverter;
+import com.pichincha.spfmsaclientecoreservice.domain.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "transaction_archive", indexes = {
+        // estados de cuenta que alcanzan el periodo archivado
+        @Index(name = "idx_transaction_archive_account_date", columnList = "account_id, date, transaction_id")
+})
+public class ArchivedTransaction {
+
+    // conserva el ID que tenía en la tabla transaction
+    @Id
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @Column(name = "date", nullable = false)
+    private LocalDateTime date;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false, length = 20)
+    private TransactionType transactionType;
+
+    // montos en centavos (ver Money); los retiros se guardan negativos
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private Long amount;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
+    private Long balance;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+}
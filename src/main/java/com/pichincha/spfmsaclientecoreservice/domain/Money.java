@@ -0,0 +1,35 @@
+package com.pichincha.spfmsaclientecoreservice.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Montos en unidades menores (centavos) como long: la aritmética de saldos es exacta y sin boxing.
+ * Las conversiones a decimal solo ocurren en los bordes (columnas NUMERIC y DTOs)
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    /**
+     * Centavos de un monto decimal del API, redondeando al centavo (half-even) los decimales sobrantes
+     */
+    public static long toCents(double amount) {
+        return fromDecimal(BigDecimal.valueOf(amount));
+    }
+
+    public static double toDouble(long cents) {
+        return cents / 100.0;
+    }
+
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public static long fromDecimal(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+}
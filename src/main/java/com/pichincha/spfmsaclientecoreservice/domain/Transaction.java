@@ -1,5 +1,6 @@
 package com.pichincha.spfmsaclientecoreservice.domain;
 
+import com.pichincha.spfmsaclientecoreservice.domain.converter.MoneyConverter;
 import com.pichincha.spfmsaclientecoreservice.domain.enums.TransactionType;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -12,11 +13,15 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "transaction")
+@Table(name = "transaction", indexes = {
+        // historial por cuenta ordenado por (fecha, id): recálculo de saldos, último saldo y estados de cuenta
+        @Index(name = "idx_transaction_account_date", columnList = "account_id, date, transaction_id")
+})
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = 50)
     @Column(name = "transaction_id")
     private Long transactionId;
 
@@ -27,11 +32,14 @@ public class Transaction {
     @Column(name = "transaction_type", nullable = false, length = 20)
     private TransactionType transactionType;
 
-    @Column(name = "amount", nullable = false)
-    private Double amount;
+    // montos en centavos (ver Money); los retiros se guardan negativos
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private Long amount;
 
-    @Column(name = "balance", nullable = false)
-    private Double balance;
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
+    private Long balance;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id", nullable = false)
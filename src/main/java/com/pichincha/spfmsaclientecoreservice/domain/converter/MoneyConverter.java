@@ -0,0 +1,25 @@
+package com.pichincha.spfmsaclientecoreservice.domain.converter;
+
+import com.pichincha.spfmsaclientecoreservice.domain.Money;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Guarda los centavos del dominio en columnas NUMERIC(19,2). Se aplica explícitamente con @Convert
+ * porque otros atributos Long (IDs, versiones) no son montos
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Long, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Long cents) {
+        return cents != null ? Money.toDecimal(cents) : null;
+    }
+
+    @Override
+    public Long convertToEntityAttribute(BigDecimal amount) {
+        return amount != null ? Money.fromDecimal(amount) : null;
+    }
+}
@@ -1,8 +1,17 @@
 package com.pichincha.spfmsaclientecoreservice.repository;
 
 import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.AccountVersion;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
@@ -12,13 +21,50 @@ import java.util.Optional;
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
 
+    /**
+     * Consulta explícita en lugar de EntityManager.find: una entrada de la caché de segundo nivel no trae
+     * las colecciones del grafo, la consulta siempre las lee de la base
+     */
     @EntityGraph(attributePaths = {"client", "transactions"})
+    @Query("SELECT a FROM Account a WHERE a.accountId = :id")
     @NonNull
     @Override
-    List<Account> findAll();
+    Optional<Account> findById(@NonNull @Param("id") Long id);
 
-    @EntityGraph(attributePaths = {"client", "transactions"})
-    @NonNull
-    @Override
-    Optional<Account> findById(@NonNull Long id);
+    /**
+     * Página de cuentas con ID mayor al cursor, ordenadas por ID, cargando solo el cliente
+     */
+    @Query("SELECT a FROM Account a JOIN FETCH a.client WHERE a.accountId > :afterId ORDER BY a.accountId")
+    List<Account> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Obtiene solo la cabecera de la cuenta, sin cargar el historial de transacciones.
+     * Resultado en la caché de consultas; cualquier cambio en la tabla account lo invalida
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT a FROM Account a WHERE a.accountId = :accountId")
+    Optional<Account> findHeaderById(@Param("accountId") Long accountId);
+
+    /**
+     * Obtiene las versiones de la cuenta y de su cliente sin cargar las entidades (base del ETag)
+     */
+    @Query("SELECT new com.pichincha.spfmsaclientecoreservice.repository.projection.AccountVersion(" +
+            "a.accountId, a.version, c.version) FROM Account a JOIN a.client c WHERE a.accountId = :accountId")
+    Optional<AccountVersion> findVersionById(@Param("accountId") Long accountId);
+
+    /**
+     * Obtiene las versiones de todas las cuentas de un cliente, ordenadas por ID (base del ETag del estado de cuenta)
+     */
+    @Query("SELECT new com.pichincha.spfmsaclientecoreservice.repository.projection.AccountVersion(" +
+            "a.accountId, a.version, c.version) FROM Account a JOIN a.client c WHERE c.personId = :clientId " +
+            "ORDER BY a.accountId")
+    List<AccountVersion> findVersionsByClientId(@Param("clientId") Long clientId);
+
+    /**
+     * Obtiene la cabecera de la cuenta bloqueando la fila (SELECT ... FOR UPDATE)
+     * para serializar los movimientos concurrentes sobre la misma cuenta
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountId = :accountId")
+    Optional<Account> findByIdForUpdate(@Param("accountId") Long accountId);
 }
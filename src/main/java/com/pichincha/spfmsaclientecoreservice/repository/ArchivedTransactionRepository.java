@@ -0,0 +1,79 @@
+package com.pichincha.spfmsaclientecoreservice.repository;
+
+import com.pichincha.spfmsaclientecoreservice.domain.ArchivedTransaction;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.ArchivedPeriodTotals;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.StatementLine;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedTransactionRepository extends JpaRepository<ArchivedTransaction, Long> {
+
+    /**
+     * Copia al archivo, en un solo INSERT ... SELECT, las transacciones de la cuenta anteriores al corte
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO ArchivedTransaction (transactionId, date, transactionType, amount, balance, account) " +
+            "SELECT t.transactionId, t.date, t.transactionType, t.amount, t.balance, t.account " +
+            "FROM Transaction t " +
+            "WHERE t.account.accountId = :accountId AND t.date < :cutoff")
+    int archiveBefore(@Param("accountId") Long accountId, @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Filas archivadas del estado de cuenta, con la misma proyección y orden que las de la tabla transaction
+     */
+    @Query("SELECT new com.pichincha.spfmsaclientecoreservice.repository.projection.StatementLine(" +
+            "t.transactionId, a.accountId, t.date, c.name, a.accountNumber, a.accountType, a.initialBalance, a.status, " +
+            "t.amount, t.balance) " +
+            "FROM ArchivedTransaction t " +
+            "JOIN t.account a " +
+            "JOIN a.client c " +
+            "WHERE c.personId = :clientId " +
+            "AND t.date BETWEEN :startDate AND :endDate " +
+            "ORDER BY a.accountId, t.date, t.transactionId")
+    List<StatementLine> findStatementLines(
+            @Param("clientId") Long clientId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate
+    );
+
+    /**
+     * Totales archivados por cuenta desde el inicio del periodo. Solo devuelve cuentas con movimientos
+     * archivados en ese tramo, vacío cuando el periodo empieza después del corte. Las sumas se leen como NUMERIC
+     */
+    @Query("SELECT new com.pichincha.spfmsaclientecoreservice.repository.projection.ArchivedPeriodTotals(" +
+            "a.accountId, " +
+            "CAST(SUM(t.amount) AS BigDecimal), " +
+            "CAST(COALESCE(SUM(CASE WHEN t.date <= :endDate AND t.amount > 0 THEN t.amount ELSE 0 END), 0) AS BigDecimal), " +
+            "CAST(COALESCE(SUM(CASE WHEN t.date <= :endDate AND t.amount < 0 THEN -t.amount ELSE 0 END), 0) AS BigDecimal), " +
+            "COALESCE(SUM(CASE WHEN t.date <= :endDate THEN 1L ELSE 0L END), 0L)) " +
+            "FROM ArchivedTransaction t " +
+            "JOIN t.account a " +
+            "WHERE a.client.personId = :clientId " +
+            "AND t.date >= :startDate " +
+            "GROUP BY a.accountId")
+    List<ArchivedPeriodTotals> summarizeSince(
+            @Param("clientId") Long clientId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate
+    );
+
+    /**
+     * Saldos archivados de la cuenta anteriores a la fecha, del más reciente al más antiguo
+     */
+    @Query("SELECT t.balance FROM ArchivedTransaction t " +
+            "WHERE t.account.accountId = :accountId AND t.date < :date " +
+            "ORDER BY t.date DESC, t.transactionId DESC")
+    List<Long> findBalancesBefore(
+            @Param("accountId") Long accountId,
+            @Param("date") LocalDateTime date,
+            Limit limit
+    );
+}
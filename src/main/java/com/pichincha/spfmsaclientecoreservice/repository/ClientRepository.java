@@ -1,8 +1,14 @@
 package com.pichincha.spfmsaclientecoreservice.repository;
 
 import com.pichincha.spfmsaclientecoreservice.domain.Client;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
@@ -12,13 +18,33 @@ import java.util.Optional;
 @Repository
     public interface ClientRepository extends JpaRepository<Client, Long> {
 
+    /**
+     * Consulta explícita en lugar de EntityManager.find: una entrada de la caché de segundo nivel no trae
+     * las colecciones del grafo, la consulta siempre las lee de la base
+     */
     @EntityGraph(attributePaths = {"accounts"})
+    @Query("SELECT c FROM Client c WHERE c.personId = :id")
     @NonNull
     @Override
-    List<Client> findAll();
+    Optional<Client> findById(@NonNull @Param("id") Long id);
 
-    @EntityGraph(attributePaths = {"accounts"})
-    @NonNull
-    @Override
-    Optional<Client> findById(@NonNull Long id);
+    /**
+     * Página de clientes con ID mayor al cursor, ordenados por ID, sin cargar sus cuentas
+     */
+    @Query("SELECT c FROM Client c WHERE c.personId > :afterId ORDER BY c.personId")
+    List<Client> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Obtiene solo el cliente, sin cargar sus cuentas.
+     * Resultado en la caché de consultas; cualquier cambio en la tabla client lo invalida
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT c FROM Client c WHERE c.personId = :clientId")
+    Optional<Client> findHeaderById(@Param("clientId") Long clientId);
+
+    /**
+     * Obtiene solo la versión del cliente, sin cargar la entidad (base del ETag)
+     */
+    @Query("SELECT c.version FROM Client c WHERE c.personId = :clientId")
+    Optional<Long> findVersionById(@Param("clientId") Long clientId);
 }
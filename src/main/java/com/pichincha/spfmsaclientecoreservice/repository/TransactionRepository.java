@@ -2,9 +2,17 @@ package com.pichincha.spfmsaclientecoreservice.repository;
 
 import com.pichincha.spfmsaclientecoreservice.domain.Account;
 import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.AccountStatementTotals;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.AccountVersion;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.StatementLine;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
@@ -12,33 +20,160 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
-    @Query("SELECT t FROM Transaction t " +
-            "LEFT JOIN FETCH t.account a " +
-            "LEFT JOIN FETCH a.client c " +
-            "WHERE t.account.client.personId = :clientId " +
-            "AND t.date BETWEEN :startDate AND :endDate")
-    List<Transaction> findByClientAndDateRange(
+    /**
+     * Filas del estado de cuenta de un cliente como proyección DTO, ordenadas por cuenta, fecha e ID
+     */
+    @Query("SELECT new com.pichincha.spfmsaclientecoreservice.repository.projection.StatementLine(" +
+            "t.transactionId, a.accountId, t.date, c.name, a.accountNumber, a.accountType, a.initialBalance, a.status, " +
+            "t.amount, t.balance) " +
+            "FROM Transaction t " +
+            "JOIN t.account a " +
+            "JOIN a.client c " +
+            "WHERE c.personId = :clientId " +
+            "AND t.date BETWEEN :startDate AND :endDate " +
+            "ORDER BY a.accountId, t.date, t.transactionId")
+    List<StatementLine> findStatementLines(
             @Param("clientId") Long clientId,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate
     );
 
-    @EntityGraph(attributePaths = {"account", "account.client"})
-    @NonNull
-    @Override
-    List<Transaction> findAll();
+    /**
+     * Totales por cuenta del cliente en el periodo: saldo de apertura, depósitos, retiros y número de movimientos.
+     * Incluye cuentas sin movimientos. El saldo de apertura es el saldo acumulado del último movimiento anterior
+     * al inicio (una búsqueda por índice); sin él, el checkpoint de archivo o el saldo inicial.
+     * Solo se recorren los movimientos del periodo. Los agregados se leen como NUMERIC (CAST a BigDecimal)
+     * y la proyección los pasa a centavos
+     */
+    @Query("SELECT new com.pichincha.spfmsaclientecoreservice.repository.projection.AccountStatementTotals(" +
+            "a.accountId, a.accountNumber, a.accountType, a.initialBalance, " +
+            "CAST(COALESCE((SELECT p.balance FROM Transaction p " +
+            "WHERE p.account.accountId = a.accountId AND p.date < :startDate " +
+            "ORDER BY p.date DESC, p.transactionId DESC LIMIT 1), a.archivedBalance, a.initialBalance) " +
+            "- a.initialBalance AS BigDecimal), " +
+            "CAST(COALESCE(SUM(CASE WHEN t.amount > 0 THEN t.amount ELSE 0 END), 0) AS BigDecimal), " +
+            "CAST(COALESCE(SUM(CASE WHEN t.amount < 0 THEN -t.amount ELSE 0 END), 0) AS BigDecimal), " +
+            "COUNT(t)) " +
+            "FROM Account a " +
+            "LEFT JOIN a.transactions t ON t.date >= :startDate AND t.date <= :endDate " +
+            "WHERE a.client.personId = :clientId " +
+            "GROUP BY a.accountId, a.accountNumber, a.accountType, a.initialBalance, a.archivedBalance " +
+            "ORDER BY a.accountId")
+    List<AccountStatementTotals> summarizeByAccount(
+            @Param("clientId") Long clientId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate
+    );
 
     @EntityGraph(attributePaths = {"account", "account.client"})
     @NonNull
     @Override
     Optional<Transaction> findById(@NonNull Long id);
 
+    /**
+     * Página de transacciones con ID mayor al cursor, ordenadas por ID, con su cuenta y cliente
+     */
+    @Query("SELECT t FROM Transaction t " +
+            "JOIN FETCH t.account a " +
+            "JOIN FETCH a.client " +
+            "WHERE t.transactionId > :afterId " +
+            "ORDER BY t.transactionId")
+    List<Transaction> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Recorre todas las transacciones con un cursor JDBC (fetch size) para exportarlas sin cargarlas en memoria.
+     * Debe consumirse y cerrarse dentro de una transacción
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaction t " +
+            "JOIN FETCH t.account a " +
+            "JOIN FETCH a.client " +
+            "ORDER BY t.transactionId")
+    Stream<Transaction> streamAllForExport();
+
     /**
      * Encuentra todas las transacciones de una cuenta ordenadas por fecha ascendente
      */
     List<Transaction> findByAccountOrderByDateAsc(Account account);
+
+    /**
+     * Encuentra la transacción más reciente de una cuenta
+     */
+    Optional<Transaction> findFirstByAccountOrderByDateDescTransactionIdDesc(Account account);
+
+    /**
+     * Obtiene el ID de la cuenta de una transacción sin cargar la entidad
+     */
+    @Query("SELECT t.account.accountId FROM Transaction t WHERE t.transactionId = :transactionId")
+    Optional<Long> findAccountIdByTransactionId(@Param("transactionId") Long transactionId);
+
+    /**
+     * Obtiene las versiones de la cuenta de una transacción y de su cliente sin cargar las entidades.
+     * Editar o eliminar la transacción incrementa la versión de la cuenta (base del ETag)
+     */
+    @Query("SELECT new com.pichincha.spfmsaclientecoreservice.repository.projection.AccountVersion(" +
+            "a.accountId, a.version, c.version) FROM Transaction t JOIN t.account a JOIN a.client c " +
+            "WHERE t.transactionId = :transactionId")
+    Optional<AccountVersion> findAccountVersionByTransactionId(@Param("transactionId") Long transactionId);
+
+    /**
+     * Saldos de las transacciones anteriores a la posición (fecha, id), de la más reciente a la más antigua
+     */
+    @Query("SELECT t.balance FROM Transaction t " +
+            "WHERE t.account.accountId = :accountId " +
+            "AND (t.date < :date OR (t.date = :date AND t.transactionId < :transactionId)) " +
+            "ORDER BY t.date DESC, t.transactionId DESC")
+    List<Long> findBalancesBefore(
+            @Param("accountId") Long accountId,
+            @Param("date") LocalDateTime date,
+            @Param("transactionId") Long transactionId,
+            Limit limit
+    );
+
+    /**
+     * IDs de las cuentas con transacciones anteriores al corte de archivo
+     */
+    @Query("SELECT DISTINCT t.account.accountId FROM Transaction t WHERE t.date < :cutoff")
+    List<Long> findAccountIdsWithTransactionsBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Elimina las transacciones de la cuenta anteriores al corte, una vez copiadas al archivo
+     */
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.account.accountId = :accountId AND t.date < :cutoff")
+    int deleteByAccountBefore(@Param("accountId") Long accountId, @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Desplaza en un solo UPDATE el saldo de todas las transacciones posteriores a la posición (fecha, id)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Transaction t SET t.balance = t.balance + :delta " +
+            "WHERE t.account.accountId = :accountId " +
+            "AND (t.date > :date OR (t.date = :date AND t.transactionId > :transactionId))")
+    int shiftBalancesAfter(
+            @Param("accountId") Long accountId,
+            @Param("date") LocalDateTime date,
+            @Param("transactionId") Long transactionId,
+            @Param("delta") Long delta
+    );
+
+    /**
+     * Saldo mínimo desde la posición (fecha, id), incluida, hasta el final del historial
+     */
+    @Query("SELECT MIN(t.balance) FROM Transaction t " +
+            "WHERE t.account.accountId = :accountId " +
+            "AND (t.date > :date OR (t.date = :date AND t.transactionId >= :transactionId))")
+    Long findMinBalanceFrom(
+            @Param("accountId") Long accountId,
+            @Param("date") LocalDateTime date,
+            @Param("transactionId") Long transactionId
+    );
 }
@@ -0,0 +1,50 @@
+package com.pichincha.spfmsaclientecoreservice.repository.projection;
+
+import com.pichincha.spfmsaclientecoreservice.domain.Money;
+import com.pichincha.spfmsaclientecoreservice.domain.enums.AccountType;
+
+import java.math.BigDecimal;
+
+/**
+ * Totales de una cuenta en un periodo calculados con GROUP BY en la base de datos.
+ * Los saldos se derivan del saldo inicial más la suma de movimientos con signo; los archivados
+ * entran en movementsBefore a través del checkpoint de la cuenta. Los montos van en centavos
+ */
+public record AccountStatementTotals(Long accountId,
+                                     String accountNumber,
+                                     AccountType accountType,
+                                     Long initialBalance,
+                                     Long movementsBefore,
+                                     Long deposits,
+                                     Long withdrawals,
+                                     Long movements) {
+
+    /**
+     * Constructor de la consulta agregada: el saldo previo y las sumas llegan como NUMERIC y se pasan a centavos
+     */
+    public AccountStatementTotals(Long accountId, String accountNumber, AccountType accountType, Long initialBalance,
+                                  BigDecimal movementsBefore, BigDecimal deposits, BigDecimal withdrawals,
+                                  Long movements) {
+        this(accountId, accountNumber, accountType, initialBalance, Money.fromDecimal(movementsBefore),
+                Money.fromDecimal(deposits), Money.fromDecimal(withdrawals), movements);
+    }
+
+    public long openingBalance() {
+        return initialBalance + movementsBefore;
+    }
+
+    public long closingBalance() {
+        return openingBalance() + deposits - withdrawals;
+    }
+
+    /**
+     * Pasa al periodo los movimientos archivados desde su inicio, que el checkpoint había sumado como previos
+     */
+    public AccountStatementTotals withArchived(ArchivedPeriodTotals archived) {
+        return new AccountStatementTotals(accountId, accountNumber, accountType, initialBalance,
+                movementsBefore - archived.amountSinceStart(),
+                deposits + archived.deposits(),
+                withdrawals + archived.withdrawals(),
+                movements + archived.movements());
+    }
+}
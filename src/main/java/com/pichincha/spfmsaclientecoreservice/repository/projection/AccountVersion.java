@@ -0,0 +1,8 @@
+package com.pichincha.spfmsaclientecoreservice.repository.projection;
+
+/**
+ * Versiones de una cuenta y de su cliente, leídas sin cargar las entidades. La versión de la cuenta
+ * cambia con cada movimiento registrado, la del cliente con cada cambio de sus datos
+ */
+public record AccountVersion(Long accountId, Long accountVersion, Long clientVersion) {
+}
@@ -0,0 +1,25 @@
+package com.pichincha.spfmsaclientecoreservice.repository.projection;
+
+import com.pichincha.spfmsaclientecoreservice.domain.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * Movimientos archivados de una cuenta desde el inicio del periodo: suma con signo de todos ellos
+ * (también los posteriores al fin) y depósitos, retiros y número de movimientos dentro del periodo, en centavos
+ */
+public record ArchivedPeriodTotals(Long accountId,
+                                   Long amountSinceStart,
+                                   Long deposits,
+                                   Long withdrawals,
+                                   Long movements) {
+
+    /**
+     * Constructor de la consulta agregada: las sumas llegan como NUMERIC y se pasan a centavos
+     */
+    public ArchivedPeriodTotals(Long accountId, BigDecimal amountSinceStart, BigDecimal deposits,
+                                BigDecimal withdrawals, Long movements) {
+        this(accountId, Money.fromDecimal(amountSinceStart), Money.fromDecimal(deposits),
+                Money.fromDecimal(withdrawals), movements);
+    }
+}
@@ -0,0 +1,29 @@
+package com.pichincha.spfmsaclientecoreservice.repository.projection;
+
+import com.pichincha.spfmsaclientecoreservice.domain.enums.AccountType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila de estado de cuenta leída como DTO: no se hidratan entidades ni se registran en el contexto de persistencia.
+ * Los montos van en centavos
+ */
+public record StatementLine(Long transactionId,
+                            Long accountId,
+                            LocalDateTime date,
+                            String clientName,
+                            String accountNumber,
+                            AccountType accountType,
+                            Long initialBalance,
+                            Boolean status,
+                            Long amount,
+                            Long balance) {
+
+    /**
+     * Misma fila con otro saldo inicial, p. ej. el saldo de la cuenta al inicio del periodo
+     */
+    public StatementLine withInitialBalance(Long openingBalance) {
+        return new StatementLine(transactionId, accountId, date, clientName, accountNumber, accountType,
+                openingBalance, status, amount, balance);
+    }
+}
@@ -1,18 +1,34 @@
 package com.pichincha.spfmsaclientecoreservice.service;
 
 import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.model.AccountDTO;
 
-import java.util.List;
+import java.time.LocalDate;
 import java.util.Optional;
 
 public interface AccountService {
 
     Account createAccount(Account account);
 
-    List<Account> getAllAccounts();
+    /**
+     * Keyset page of accounts with an ID greater than afterId, in ID order
+     */
+    KeysetPage<Account> getAccountsPage(Long afterId, int size);
 
     Optional<Account> findAccountById(Long accountId);
 
+    /**
+     * Account header as a detached DTO, without its movements, served from the local cache after the
+     * first lookup. Postings evict it, so the cached current balance is never behind a committed one
+     */
+    Optional<AccountDTO> findAccountHeader(Long accountId);
+
+    /**
+     * Balance in cents of the account at the end of the given day, read from the running balance of its last
+     * movement up to then (archived or not) with a single index lookup
+     */
+    Long getBalanceAt(Long accountId, LocalDate date);
+
     Account updateAccount(Long accountId, Account account);
 
     void deleteAccount(Long accountId);
@@ -1,18 +1,26 @@
 package com.pichincha.spfmsaclientecoreservice.service;
 
 import com.pichincha.spfmsaclientecoreservice.domain.Client;
+import com.pichincha.spfmsaclientecoreservice.model.ClientDTO;
 
-import java.util.List;
 import java.util.Optional;
 
 public interface ClientService {
 
     Client createClient(Client client);
 
-    List<Client> getAllClients();
+    /**
+     * Keyset page of clients with an ID greater than afterId, in ID order
+     */
+    KeysetPage<Client> getClientsPage(Long afterId, int size);
 
     Optional<Client> findClientById(Long clientId);
 
+    /**
+     * Client header as a detached DTO, served from the local cache after the first lookup
+     */
+    Optional<ClientDTO> findClientHeader(Long clientId);
+
     Client updateClient(Long clientId, Client client);
 
     void deleteClient(Long clientId);
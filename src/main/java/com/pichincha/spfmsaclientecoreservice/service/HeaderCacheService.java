@@ -0,0 +1,16 @@
+package com.pichincha.spfmsaclientecoreservice.service;
+
+import java.util.Collection;
+
+/**
+ * Invalidation of the cached client and account headers. Inside a transaction the entries are
+ * dropped once it commits, so a rolled-back change keeps the cached header
+ */
+public interface HeaderCacheService {
+
+    void evictClient(Long clientId);
+
+    void evictAccount(Long accountId);
+
+    void evictAccounts(Collection<Long> accountIds);
+}
@@ -0,0 +1,21 @@
+package com.pichincha.spfmsaclientecoreservice.service;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing and the key to continue after it, null on the last page
+ */
+public record KeysetPage<T>(List<T> content, Long nextKey) {
+
+    /**
+     * Builds the page from a query that fetched one row more than the page size
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int size, Function<T, Long> keyOf) {
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new KeysetPage<>(content, keyOf.apply(content.get(size - 1)));
+    }
+}
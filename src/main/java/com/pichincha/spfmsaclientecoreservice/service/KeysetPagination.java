@@ -0,0 +1,63 @@
+package com.pichincha.spfmsaclientecoreservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Resolves the page size and the opaque cursor of the list endpoints and writes the next cursor header
+ */
+@Component
+public class KeysetPagination {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final long FIRST_KEY = 0L;
+
+    @Value("${pagination.default-size:50}")
+    private int defaultSize;
+
+    @Value("${pagination.max-size:500}")
+    private int maxSize;
+
+    public int resolveSize(Integer size) {
+        if (size == null) {
+            return Math.min(defaultSize, maxSize);
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than zero");
+        }
+        return Math.min(size, maxSize);
+    }
+
+    /**
+     * Key after which the page starts; the first page starts before any generated ID
+     */
+    public Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST_KEY;
+        }
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return Long.parseLong(key);
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encodeCursor(Long key) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public HttpHeaders nextCursorHeaders(KeysetPage<?> page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.nextKey() != null) {
+            headers.set(NEXT_CURSOR_HEADER, encodeCursor(page.nextKey()));
+        }
+        return headers;
+    }
+}
@@ -2,10 +2,21 @@ package com.pichincha.spfmsaclientecoreservice.service;
 
 import com.pichincha.spfmsaclientecoreservice.model.ReportDTO;
 
+import java.io.OutputStream;
 import java.util.List;
 
 public interface PdfReportService {
 
     byte[] generateAccountStatementPdf(List<ReportDTO> reportData);
 
+    /**
+     * Exports the statement straight into the given stream, without buffering the PDF
+     */
+    void writeAccountStatementPdf(List<ReportDTO> reportData, OutputStream outputStream);
+
+    /**
+     * Drops the compiled report so the next request compiles the layout again
+     */
+    void invalidateCompiledReport();
+
 }
@@ -0,0 +1,41 @@
+package com.pichincha.spfmsaclientecoreservice.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * State of an asynchronous account statement; the rendered PDF is kept in the result store
+ */
+public record ReportJob(String jobId,
+                        Long clientId,
+                        LocalDate startDate,
+                        LocalDate endDate,
+                        Status status,
+                        LocalDateTime createdAt,
+                        LocalDateTime completedAt,
+                        String error) {
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    public static ReportJob pending(String jobId, Long clientId, LocalDate startDate, LocalDate endDate) {
+        return new ReportJob(jobId, clientId, startDate, endDate, Status.PENDING, LocalDateTime.now(), null, null);
+    }
+
+    public ReportJob running() {
+        return new ReportJob(jobId, clientId, startDate, endDate, Status.RUNNING, createdAt, null, null);
+    }
+
+    public ReportJob completed() {
+        return new ReportJob(jobId, clientId, startDate, endDate, Status.COMPLETED, createdAt, LocalDateTime.now(), null);
+    }
+
+    public ReportJob failed(String error) {
+        return new ReportJob(jobId, clientId, startDate, endDate, Status.FAILED, createdAt, LocalDateTime.now(), error);
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
@@ -0,0 +1,25 @@
+package com.pichincha.spfmsaclientecoreservice.service;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface ReportJobService {
+
+    /**
+     * Queues the statement PDF on the report worker pool and returns the pending job
+     */
+    ReportJob submitAccountStatement(Long clientId, LocalDate startDate, LocalDate endDate);
+
+    Optional<ReportJob> findJob(String jobId);
+
+    /**
+     * PDF of a completed job, empty while it is still running, failed or already evicted
+     */
+    Optional<Path> findResult(String jobId);
+
+    /**
+     * Drops finished jobs older than the TTL together with their stored PDF
+     */
+    int evictExpiredJobs();
+}
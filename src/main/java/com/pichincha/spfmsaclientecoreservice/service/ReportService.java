@@ -1,11 +1,21 @@
 package com.pichincha.spfmsaclientecoreservice.service;
 
-import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.AccountStatementTotals;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.StatementLine;
 
 import java.time.LocalDate;
 import java.util.List;
 
 public interface ReportService {
 
-    List<Transaction> generateAccountStatement(Long clientId, LocalDate startDate, LocalDate endDate);
+    /**
+     * Statement rows read as a DTO projection, without loading entities, including archived movements.
+     * The initial balance of each row is its account's balance at the start of the period
+     */
+    List<StatementLine> findStatementLines(Long clientId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Per-account opening balance, deposits, withdrawals and closing balance aggregated by the database
+     */
+    List<AccountStatementTotals> summarizeAccountStatement(Long clientId, LocalDate startDate, LocalDate endDate);
 }
@@ -0,0 +1,25 @@
+package com.pichincha.spfmsaclientecoreservice.service;
+
+import java.util.Optional;
+
+/**
+ * Strong ETags of the polled resources, read from the entity versions without loading the entities.
+ * The account version moves with every posting, so it doubles as the account's posting sequence.
+ * Empty when the resource does not exist
+ */
+public interface ResourceVersionService {
+
+    Optional<String> findClientEtag(Long clientId);
+
+    /**
+     * Covers the account and its point-in-time balances
+     */
+    Optional<String> findAccountEtag(Long accountId);
+
+    Optional<String> findTransactionEtag(Long transactionId);
+
+    /**
+     * Covers every statement of the client, whatever the date range and format
+     */
+    Optional<String> findStatementEtag(Long clientId);
+}
@@ -0,0 +1,35 @@
+package com.pichincha.spfmsaclientecoreservice.service;
+
+import com.pichincha.spfmsaclientecoreservice.model.ReportDTO;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Account statements of a client and date range, cached as JSON rows in a bounded memory tier backed
+ * by a local disk tier, which also keeps the rendered PDFs. Inside a transaction evictions apply once it
+ * commits, so a rolled-back change keeps the cached statements
+ */
+public interface StatementCacheService {
+
+    List<ReportDTO> findStatement(Long clientId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Streams the PDF of the rows returned by findStatement into the output without buffering it, so the
+     * statement is not read again; returns the bytes written
+     */
+    long writeStatementPdf(Long clientId, LocalDate startDate, LocalDate endDate, List<ReportDTO> rows,
+                           OutputStream output);
+
+    /**
+     * Drops every cached statement of the client, e.g. after a change to the client or one of its accounts
+     */
+    void evictClient(Long clientId);
+
+    /**
+     * Drops the client's statements ending on or after the date: a movement on that date changes the
+     * running balances of every later row
+     */
+    void evictClientFrom(Long clientId, LocalDate date);
+}
@@ -0,0 +1,158 @@
+package com.pichincha.spfmsaclientecoreservice.service;
+
+import com.pichincha.spfmsaclientecoreservice.model.ReportDTO;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.StatementLine;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Global and per-account totals of a statement computed in a single pass. Movements are
+ * accumulated as long cents, so the totals carry no floating point drift and no boxing.
+ */
+public final class StatementSummary {
+
+    private final Map<String, AccountTotals> accounts = new LinkedHashMap<>();
+    private long depositCents;
+    private long withdrawalCents;
+    private long maxAvailableCents;
+    private int rows;
+
+    private StatementSummary() {
+    }
+
+    public static StatementSummary ofLines(List<StatementLine> lines) {
+        StatementSummary summary = new StatementSummary();
+        for (StatementLine line : lines) {
+            summary.add(accountKey(line.accountNumber(), line.accountType()),
+                    cents(line.initialBalance()),
+                    cents(line.amount()),
+                    cents(line.balance()));
+        }
+        return summary;
+    }
+
+    public static StatementSummary ofReports(List<ReportDTO> reports) {
+        StatementSummary summary = new StatementSummary();
+        for (ReportDTO report : reports) {
+            summary.add(accountKey(report.getAccountNumber(), report.getType()),
+                    toCents(report.getInitialBalance()),
+                    toCents(report.getMovement()),
+                    toCents(report.getAvailableBalance()));
+        }
+        return summary;
+    }
+
+    /**
+     * Key used to group statement rows per account: account number and account type
+     */
+    public static String accountKey(String accountNumber, Object accountType) {
+        return accountNumber + "-" + accountType;
+    }
+
+    private void add(String accountKey, long initialBalanceCents, long movementCents, long availableCents) {
+        if (movementCents > 0) {
+            depositCents += movementCents;
+        } else {
+            withdrawalCents -= movementCents;
+        }
+
+        maxAvailableCents = rows == 0 ? availableCents : Math.max(maxAvailableCents, availableCents);
+        rows++;
+
+        accounts.computeIfAbsent(accountKey, key -> new AccountTotals(initialBalanceCents))
+                .add(movementCents, availableCents);
+    }
+
+    public int rowCount() {
+        return rows;
+    }
+
+    public int accountCount() {
+        return accounts.size();
+    }
+
+    public Map<String, AccountTotals> accounts() {
+        return Collections.unmodifiableMap(accounts);
+    }
+
+    /**
+     * Sum of the initial balance of every account in the statement
+     */
+    public double totalInitialBalance() {
+        long cents = 0;
+        for (AccountTotals totals : accounts.values()) {
+            cents += totals.initialBalanceCents;
+        }
+        return fromCents(cents);
+    }
+
+    public double totalDeposits() {
+        return fromCents(depositCents);
+    }
+
+    public double totalWithdrawals() {
+        return fromCents(withdrawalCents);
+    }
+
+    /**
+     * Highest available balance of any row, 0 for an empty statement
+     */
+    public double maxAvailableBalance() {
+        return fromCents(maxAvailableCents);
+    }
+
+    private static long cents(Long amount) {
+        return amount != null ? amount : 0L;
+    }
+
+    private static long toCents(Double amount) {
+        return amount != null ? Math.round(amount * 100) : 0L;
+    }
+
+    private static double fromCents(long cents) {
+        return cents / 100.0;
+    }
+
+    public static final class AccountTotals {
+
+        private final long initialBalanceCents;
+        private long depositCents;
+        private long withdrawalCents;
+        private long closingBalanceCents;
+
+        private AccountTotals(long initialBalanceCents) {
+            this.initialBalanceCents = initialBalanceCents;
+        }
+
+        private void add(long movementCents, long availableCents) {
+            if (movementCents > 0) {
+                depositCents += movementCents;
+            } else {
+                withdrawalCents -= movementCents;
+            }
+            closingBalanceCents = availableCents;
+        }
+
+        public double initialBalance() {
+            return fromCents(initialBalanceCents);
+        }
+
+        public double deposits() {
+            return fromCents(depositCents);
+        }
+
+        public double withdrawals() {
+            return fromCents(withdrawalCents);
+        }
+
+        /**
+         * Available balance of the last row of the account
+         */
+        public double closingBalance() {
+            return fromCents(closingBalanceCents);
+        }
+    }
+}
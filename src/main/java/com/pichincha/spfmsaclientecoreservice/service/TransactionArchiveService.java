@@ -0,0 +1,17 @@
+package com.pichincha.spfmsaclientecoreservice.service;
+
+import java.time.LocalDateTime;
+
+public interface TransactionArchiveService {
+
+    /**
+     * Archives the movements older than the configured retention, cut at the start of a month
+     */
+    int archiveAgedTransactions();
+
+    /**
+     * Moves every movement dated before the cutoff into the archive, one account per database transaction,
+     * and records each account's closing balance at the cutoff. Returns the number of movements archived
+     */
+    int archiveTransactionsBefore(LocalDateTime cutoff);
+}
@@ -0,0 +1,14 @@
+package com.pichincha.spfmsaclientecoreservice.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface TransactionImportService {
+
+    /**
+     * Reads one TransactionDTO per NDJSON line from the input, posts them in chunks and writes
+     * one NDJSON result per line to the output as each chunk completes
+     */
+    TransactionImportSummary importTransactions(InputStream input, OutputStream output) throws IOException;
+}
@@ -0,0 +1,7 @@
+package com.pichincha.spfmsaclientecoreservice.service;
+
+/**
+ * Totals of an NDJSON import
+ */
+public record TransactionImportSummary(int lines, int created, int failed) {
+}
@@ -0,0 +1,12 @@
+package com.pichincha.spfmsaclientecoreservice.service;
+
+import java.util.List;
+
+public interface TransactionPartitionService {
+
+    /**
+     * Creates the monthly partitions from the current month up to the configured months ahead.
+     * Returns the partitions ensured, empty when the database does not partition transactions
+     */
+    List<String> createUpcomingPartitions();
+}
@@ -0,0 +1,25 @@
+package com.pichincha.spfmsaclientecoreservice.service;
+
+import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+
+/**
+ * Outcome of one item of a batch posting, keeping its position in the request
+ */
+public record TransactionPostingResult(int index, Transaction transaction, String error) {
+
+    public static TransactionPostingResult posted(int index, Transaction transaction) {
+        return new TransactionPostingResult(index, transaction, null);
+    }
+
+    public static TransactionPostingResult failed(int index, String error) {
+        return new TransactionPostingResult(index, null, error);
+    }
+
+    public boolean isPosted() {
+        return error == null;
+    }
+
+    public TransactionPostingResult withIndex(int newIndex) {
+        return new TransactionPostingResult(newIndex, transaction, error);
+    }
+}
@@ -4,15 +4,31 @@ import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface TransactionService {
 
     Transaction createTransaction(Transaction transaction);
 
-    List<Transaction> getAllTransactions();
+    /**
+     * Posts the transactions grouped by account, in request order, returning one result per item
+     */
+    List<TransactionPostingResult> createTransactions(List<Transaction> transactions);
+
+    /**
+     * Keyset page of transactions with an ID greater than afterId, in ID order
+     */
+    KeysetPage<Transaction> getTransactionsPage(Long afterId, int size);
 
     Optional<Transaction> findTransactionById(Long transactionId);
 
+    /**
+     * Hands every transaction, in ID order, to the consumer one at a time and detaches it afterwards
+     *
+     * @return number of transactions exported
+     */
+    long exportTransactions(Consumer<Transaction> consumer);
+
     Transaction updateTransaction(Long transactionId, Transaction transaction);
 
     void deleteTransaction(Long transactionId);
@@ -1,16 +1,28 @@
 package com.pichincha.spfmsaclientecoreservice.service.impl;
 
+import com.pichincha.spfmsaclientecoreservice.configuration.CacheConfig;
 import com.pichincha.spfmsaclientecoreservice.domain.Account;
 import com.pichincha.spfmsaclientecoreservice.domain.Client;
 import com.pichincha.spfmsaclientecoreservice.exception.ResourceNotFoundException;
+import com.pichincha.spfmsaclientecoreservice.model.AccountDTO;
 import com.pichincha.spfmsaclientecoreservice.repository.AccountRepository;
+import com.pichincha.spfmsaclientecoreservice.repository.ArchivedTransactionRepository;
 import com.pichincha.spfmsaclientecoreservice.repository.ClientRepository;
+import com.pichincha.spfmsaclientecoreservice.repository.TransactionRepository;
 import com.pichincha.spfmsaclientecoreservice.service.AccountService;
+import com.pichincha.spfmsaclientecoreservice.service.HeaderCacheService;
+import com.pichincha.spfmsaclientecoreservice.service.KeysetPage;
+import com.pichincha.spfmsaclientecoreservice.service.StatementCacheService;
+import com.pichincha.spfmsaclientecoreservice.service.mapper.AccountMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +33,11 @@ public class AccountServiceImpl implements AccountService {
 
     private final AccountRepository accountRepository;
     private final ClientRepository clientRepository;
+    private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final AccountMapper accountMapper;
+    private final HeaderCacheService headerCacheService;
+    private final StatementCacheService statementCacheService;
 
     @Override
     @Transactional
@@ -29,7 +46,7 @@ public class AccountServiceImpl implements AccountService {
 
         if (account.getClient() != null && account.getClient().getPersonId() != null) {
             Long clientId = account.getClient().getPersonId();
-            Client client = clientRepository.findById(clientId)
+            Client client = clientRepository.findHeaderById(clientId)
                     .orElseThrow(() -> {
                         log.error("Client not found with ID: {}", clientId);
                         return new ResourceNotFoundException("Client not found with id: " + clientId);
@@ -37,6 +54,10 @@ public class AccountServiceImpl implements AccountService {
             account.setClient(client);
         }
 
+        if (account.getCurrentBalance() == null) {
+            account.setCurrentBalance(account.getInitialBalance());
+        }
+
         Account savedAccount = accountRepository.save(account);
         log.info("Account created with ID: {}", savedAccount.getAccountId());
         return savedAccount;
@@ -44,8 +65,9 @@ public class AccountServiceImpl implements AccountService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<Account> getAllAccounts() {
-        return accountRepository.findAll();
+    public KeysetPage<Account> getAccountsPage(Long afterId, int size) {
+        List<Account> rows = accountRepository.findPageAfter(afterId, Limit.of(size + 1));
+        return KeysetPage.of(rows, size, Account::getAccountId);
     }
 
     @Override
@@ -54,6 +76,50 @@ public class AccountServiceImpl implements AccountService {
         return accountRepository.findById(accountId);
     }
 
+    /**
+     * Reads the header without the entity graph of findById, so the movements are not loaded
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.ACCOUNT_HEADERS, key = "#accountId", sync = true)
+    public Optional<AccountDTO> findAccountHeader(Long accountId) {
+        return accountRepository.findHeaderById(accountId).map(accountMapper::toDto);
+    }
+
+    /**
+     * Each movement carries the running balance after it, so the latest one before the next day is the
+     * answer. The archive is only read for days before the account's archive cutoff
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Long getBalanceAt(Long accountId, LocalDate date) {
+        Account account = accountRepository.findHeaderById(accountId)
+                .orElseThrow(() -> {
+                    log.error("Account not found with ID: {}", accountId);
+                    return new ResourceNotFoundException("Account not found with id: " + accountId);
+                });
+        LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
+
+        // Long.MIN_VALUE: movements at the start of the next day are excluded
+        Optional<Long> hotBalance = transactionRepository
+                .findBalancesBefore(accountId, endOfDay, Long.MIN_VALUE, Limit.of(1))
+                .stream()
+                .findFirst();
+        if (hotBalance.isPresent()) {
+            return hotBalance.get();
+        }
+        if (account.getArchivedUntil() == null) {
+            return account.getInitialBalance();
+        }
+        if (!endOfDay.isBefore(account.getArchivedUntil())) {
+            return account.getArchivedBalance();
+        }
+        return archivedTransactionRepository.findBalancesBefore(accountId, endOfDay, Limit.of(1))
+                .stream()
+                .findFirst()
+                .orElse(account.getInitialBalance());
+    }
+
     @Override
     @Transactional
     public Account updateAccount(Long accountId, Account account) {
@@ -61,16 +127,26 @@ public class AccountServiceImpl implements AccountService {
 
         return accountRepository.findById(accountId)
                 .map(existingAccount -> {
+                    // number, type and status are printed on every statement row of the owning client
+                    evictStatements(existingAccount);
                     existingAccount.setAccountNumber(account.getAccountNumber());
                     existingAccount.setAccountType(account.getAccountType());
                     existingAccount.setInitialBalance(account.getInitialBalance());
                     existingAccount.setStatus(account.getStatus());
 
+                    // sin historial propio: ni movimientos activos ni archivados
+                    if (existingAccount.getArchivedUntil() == null && existingAccount.getTransactions().isEmpty()) {
+                        existingAccount.setCurrentBalance(account.getInitialBalance());
+                    }
+
                     if (account.getClient() != null) {
                         existingAccount.setClient(account.getClient());
+                        // the receiving client's statements gain the account's rows
+                        evictStatements(existingAccount);
                     }
 
                     Account updatedAccount = accountRepository.save(existingAccount);
+                    headerCacheService.evictAccount(accountId);
                     log.info("Account updated: {}", updatedAccount.getAccountId());
                     return updatedAccount;
                 })
@@ -94,7 +170,15 @@ public class AccountServiceImpl implements AccountService {
         // ✅ SOFT DELETE: Cambiar estado a false en lugar de eliminar físicamente
         account.setStatus(false);
         accountRepository.save(account);
+        headerCacheService.evictAccount(accountId);
+        evictStatements(account);
 
         log.info("Account soft deleted (status changed to inactive): {}", accountId);
     }
+
+    private void evictStatements(Account account) {
+        if (account.getClient() != null) {
+            statementCacheService.evictClient(account.getClient().getPersonId());
+        }
+    }
 }
@@ -1,11 +1,20 @@
 package com.pichincha.spfmsaclientecoreservice.service.impl;
 
+import com.pichincha.spfmsaclientecoreservice.configuration.CacheConfig;
+import com.pichincha.spfmsaclientecoreservice.domain.Account;
 import com.pichincha.spfmsaclientecoreservice.domain.Client;
 import com.pichincha.spfmsaclientecoreservice.exception.ResourceNotFoundException;
+import com.pichincha.spfmsaclientecoreservice.model.ClientDTO;
 import com.pichincha.spfmsaclientecoreservice.repository.ClientRepository;
 import com.pichincha.spfmsaclientecoreservice.service.ClientService;
+import com.pichincha.spfmsaclientecoreservice.service.HeaderCacheService;
+import com.pichincha.spfmsaclientecoreservice.service.KeysetPage;
+import com.pichincha.spfmsaclientecoreservice.service.StatementCacheService;
+import com.pichincha.spfmsaclientecoreservice.service.mapper.ClientMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +27,9 @@ import java.util.Optional;
 public class ClientServiceImpl implements ClientService {
 
     private final ClientRepository clientRepository;
+    private final ClientMapper clientMapper;
+    private final HeaderCacheService headerCacheService;
+    private final StatementCacheService statementCacheService;
 
     @Override
     @Transactional
@@ -30,8 +42,9 @@ public class ClientServiceImpl implements ClientService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<Client> getAllClients() {
-        return clientRepository.findAll();
+    public KeysetPage<Client> getClientsPage(Long afterId, int size) {
+        List<Client> rows = clientRepository.findPageAfter(afterId, Limit.of(size + 1));
+        return KeysetPage.of(rows, size, Client::getPersonId);
     }
 
     @Override
@@ -40,6 +53,13 @@ public class ClientServiceImpl implements ClientService {
         return clientRepository.findById(clientId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CLIENT_HEADERS, key = "#clientId", sync = true)
+    public Optional<ClientDTO> findClientHeader(Long clientId) {
+        return clientRepository.findHeaderById(clientId).map(clientMapper::toDto);
+    }
+
     @Override
     @Transactional
     public Client updateClient(Long clientId, Client client) {
@@ -57,6 +77,7 @@ public class ClientServiceImpl implements ClientService {
                     existingClient.setStatus(client.getStatus());
 
                     Client updatedClient = clientRepository.save(existingClient);
+                    evictCached(updatedClient);
                     log.info("Client updated: {}", updatedClient.getPersonId());
                     return updatedClient;
                 })
@@ -80,8 +101,17 @@ public class ClientServiceImpl implements ClientService {
         // ✅ SOFT DELETE: Cambiar estado a false en lugar de eliminar físicamente
         client.setStatus(false);
         clientRepository.save(client);
+        evictCached(client);
 
         log.info("Client soft deleted (status changed to inactive): {}", clientId);
     }
-}
 
+    /**
+     * Account headers and statement rows embed the client, so they are dropped along with it
+     */
+    private void evictCached(Client client) {
+        headerCacheService.evictClient(client.getPersonId());
+        headerCacheService.evictAccounts(client.getAccounts().stream().map(Account::getAccountId).toList());
+        statementCacheService.evictClient(client.getPersonId());
+    }
+}
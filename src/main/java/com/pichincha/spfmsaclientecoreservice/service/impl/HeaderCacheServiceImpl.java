@@ -0,0 +1,45 @@
+package com.pichincha.spfmsaclientecoreservice.service.impl;
+
+import com.pichincha.spfmsaclientecoreservice.configuration.CacheConfig;
+import com.pichincha.spfmsaclientecoreservice.service.HeaderCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HeaderCacheServiceImpl implements HeaderCacheService {
+
+    private final CacheManager cacheManager;
+
+    @Override
+    public void evictClient(Long clientId) {
+        evict(CacheConfig.CLIENT_HEADERS, clientId);
+    }
+
+    @Override
+    public void evictAccount(Long accountId) {
+        evict(CacheConfig.ACCOUNT_HEADERS, accountId);
+    }
+
+    @Override
+    public void evictAccounts(Collection<Long> accountIds) {
+        accountIds.forEach(this::evictAccount);
+    }
+
+    /**
+     * evict, not evictIfPresent: only evict is deferred to the commit by the transaction-aware cache
+     */
+    private void evict(String cacheName, Long key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+            log.debug("Evicted {} from cache {}", key, cacheName);
+        }
+    }
+}
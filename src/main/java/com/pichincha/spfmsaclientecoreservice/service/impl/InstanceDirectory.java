@@ -0,0 +1,116 @@
+package com.pichincha.spfmsaclientecoreservice.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Subdirectory of a base directory owned by this instance. The base may be shared by several
+ * instances (the same host's tmpdir, a shared volume), so each one works in its own subdirectory and
+ * holds a file lock on it while running. At startup only subdirectories whose lock is free are removed:
+ * their instance is gone. Closing the directory deletes it.
+ */
+@Slf4j
+final class InstanceDirectory implements Closeable {
+
+    private static final String LOCK_FILE = ".lock";
+    private static final String STAGING_PREFIX = ".instance-";
+
+    private final Path path;
+    private final FileChannel lockChannel;
+
+    private InstanceDirectory(Path path, FileChannel lockChannel) {
+        this.path = path;
+        this.lockChannel = lockChannel;
+    }
+
+    static InstanceDirectory create(Path base) {
+        try {
+            Files.createDirectories(base);
+            removeAbandoned(base);
+            // locked before it gets a visible name, so no other instance sees it unlocked
+            Path staging = Files.createTempDirectory(base, STAGING_PREFIX);
+            FileChannel lockChannel = FileChannel.open(staging.resolve(LOCK_FILE),
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            lockChannel.lock();
+            Path path = Files.move(staging, base.resolve(UUID.randomUUID().toString()),
+                    StandardCopyOption.ATOMIC_MOVE);
+            return new InstanceDirectory(path, lockChannel);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Cannot prepare instance directory in " + base, exception);
+        }
+    }
+
+    Path path() {
+        return path;
+    }
+
+    @Override
+    public void close() {
+        try {
+            lockChannel.close();
+        } catch (IOException exception) {
+            log.warn("Cannot release lock of {}: {}", path, exception.getMessage());
+        }
+        deleteTree(path);
+    }
+
+    private static void removeAbandoned(Path base) throws IOException {
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(base,
+                entry -> Files.isDirectory(entry) && !entry.getFileName().toString().startsWith("."))) {
+            for (Path directory : directories) {
+                Path lockFile = directory.resolve(LOCK_FILE);
+                if (Files.exists(lockFile) && tryClaim(lockFile)) {
+                    log.info("Removed directory {} left by a stopped instance", directory);
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the directory when no running instance holds its lock
+     */
+    private static boolean tryClaim(Path lockFile) {
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.tryLock();
+            if (lock == null) {
+                return false;
+            }
+            deleteTree(lockFile.getParent());
+            return true;
+        } catch (OverlappingFileLockException exception) {
+            // held by another instance in this JVM
+            return false;
+        } catch (IOException exception) {
+            log.warn("Cannot inspect {}: {}", lockFile, exception.getMessage());
+            return false;
+        }
+    }
+
+    private static void deleteTree(Path directory) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException exception) {
+                    log.warn("Cannot delete {}: {}", file, exception.getMessage());
+                }
+            });
+        } catch (IOException exception) {
+            log.warn("Cannot delete directory {}: {}", directory, exception.getMessage());
+        }
+    }
+}
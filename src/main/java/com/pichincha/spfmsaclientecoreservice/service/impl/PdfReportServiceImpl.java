@@ -2,31 +2,64 @@ package com.pichincha.spfmsaclientecoreservice.service.impl;
 
 import com.pichincha.spfmsaclientecoreservice.model.ReportDTO;
 import com.pichincha.spfmsaclientecoreservice.service.PdfReportService;
+import com.pichincha.spfmsaclientecoreservice.service.StatementSummary;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jasperreports.engine.*;
 import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
 import net.sf.jasperreports.engine.design.*;
 import net.sf.jasperreports.engine.type.HorizontalTextAlignEnum;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.awt.*;
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 @Service
 public class PdfReportServiceImpl implements PdfReportService {
 
+    // ReentrantLock instead of synchronized: a virtual thread waiting for the compile does not pin its carrier
+    private final ReentrantLock compileLock = new ReentrantLock();
+    private final Semaphore renderPermits;
+    private volatile JasperReport compiledReport;
+
+    /**
+     * Jasper fills and exports inside synchronized sections of its own, which pin virtual threads to their
+     * carrier; bounding concurrent renders below the carrier count keeps the rest of the requests running
+     */
+    public PdfReportServiceImpl(@Value("${reports.pdf.max-concurrent:2}") int maxConcurrentRenders) {
+        if (maxConcurrentRenders <= 0) {
+            throw new IllegalArgumentException("reports.pdf.max-concurrent must be greater than zero");
+        }
+        this.renderPermits = new Semaphore(maxConcurrentRenders, true);
+    }
+
     @Override
     public byte[] generateAccountStatementPdf(List<ReportDTO> reportData) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writeAccountStatementPdf(reportData, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    @Override
+    public void writeAccountStatementPdf(List<ReportDTO> reportData, OutputStream outputStream) {
+        try {
+            renderPermits.acquire();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to render the PDF report", exception);
+        }
         try {
             // Agrupar datos por cuenta
             Map<String, List<ReportDTO>> groupedByAccount = groupByAccount(reportData);
 
-            JasperDesign jasperDesign = createReportDesign();
-            JasperReport jasperReport = JasperCompileManager.compileReport(jasperDesign);
+            JasperReport jasperReport = getCompiledReport();
 
             // Preparar parámetros
             Map<String, Object> parameters = new HashMap<>();
@@ -35,42 +68,13 @@ public class PdfReportServiceImpl implements PdfReportService {
             if (!reportData.isEmpty()) {
                 parameters.put("ClientName", reportData.get(0).getClient());
 
-                // Calcular totales generales
-                double totalInitialBalance = groupedByAccount.values().stream()
-                        .mapToDouble(list -> {
-                            if (list.isEmpty()) return 0.0;
-                            Double v = list.get(0).getInitialBalance();
-                            return v != null ? v : 0.0;
-                        })
-                        .sum();
-
-                double totalDeposits = reportData.stream()
-                        .mapToDouble(r -> {
-                            Double mv = r.getMovement();
-                            return (mv != null && mv.doubleValue() > 0.0) ? mv.doubleValue() : 0.0;
-                        })
-                        .sum();
-
-                double totalWithdrawals = Math.abs(reportData.stream()
-                        .mapToDouble(r -> {
-                            Double mv = r.getMovement();
-                            return (mv != null && mv.doubleValue() < 0.0) ? mv.doubleValue() : 0.0;
-                        })
-                        .sum());
-
-                double totalFinalBalance = reportData.stream()
-                        .mapToDouble(r -> {
-                            Double av = r.getAvailableBalance();
-                            return av != null ? av.doubleValue() : 0.0;
-                        })
-                        .max()
-                        .orElse(0.0);
-
-                parameters.put("TotalAccounts", groupedByAccount.size());
-                parameters.put("TotalInitialBalance", totalInitialBalance);
-                parameters.put("TotalDeposits", totalDeposits);
-                parameters.put("TotalWithdrawals", totalWithdrawals);
-                parameters.put("TotalFinalBalance", totalFinalBalance);
+                // Calcular totales generales en una sola pasada
+                StatementSummary summary = StatementSummary.ofReports(reportData);
+                parameters.put("TotalAccounts", summary.accountCount());
+                parameters.put("TotalInitialBalance", summary.totalInitialBalance());
+                parameters.put("TotalDeposits", summary.totalDeposits());
+                parameters.put("TotalWithdrawals", summary.totalWithdrawals());
+                parameters.put("TotalFinalBalance", summary.maxAvailableBalance());
             }
 
             // Crear datasource con datos agrupados y convertidos
@@ -78,20 +82,48 @@ public class PdfReportServiceImpl implements PdfReportService {
             JRBeanCollectionDataSource dataSource = new JRBeanCollectionDataSource(convertedData);
 
             JasperPrint jasperPrint = JasperFillManager.fillReport(jasperReport, parameters, dataSource);
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             JasperExportManager.exportReportToPdfStream(jasperPrint, outputStream);
 
-            return outputStream.toByteArray();
-
         } catch (JRException exception) {
             throw new RuntimeException("Error generating PDF report: " + exception.getMessage(), exception);
+        } finally {
+            renderPermits.release();
+        }
+    }
+
+    @Override
+    public void invalidateCompiledReport() {
+        compiledReport = null;
+        log.info("Compiled account statement report invalidated");
+    }
+
+    /**
+     * Compiles the layout on first use and reuses it: a compiled JasperReport is not modified
+     * by fillReport, so concurrent requests can share it
+     */
+    private JasperReport getCompiledReport() throws JRException {
+        JasperReport report = compiledReport;
+        if (report == null) {
+            compileLock.lock();
+            try {
+                report = compiledReport;
+                if (report == null) {
+                    long start = System.nanoTime();
+                    report = JasperCompileManager.compileReport(createReportDesign());
+                    compiledReport = report;
+                    log.info("Account statement report compiled in {} ms", (System.nanoTime() - start) / 1_000_000);
+                }
+            } finally {
+                compileLock.unlock();
+            }
         }
+        return report;
     }
 
     private Map<String, List<ReportDTO>> groupByAccount(List<ReportDTO> reportData) {
         Map<String, List<ReportDTO>> grouped = new LinkedHashMap<>();
         for (ReportDTO report : reportData) {
-            String accountKey = report.getAccountNumber() + "-" + report.getType();
+            String accountKey = StatementSummary.accountKey(report.getAccountNumber(), report.getType());
             grouped.computeIfAbsent(accountKey, k -> new ArrayList<>()).add(report);
         }
         return grouped;
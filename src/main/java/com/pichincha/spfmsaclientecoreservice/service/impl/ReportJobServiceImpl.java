@@ -0,0 +1,174 @@
+package com.pichincha.spfmsaclientecoreservice.service.impl;
+
+import com.pichincha.spfmsaclientecoreservice.model.ReportDTO;
+import com.pichincha.spfmsaclientecoreservice.service.PdfReportService;
+import com.pichincha.spfmsaclientecoreservice.service.ReportJob;
+import com.pichincha.spfmsaclientecoreservice.service.ReportJobService;
+import com.pichincha.spfmsaclientecoreservice.service.ReportService;
+import com.pichincha.spfmsaclientecoreservice.service.mapper.ReportMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders statements on a dedicated bounded pool, so heavy reports queue here instead of holding
+ * request threads. Jobs are tracked in memory and their PDFs in {@link ReportResultStore}.
+ */
+@Slf4j
+@Service
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private final ReportService reportService;
+    private final ReportMapper reportMapper;
+    private final PdfReportService pdfReportService;
+    private final ReportResultStore resultStore;
+    private final Executor workers;
+    private final Duration ttl;
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReportJobServiceImpl(ReportService reportService,
+                                ReportMapper reportMapper,
+                                PdfReportService pdfReportService,
+                                ReportResultStore resultStore,
+                                @Value("${reports.jobs.workers:2}") int workerCount,
+                                @Value("${reports.jobs.queue-capacity:20}") int queueCapacity,
+                                @Value("${reports.jobs.ttl:PT1H}") Duration ttl,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this(reportService, reportMapper, pdfReportService, resultStore,
+                newWorkerPool(workerCount, queueCapacity, virtualThreads), ttl);
+        log.info("Report jobs enabled with {} {} workers, queue capacity {} and TTL {}",
+                workerCount, virtualThreads ? "virtual" : "platform", queueCapacity, ttl);
+    }
+
+    ReportJobServiceImpl(ReportService reportService,
+                         ReportMapper reportMapper,
+                         PdfReportService pdfReportService,
+                         ReportResultStore resultStore,
+                         Executor workers,
+                         Duration ttl) {
+        this.reportService = reportService;
+        this.reportMapper = reportMapper;
+        this.pdfReportService = pdfReportService;
+        this.resultStore = resultStore;
+        this.workers = workers;
+        this.ttl = ttl;
+    }
+
+    /**
+     * @throws RejectedExecutionException when every worker is busy and the queue is full
+     */
+    @Override
+    public ReportJob submitAccountStatement(Long clientId, LocalDate startDate, LocalDate endDate) {
+        ReportJob job = ReportJob.pending(UUID.randomUUID().toString(), clientId, startDate, endDate);
+        jobs.put(job.jobId(), job);
+        try {
+            workers.execute(() -> render(job.jobId()));
+        } catch (RejectedExecutionException exception) {
+            jobs.remove(job.jobId());
+            log.warn("Report job rejected for client ID: {}, queue is full", clientId);
+            throw exception;
+        }
+        log.info("Report job {} queued for client ID: {} from {} to {}", job.jobId(), clientId, startDate, endDate);
+        return job;
+    }
+
+    @Override
+    public Optional<ReportJob> findJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    @Override
+    public Optional<Path> findResult(String jobId) {
+        return findJob(jobId)
+                .filter(job -> job.status() == ReportJob.Status.COMPLETED)
+                .map(job -> resultStore.resultPath(jobId))
+                .filter(Files::exists);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${reports.jobs.eviction-interval:PT5M}")
+    public int evictExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        int evicted = 0;
+        for (ReportJob job : jobs.values()) {
+            if (job.isFinished() && !job.completedAt().isAfter(cutoff) && jobs.remove(job.jobId(), job)) {
+                resultStore.delete(job.jobId());
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            log.info("Evicted {} expired report jobs", evicted);
+        }
+        return evicted;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (workers instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void render(String jobId) {
+        ReportJob job = jobs.computeIfPresent(jobId, (id, current) -> current.running());
+        if (job == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            List<ReportDTO> reports = reportMapper.toStatementFromLines(
+                    reportService.findStatementLines(job.clientId(), job.startDate(), job.endDate()));
+            resultStore.write(jobId, output -> pdfReportService.writeAccountStatementPdf(reports, output));
+            jobs.computeIfPresent(jobId, (id, current) -> current.completed());
+            log.info("Report job {} completed: {} transactions in {} ms",
+                    jobId, reports.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException exception) {
+            log.error("Report job {} failed: {}", jobId, exception.getMessage(), exception);
+            resultStore.delete(jobId);
+            jobs.computeIfPresent(jobId, (id, current) -> current.failed(exception.getMessage()));
+        }
+    }
+
+    /**
+     * The pool keeps bounding concurrent renders and queued jobs in both modes; with virtual threads its
+     * workers are virtual, so a job blocked on JDBC or file I/O releases its carrier
+     */
+    private static ExecutorService newWorkerPool(int workerCount, int queueCapacity, boolean virtualThreads) {
+        if (workerCount <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("reports.jobs.workers and reports.jobs.queue-capacity must be greater than zero");
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("report-job-", 1).factory()
+                : runnable -> {
+                    Thread thread = new Thread(runnable, "report-job-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                };
+        return new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,78 @@
+package com.pichincha.spfmsaclientecoreservice.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Consumer;
+
+/**
+ * Local file store for rendered report jobs. A PDF is written to a temporary file and moved
+ * into place once complete, so a download never sees a partial result.
+ */
+@Slf4j
+@Component
+public class ReportResultStore {
+
+    private static final String RESULT_SUFFIX = ".pdf";
+    private static final String PARTIAL_SUFFIX = ".part";
+
+    private final InstanceDirectory instanceDirectory;
+    private final Path directory;
+
+    /**
+     * The job registry lives in memory, so results only matter to this instance: they go to its own
+     * subdirectory, which a restart replaces, and other instances sharing the base keep theirs
+     */
+    public ReportResultStore(@Value("${reports.jobs.directory:${java.io.tmpdir}/spf-report-jobs}") Path directory) {
+        this.instanceDirectory = InstanceDirectory.create(directory);
+        this.directory = instanceDirectory.path();
+        log.info("Report job results stored in {}", this.directory);
+    }
+
+    @PreDestroy
+    public void close() {
+        instanceDirectory.close();
+    }
+
+    public Path write(String jobId, Consumer<OutputStream> writer) {
+        Path partial = directory.resolve(jobId + PARTIAL_SUFFIX);
+        Path result = resultPath(jobId);
+        try {
+            try (OutputStream output = Files.newOutputStream(partial)) {
+                writer.accept(output);
+            }
+            return Files.move(partial, result, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            deleteQuietly(partial);
+            throw new UncheckedIOException("Cannot store report job " + jobId, exception);
+        } catch (RuntimeException exception) {
+            deleteQuietly(partial);
+            throw exception;
+        }
+    }
+
+    public Path resultPath(String jobId) {
+        return directory.resolve(jobId + RESULT_SUFFIX);
+    }
+
+    public void delete(String jobId) {
+        deleteQuietly(resultPath(jobId));
+        deleteQuietly(directory.resolve(jobId + PARTIAL_SUFFIX));
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException exception) {
+            log.warn("Cannot delete report job file {}: {}", file, exception.getMessage());
+        }
+    }
+}
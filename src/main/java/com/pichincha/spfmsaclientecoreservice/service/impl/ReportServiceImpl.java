@@ -1,7 +1,10 @@
 package com.pichincha.spfmsaclientecoreservice.service.impl;
 
-import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+import com.pichincha.spfmsaclientecoreservice.repository.ArchivedTransactionRepository;
 import com.pichincha.spfmsaclientecoreservice.repository.TransactionRepository;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.AccountStatementTotals;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.ArchivedPeriodTotals;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.StatementLine;
 import com.pichincha.spfmsaclientecoreservice.service.ReportService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,35 +14,92 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ReportServiceImpl implements ReportService {
 
+    private static final Comparator<StatementLine> STATEMENT_ORDER = Comparator.comparing(StatementLine::accountId)
+            .thenComparing(StatementLine::date)
+            .thenComparing(StatementLine::transactionId);
+
     private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
 
+    /**
+     * Rows older than the archive cutoff are read from the archive and merged in statement order.
+     * Each row carries the balance of its account at the period start instead of the account's initial balance
+     */
     @Override
     @Transactional(readOnly = true)
-    public List<Transaction> generateAccountStatement(
-            Long clientId,
-            LocalDate startDate,
-            LocalDate endDate
-    ) {
-        log.info("Generating report for client ID: {} from {} to {}", clientId, startDate, endDate);
+    public List<StatementLine> findStatementLines(Long clientId, LocalDate startDate, LocalDate endDate) {
+        log.info("Loading statement lines for client ID: {} from {} to {}", clientId, startDate, endDate);
+        LocalDateTime startDateTime = startDate.atStartOfDay();
+        LocalDateTime endDateTime = endDate.atTime(LocalTime.MAX);
+
+        List<StatementLine> lines = transactionRepository.findStatementLines(clientId, startDateTime, endDateTime);
+        List<StatementLine> archived = archivedTransactionRepository.findStatementLines(
+                clientId, startDateTime, endDateTime);
+        if (!archived.isEmpty()) {
+            List<StatementLine> merged = new ArrayList<>(archived.size() + lines.size());
+            merged.addAll(archived);
+            merged.addAll(lines);
+            merged.sort(STATEMENT_ORDER);
+            lines = merged;
+        }
+        log.info("Statement lines loaded: {} ({} archived)", lines.size(), archived.size());
+        return withOpeningBalances(lines);
+    }
 
+    /**
+     * The account checkpoint counts every archived movement as prior to the period; the archived
+     * movements from the period start on are then moved back into it
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<AccountStatementTotals> summarizeAccountStatement(Long clientId, LocalDate startDate, LocalDate endDate) {
+        log.info("Summarizing statement for client ID: {} from {} to {}", clientId, startDate, endDate);
         LocalDateTime startDateTime = startDate.atStartOfDay();
         LocalDateTime endDateTime = endDate.atTime(LocalTime.MAX);
 
-        List<Transaction> transactions = transactionRepository.findByClientAndDateRange(
-                clientId,
-                startDateTime,
-                endDateTime
-        );
+        List<AccountStatementTotals> totals = transactionRepository.summarizeByAccount(
+                clientId, startDateTime, endDateTime);
+        List<ArchivedPeriodTotals> archived = archivedTransactionRepository.summarizeSince(
+                clientId, startDateTime, endDateTime);
+        if (!archived.isEmpty()) {
+            Map<Long, ArchivedPeriodTotals> archivedByAccount = archived.stream()
+                    .collect(Collectors.toMap(ArchivedPeriodTotals::accountId, Function.identity()));
+            totals = totals.stream()
+                    .map(total -> archivedByAccount.containsKey(total.accountId())
+                            ? total.withArchived(archivedByAccount.get(total.accountId()))
+                            : total)
+                    .toList();
+        }
+        log.info("Statement summarized: {} accounts", totals.size());
+        return totals;
+    }
 
-        log.info("Report generated: {} transactions found", transactions.size());
-        return transactions;
+    /**
+     * The balance before the first movement of an account in the period is its balance at the period start
+     */
+    private List<StatementLine> withOpeningBalances(List<StatementLine> lines) {
+        List<StatementLine> result = new ArrayList<>(lines.size());
+        Long accountId = null;
+        Long openingBalance = null;
+        for (StatementLine line : lines) {
+            if (!line.accountId().equals(accountId)) {
+                accountId = line.accountId();
+                openingBalance = line.balance() - line.amount();
+            }
+            result.add(line.withInitialBalance(openingBalance));
+        }
+        return result;
     }
 }
-
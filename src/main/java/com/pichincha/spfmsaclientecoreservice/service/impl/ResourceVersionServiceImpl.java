@@ -0,0 +1,59 @@
+package com.pichincha.spfmsaclientecoreservice.service.impl;
+
+import com.pichincha.spfmsaclientecoreservice.repository.AccountRepository;
+import com.pichincha.spfmsaclientecoreservice.repository.ClientRepository;
+import com.pichincha.spfmsaclientecoreservice.repository.TransactionRepository;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.AccountVersion;
+import com.pichincha.spfmsaclientecoreservice.service.ResourceVersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class ResourceVersionServiceImpl implements ResourceVersionService {
+
+    private final ClientRepository clientRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> findClientEtag(Long clientId) {
+        return clientRepository.findVersionById(clientId)
+                .map(version -> "c" + clientId + "-" + version);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> findAccountEtag(Long accountId) {
+        return accountRepository.findVersionById(accountId)
+                .map(version -> "a" + accountId + "-" + version.accountVersion() + "-" + version.clientVersion());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> findTransactionEtag(Long transactionId) {
+        // editing or deleting the transaction moves its account version
+        return transactionRepository.findAccountVersionByTransactionId(transactionId)
+                .map(version -> "t" + transactionId + "-" + version.accountVersion() + "-" + version.clientVersion());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> findStatementEtag(Long clientId) {
+        return clientRepository.findVersionById(clientId).map(clientVersion -> {
+            // an account moved to another client leaves this list, so it changes for both clients
+            StringBuilder versions = new StringBuilder().append(clientVersion);
+            for (AccountVersion account : accountRepository.findVersionsByClientId(clientId)) {
+                versions.append(',').append(account.accountId()).append(':').append(account.accountVersion());
+            }
+            return "s" + clientId + "-"
+                    + DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8));
+        });
+    }
+}
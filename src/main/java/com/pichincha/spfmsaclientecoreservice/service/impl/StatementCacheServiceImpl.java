@@ -0,0 +1,422 @@
+package com.pichincha.spfmsaclientecoreservice.service.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.pichincha.spfmsaclientecoreservice.model.ReportDTO;
+import com.pichincha.spfmsaclientecoreservice.service.PdfReportService;
+import com.pichincha.spfmsaclientecoreservice.service.ReportService;
+import com.pichincha.spfmsaclientecoreservice.service.StatementCacheService;
+import com.pichincha.spfmsaclientecoreservice.service.mapper.ReportMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Statements are kept as serialized bytes, so both tiers are weighed by their exact size. Every stored
+ * statement is written through to disk; the memory tier holds the rows of the recently used subset and
+ * a disk hit is promoted back into it. Rendered PDFs only live on disk and are streamed from their file.
+ * Both tiers expire entries a fixed time after they were loaded.
+ */
+@Slf4j
+@Service
+public class StatementCacheServiceImpl implements StatementCacheService {
+
+    public static final String CACHE_NAME = "statements";
+
+    private static final TypeReference<List<ReportDTO>> ROWS_TYPE = new TypeReference<>() {
+    };
+    private static final String ROWS_SUFFIX = ".json";
+    private static final String PDF_SUFFIX = ".pdf";
+    private static final int STRIPES = 64;
+
+    private final ReportService reportService;
+    private final ReportMapper reportMapper;
+    private final PdfReportService pdfReportService;
+    private final ObjectMapper objectMapper;
+    private final InstanceDirectory instanceDirectory;
+    private final Path directory;
+    private final Cache<StatementKey, CachedStatement> memory;
+    private final Cache<StatementKey, StoredStatement> disk;
+    // sequence of the last eviction per client; a load that started before it is not stored
+    private final Cache<Long, Long> evictions;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final Counter memoryEvictedByChange;
+    private final Counter diskEvictedByChange;
+
+    public StatementCacheServiceImpl(ReportService reportService,
+                                     ReportMapper reportMapper,
+                                     PdfReportService pdfReportService,
+                                     ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${cache.statements.memory-max-size:64MB}") DataSize memoryMaxSize,
+                                     @Value("${cache.statements.disk-max-size:512MB}") DataSize diskMaxSize,
+                                     @Value("${cache.statements.ttl:PT15M}") Duration ttl,
+                                     @Value("${cache.statements.directory:${java.io.tmpdir}/spf-statement-cache}") Path directory) {
+        this.reportService = reportService;
+        this.reportMapper = reportMapper;
+        this.pdfReportService = pdfReportService;
+        this.objectMapper = objectMapper;
+        // the disk index lives in memory, so files are only reachable by this instance
+        this.instanceDirectory = InstanceDirectory.create(directory);
+        this.directory = instanceDirectory.path();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+
+        // listeners and maintenance run on the calling thread, so an evicted file is gone when the call returns
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(memoryMaxSize.toBytes())
+                .weigher((StatementKey key, CachedStatement statement) -> statement.size())
+                .expireAfter(Expiry.creating((StatementKey key, CachedStatement statement) ->
+                        remaining(statement.loadedAt(), ttl)))
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        this.disk = Caffeine.newBuilder()
+                .maximumWeight(diskMaxSize.toBytes())
+                .weigher((StatementKey key, StoredStatement stored) -> (int) Math.min(stored.size(), Integer.MAX_VALUE))
+                .expireAfter(Expiry.creating((StatementKey key, StoredStatement stored) ->
+                        remaining(stored.loadedAt(), ttl)))
+                .removalListener((StatementKey key, StoredStatement stored, RemovalCause cause) -> {
+                    if (stored != null) {
+                        deleteQuietly(stored.rows());
+                        deleteQuietly(stored.pdf());
+                    }
+                })
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        // a load running longer than the TTL is not expected
+        this.evictions = Caffeine.newBuilder().expireAfterWrite(ttl).build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, CACHE_NAME, "tier", "memory");
+        CaffeineCacheMetrics.monitor(meterRegistry, disk, CACHE_NAME, "tier", "disk");
+        Gauge.builder("cache.statements.size", memory, StatementCacheServiceImpl::weightedSize)
+                .description("Bytes held by the statement cache")
+                .baseUnit(BaseUnits.BYTES)
+                .tags("tier", "memory")
+                .register(meterRegistry);
+        Gauge.builder("cache.statements.size", disk, StatementCacheServiceImpl::weightedSize)
+                .description("Bytes held by the statement cache")
+                .baseUnit(BaseUnits.BYTES)
+                .tags("tier", "disk")
+                .register(meterRegistry);
+        this.memoryEvictedByChange = Counter.builder("cache.statements.invalidations")
+                .description("Statements dropped because a change touched their client and range")
+                .tags("tier", "memory")
+                .register(meterRegistry);
+        this.diskEvictedByChange = Counter.builder("cache.statements.invalidations")
+                .description("Statements dropped because a change touched their client and range")
+                .tags("tier", "disk")
+                .register(meterRegistry);
+
+        log.info("Statement cache enabled: {} in memory, {} on disk in {}, TTL {}",
+                memoryMaxSize, diskMaxSize, this.directory, ttl);
+    }
+
+    @Override
+    public List<ReportDTO> findStatement(Long clientId, LocalDate startDate, LocalDate endDate) {
+        StatementKey key = new StatementKey(clientId, startDate, endDate);
+        long loadSequence = sequence.get();
+
+        CachedStatement cached = lookup(key);
+        if (cached != null) {
+            return readRows(cached.rows());
+        }
+
+        List<ReportDTO> rows = load(key);
+        store(key, new CachedStatement(writeRows(rows), System.nanoTime()), null, loadSequence);
+        return rows;
+    }
+
+    /**
+     * A missing PDF is rendered from the caller's rows and kept only while they are still the cached
+     * statement, so a PDF of rows that a change already evicted is never stored. It is rendered into a
+     * new disk-tier file and copied from there, so it is never held in memory
+     */
+    @Override
+    public long writeStatementPdf(Long clientId, LocalDate startDate, LocalDate endDate, List<ReportDTO> rows,
+                                  OutputStream output) {
+        StatementKey key = new StatementKey(clientId, startDate, endDate);
+
+        StoredStatement stored = disk.getIfPresent(key);
+        if (stored != null && stored.pdf() != null) {
+            InputStream pdf = open(key, stored.pdf());
+            if (pdf != null) {
+                return copy(pdf, output);
+            }
+            disk.asMap().remove(key, stored);
+        }
+
+        long loadSequence = sequence.get();
+        CachedStatement statement = lookup(key);
+        boolean current = statement != null && Arrays.equals(statement.rows(), writeRows(rows));
+        Path pdf = directory.resolve(fileName(key) + PDF_SUFFIX);
+        InputStream rendered;
+        try {
+            try (OutputStream file = Files.newOutputStream(pdf)) {
+                pdfReportService.writeAccountStatementPdf(rows, file);
+            }
+            // opened before the file is shared with the cache, so a concurrent eviction cannot remove it first
+            rendered = Files.newInputStream(pdf);
+        } catch (IOException exception) {
+            deleteQuietly(pdf);
+            throw new UncheckedIOException("Cannot render statement PDF", exception);
+        } catch (RuntimeException exception) {
+            deleteQuietly(pdf);
+            throw exception;
+        }
+        if (!current || !store(key, statement, pdf, loadSequence)) {
+            deleteQuietly(pdf);
+        }
+        return copy(rendered, output);
+    }
+
+    @PreDestroy
+    public void close() {
+        memory.invalidateAll();
+        instanceDirectory.close();
+    }
+
+    @Override
+    public void evictClient(Long clientId) {
+        evictClientFrom(clientId, LocalDate.MIN);
+    }
+
+    @Override
+    public void evictClientFrom(Long clientId, LocalDate date) {
+        if (clientId == null || date == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(clientId, date);
+                }
+            });
+        } else {
+            evict(clientId, date);
+        }
+    }
+
+    private void evict(Long clientId, LocalDate date) {
+        Predicate<StatementKey> affected = key -> key.clientId().equals(clientId) && !key.endDate().isBefore(date);
+        ReentrantLock stripe = stripeFor(clientId);
+        stripe.lock();
+        try {
+            evictions.put(clientId, sequence.incrementAndGet());
+            int fromMemory = removeIf(memory, affected);
+            int fromDisk = removeIf(disk, affected);
+            memoryEvictedByChange.increment(fromMemory);
+            diskEvictedByChange.increment(fromDisk);
+            log.debug("Evicted statements of client {} ending on or after {}: {} in memory, {} on disk",
+                    clientId, date, fromMemory, fromDisk);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    private CachedStatement lookup(StatementKey key) {
+        CachedStatement cached = memory.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        StoredStatement stored = disk.getIfPresent(key);
+        if (stored == null) {
+            return null;
+        }
+        try {
+            cached = new CachedStatement(Files.readAllBytes(stored.rows()), stored.loadedAt());
+        } catch (IOException exception) {
+            // removed by a concurrent eviction, or lost from the directory
+            log.debug("Cannot read cached statement {}: {}", key, exception.getMessage());
+            disk.asMap().remove(key, stored);
+            return null;
+        }
+
+        ReentrantLock stripe = stripeFor(key.clientId());
+        stripe.lock();
+        try {
+            // not promoted when an eviction removed it while the files were read
+            if (disk.asMap().get(key) == stored) {
+                memory.put(key, cached);
+            }
+        } finally {
+            stripe.unlock();
+        }
+        return cached;
+    }
+
+    /**
+     * Stores the rows together with the already written PDF file, if any. Returns whether the PDF file
+     * now belongs to the cache; otherwise the caller deletes it
+     */
+    private boolean store(StatementKey key, CachedStatement statement, Path pdf, long loadSequence) {
+        ReentrantLock stripe = stripeFor(key.clientId());
+        stripe.lock();
+        try {
+            Long evictedAt = evictions.getIfPresent(key.clientId());
+            if (evictedAt != null && evictedAt > loadSequence) {
+                log.debug("Statement {} changed while it was loaded, not cached", key);
+                return false;
+            }
+            memory.put(key, statement);
+            StoredStatement stored = write(key, statement, pdf);
+            if (stored != null) {
+                disk.put(key, stored);
+                return pdf != null;
+            }
+            disk.invalidate(key);
+            return false;
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Each write gets new file names, so replacing the previous entry, whose files the removal listener
+     * deletes, never deletes the new files
+     */
+    private StoredStatement write(StatementKey key, CachedStatement statement, Path pdf) {
+        Path rows = directory.resolve(fileName(key) + ROWS_SUFFIX);
+        try {
+            Files.write(rows, statement.rows());
+            long size = statement.size() + (pdf != null ? Files.size(pdf) : 0);
+            return new StoredStatement(rows, pdf, size, statement.loadedAt());
+        } catch (IOException exception) {
+            log.warn("Cannot write statement {} to the disk cache: {}", key, exception.getMessage());
+            deleteQuietly(rows);
+            return null;
+        }
+    }
+
+    private static String fileName(StatementKey key) {
+        return key.clientId() + "-" + key.startDate() + "-" + key.endDate() + "-" + UUID.randomUUID();
+    }
+
+    /**
+     * Returns null when the file is gone: removed by a concurrent eviction, or lost from the directory
+     */
+    private static InputStream open(StatementKey key, Path file) {
+        try {
+            return Files.newInputStream(file);
+        } catch (IOException exception) {
+            log.debug("Cannot read cached statement PDF {}: {}", key, exception.getMessage());
+            return null;
+        }
+    }
+
+    private static long copy(InputStream input, OutputStream output) {
+        try (input) {
+            return input.transferTo(output);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Cannot write statement PDF", exception);
+        }
+    }
+
+    private List<ReportDTO> load(StatementKey key) {
+        return reportMapper.toStatementFromLines(
+                reportService.findStatementLines(key.clientId(), key.startDate(), key.endDate()));
+    }
+
+    private byte[] writeRows(List<ReportDTO> rows) {
+        try {
+            return objectMapper.writeValueAsBytes(rows);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Cannot serialize statement rows", exception);
+        }
+    }
+
+    private List<ReportDTO> readRows(byte[] rows) {
+        try {
+            return objectMapper.readValue(rows, ROWS_TYPE);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Cannot read cached statement rows", exception);
+        }
+    }
+
+    private ReentrantLock stripeFor(Long clientId) {
+        return stripes[Math.floorMod(clientId.hashCode(), STRIPES)];
+    }
+
+    private static <V> int removeIf(Cache<StatementKey, V> cache, Predicate<StatementKey> affected) {
+        int removed = 0;
+        for (StatementKey key : cache.asMap().keySet()) {
+            if (affected.test(key) && cache.asMap().remove(key) != null) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private static Duration remaining(long loadedAt, Duration ttl) {
+        Duration remaining = ttl.minusNanos(System.nanoTime() - loadedAt);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private static double weightedSize(Cache<?, ?> cache) {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException exception) {
+            log.warn("Cannot delete cached statement file {}: {}", file, exception.getMessage());
+        }
+    }
+
+    private record StatementKey(Long clientId, LocalDate startDate, LocalDate endDate) {
+    }
+
+    /**
+     * Serialized rows; loadedAt is a System.nanoTime reading
+     */
+    private record CachedStatement(byte[] rows, long loadedAt) {
+
+        int size() {
+            return rows.length;
+        }
+    }
+
+    /**
+     * The PDF file is null until the PDF is first requested; size counts both files
+     */
+    private record StoredStatement(Path rows, Path pdf, long size, long loadedAt) {
+    }
+}
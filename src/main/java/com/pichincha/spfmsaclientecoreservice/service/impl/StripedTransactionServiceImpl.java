@@ -0,0 +1,138 @@
+package com.pichincha.spfmsaclientecoreservice.service.impl;
+
+import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+import com.pichincha.spfmsaclientecoreservice.service.KeysetPage;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionPostingResult;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Single-node posting mode: postings are queued per account on an in-memory lock stripe
+ * before they reach the database, so contention on hot accounts waits here instead of
+ * holding a pooled connection while blocked on the account row lock.
+ */
+@Slf4j
+@Primary
+@Service
+@ConditionalOnProperty(name = "transactions.posting.mode", havingValue = "striped")
+public class StripedTransactionServiceImpl implements TransactionService {
+
+    private final TransactionServiceImpl delegate;
+    private final ReentrantLock[] stripes;
+
+    public StripedTransactionServiceImpl(TransactionServiceImpl delegate,
+                                         @Value("${transactions.posting.stripes:64}") int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("transactions.posting.stripes must be greater than zero");
+        }
+        this.delegate = delegate;
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new ReentrantLock(true);
+        }
+        log.info("Striped posting mode enabled with {} stripes", stripeCount);
+    }
+
+    @Override
+    public Transaction createTransaction(Transaction transaction) {
+        if (transaction.getAccount() == null || transaction.getAccount().getAccountId() == null) {
+            return delegate.createTransaction(transaction);
+        }
+
+        ReentrantLock stripe = stripeFor(transaction.getAccount().getAccountId());
+        stripe.lock();
+        try {
+            return delegate.createTransaction(transaction);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Items are split per stripe so a batch only holds the stripe of the accounts it is posting
+     */
+    @Override
+    public List<TransactionPostingResult> createTransactions(List<Transaction> transactions) {
+        TransactionPostingResult[] results = new TransactionPostingResult[transactions.size()];
+        Map<ReentrantLock, List<Integer>> indexesByStripe = new LinkedHashMap<>();
+        List<Integer> withoutAccount = new ArrayList<>();
+
+        for (int index = 0; index < transactions.size(); index++) {
+            Transaction transaction = transactions.get(index);
+            if (transaction == null || transaction.getAccount() == null
+                    || transaction.getAccount().getAccountId() == null) {
+                withoutAccount.add(index);
+            } else {
+                indexesByStripe.computeIfAbsent(stripeFor(transaction.getAccount().getAccountId()),
+                        stripe -> new ArrayList<>()).add(index);
+            }
+        }
+
+        if (!withoutAccount.isEmpty()) {
+            collect(results, withoutAccount, delegate.createTransactions(select(transactions, withoutAccount)));
+        }
+        indexesByStripe.forEach((stripe, indexes) -> {
+            stripe.lock();
+            try {
+                collect(results, indexes, delegate.createTransactions(select(transactions, indexes)));
+            } finally {
+                stripe.unlock();
+            }
+        });
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public KeysetPage<Transaction> getTransactionsPage(Long afterId, int size) {
+        return delegate.getTransactionsPage(afterId, size);
+    }
+
+    @Override
+    public Optional<Transaction> findTransactionById(Long transactionId) {
+        return delegate.findTransactionById(transactionId);
+    }
+
+    @Override
+    public long exportTransactions(Consumer<Transaction> consumer) {
+        return delegate.exportTransactions(consumer);
+    }
+
+    @Override
+    public Transaction updateTransaction(Long transactionId, Transaction transaction) {
+        return delegate.updateTransaction(transactionId, transaction);
+    }
+
+    @Override
+    public void deleteTransaction(Long transactionId) {
+        delegate.deleteTransaction(transactionId);
+    }
+
+    private List<Transaction> select(List<Transaction> transactions, List<Integer> indexes) {
+        return indexes.stream().map(transactions::get).toList();
+    }
+
+    private void collect(TransactionPostingResult[] results, List<Integer> indexes,
+                         List<TransactionPostingResult> groupResults) {
+        for (TransactionPostingResult result : groupResults) {
+            int index = indexes.get(result.index());
+            results[index] = result.withIndex(index);
+        }
+    }
+
+    private ReentrantLock stripeFor(Long accountId) {
+        return stripes[Math.floorMod(Long.hashCode(accountId), stripes.length)];
+    }
+}
@@ -0,0 +1,94 @@
+package com.pichincha.spfmsaclientecoreservice.service.impl;
+
+import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.exception.ResourceNotFoundException;
+import com.pichincha.spfmsaclientecoreservice.repository.AccountRepository;
+import com.pichincha.spfmsaclientecoreservice.repository.ArchivedTransactionRepository;
+import com.pichincha.spfmsaclientecoreservice.repository.TransactionRepository;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps the transaction table limited to recent movements. Older ones move to transaction_archive and
+ * the account keeps a checkpoint (cutoff and closing balance) that postings and statements start from.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionArchiveServiceImpl implements TransactionArchiveService {
+
+    private static final int DEFAULT_RETENTION_MONTHS = 18;
+
+    private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${transactions.archive.retention-months:" + DEFAULT_RETENTION_MONTHS + "}")
+    private int retentionMonths = DEFAULT_RETENTION_MONTHS;
+
+    @Override
+    @Scheduled(cron = "${transactions.archive.cron:0 30 1 * * *}")
+    public int archiveAgedTransactions() {
+        LocalDateTime cutoff = LocalDate.now().withDayOfMonth(1).minusMonths(retentionMonths).atStartOfDay();
+        return archiveTransactionsBefore(cutoff);
+    }
+
+    @Override
+    public int archiveTransactionsBefore(LocalDateTime cutoff) {
+        List<Long> accountIds = transactionRepository.findAccountIdsWithTransactionsBefore(cutoff);
+        int archived = 0;
+        for (Long accountId : accountIds) {
+            Integer moved = transactionTemplate.execute(status -> archiveAccount(accountId, cutoff));
+            archived += moved != null ? moved : 0;
+        }
+        log.info("Archived {} transactions dated before {} from {} accounts", archived, cutoff, accountIds.size());
+        return archived;
+    }
+
+    /**
+     * Runs under the account row lock, so no posting, update or delete interleaves with the move
+     */
+    private int archiveAccount(Long accountId, LocalDateTime cutoff) {
+        Account account = accountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> {
+                    log.error("Account not found with ID: {}", accountId);
+                    return new ResourceNotFoundException("Account not found with id: " + accountId);
+                });
+
+        // Long.MIN_VALUE: nothing at the cutoff instant itself is archived
+        Long closingBalance = transactionRepository
+                .findBalancesBefore(accountId, cutoff, Long.MIN_VALUE, Limit.of(1))
+                .stream()
+                .findFirst()
+                .orElse(null);
+        if (closingBalance == null) {
+            return 0;
+        }
+
+        int copied = archivedTransactionRepository.archiveBefore(accountId, cutoff);
+        int deleted = transactionRepository.deleteByAccountBefore(accountId, cutoff);
+        if (copied != deleted) {
+            throw new IllegalStateException("Archived " + copied + " transactions but removed " + deleted
+                    + " for account " + accountId);
+        }
+
+        if (account.getArchivedUntil() == null || cutoff.isAfter(account.getArchivedUntil())) {
+            account.setArchivedUntil(cutoff);
+        }
+        account.setArchivedBalance(closingBalance);
+        log.info("Account {} archived {} transactions before {}, closing balance {}",
+                accountId, copied, cutoff, closingBalance);
+        return copied;
+    }
+}
@@ -0,0 +1,128 @@
+package com.pichincha.spfmsaclientecoreservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+import com.pichincha.spfmsaclientecoreservice.model.TransactionBatchItemDTO;
+import com.pichincha.spfmsaclientecoreservice.model.TransactionDTO;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionImportService;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionImportSummary;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionPostingResult;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionService;
+import com.pichincha.spfmsaclientecoreservice.service.mapper.TransactionMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Only one chunk of lines is held in memory: the next chunk is read once the results of the
+ * previous one have been written and the persistence context cleared, so a slow client slows
+ * down the reading instead of piling up results.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionImportServiceImpl implements TransactionImportService {
+
+    private static final int DEFAULT_IMPORT_CHUNK_SIZE = 500;
+
+    private final TransactionService transactionService;
+    private final TransactionMapper transactionMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Value("${transactions.import.chunk-size:" + DEFAULT_IMPORT_CHUNK_SIZE + "}")
+    private int importChunkSize = DEFAULT_IMPORT_CHUNK_SIZE;
+
+    @Override
+    public TransactionImportSummary importTransactions(InputStream input, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        int chunkSize = Math.max(1, importChunkSize);
+        List<ImportLine> chunk = new ArrayList<>(chunkSize);
+        int lineNumber = 0;
+        int processed = 0;
+        int created = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(parse(lineNumber, line));
+            if (chunk.size() == chunkSize) {
+                created += postChunk(chunk, output);
+                processed += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            created += postChunk(chunk, output);
+            processed += chunk.size();
+        }
+
+        int failed = processed - created;
+        log.info("Import finished: {} lines read, {} transactions created, {} failed", lineNumber, created, failed);
+        return new TransactionImportSummary(lineNumber, created, failed);
+    }
+
+    private ImportLine parse(int lineNumber, String line) {
+        try {
+            TransactionDTO transactionDTO = objectMapper.readValue(line, TransactionDTO.class);
+            return new ImportLine(lineNumber, transactionMapper.toEntity(transactionDTO), null);
+        } catch (JsonProcessingException exception) {
+            return new ImportLine(lineNumber, null, "Invalid transaction line: " + exception.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Posts the parsed lines of the chunk and writes their results in line order
+     *
+     * @return number of transactions created
+     */
+    private int postChunk(List<ImportLine> chunk, OutputStream output) throws IOException {
+        List<Transaction> transactions = chunk.stream()
+                .filter(ImportLine::isParsed)
+                .map(ImportLine::transaction)
+                .toList();
+        Iterator<TransactionPostingResult> results = transactionService.createTransactions(transactions).iterator();
+
+        int created = 0;
+        for (ImportLine importLine : chunk) {
+            TransactionBatchItemDTO item = new TransactionBatchItemDTO().index(importLine.lineNumber());
+            TransactionPostingResult result = importLine.isParsed() ? results.next() : null;
+            if (result != null && result.isPosted()) {
+                item.status(TransactionBatchItemDTO.StatusEnum.CREATED)
+                        .transaction(transactionMapper.toSummaryDto(result.transaction()));
+                created++;
+            } else {
+                item.status(TransactionBatchItemDTO.StatusEnum.FAILED)
+                        .error(result != null ? result.error() : importLine.error());
+            }
+            output.write(objectMapper.writeValueAsBytes(item));
+            output.write('\n');
+        }
+        output.flush();
+        entityManager.clear();
+        return created;
+    }
+
+    private record ImportLine(int lineNumber, Transaction transaction, String error) {
+
+        boolean isParsed() {
+            return error == null;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.pichincha.spfmsaclientecoreservice.service.impl;
+
+import com.pichincha.spfmsaclientecoreservice.service.TransactionPartitionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the monthly range partitions of the transaction table ahead of the calendar on PostgreSQL,
+ * where the V2 migration partitions it. Other databases keep a single table and are left untouched.
+ */
+@Slf4j
+@Service
+public class TransactionPartitionServiceImpl implements TransactionPartitionService {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final Clock clock;
+    private volatile Boolean partitioned;
+
+    @Autowired
+    public TransactionPartitionServiceImpl(JdbcTemplate jdbcTemplate,
+                                           @Value("${transactions.partitions.months-ahead:3}") int monthsAhead) {
+        this(jdbcTemplate, monthsAhead, Clock.systemDefaultZone());
+    }
+
+    TransactionPartitionServiceImpl(JdbcTemplate jdbcTemplate, int monthsAhead, Clock clock) {
+        if (monthsAhead < 0) {
+            throw new IllegalArgumentException("transactions.partitions.months-ahead must not be negative");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.clock = clock;
+    }
+
+    @Override
+    @Scheduled(cron = "${transactions.partitions.cron:0 0 1 * * *}")
+    public List<String> createUpcomingPartitions() {
+        if (!isPartitioned()) {
+            return List.of();
+        }
+        YearMonth current = YearMonth.now(clock);
+        List<String> partitions = new ArrayList<>(monthsAhead + 1);
+        for (int offset = 0; offset <= monthsAhead; offset++) {
+            partitions.add(jdbcTemplate.queryForObject("SELECT create_transaction_partition(?)",
+                    String.class, current.plusMonths(offset).atDay(1)));
+        }
+        log.info("Transaction partitions ensured through {}: {}", current.plusMonths(monthsAhead), partitions);
+        return partitions;
+    }
+
+    /**
+     * Months crossed while the service was down are created before postings arrive
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void createPartitionsOnStartup() {
+        try {
+            createUpcomingPartitions();
+        } catch (DataAccessException exception) {
+            log.error("Could not create upcoming transaction partitions: {}", exception.getMessage(), exception);
+        }
+    }
+
+    private boolean isPartitioned() {
+        if (partitioned == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            partitioned = POSTGRESQL.equalsIgnoreCase(product);
+        }
+        return partitioned;
+    }
+}
@@ -7,23 +7,50 @@ import com.pichincha.spfmsaclientecoreservice.exception.InsufficientBalanceExcep
 import com.pichincha.spfmsaclientecoreservice.exception.ResourceNotFoundException;
 import com.pichincha.spfmsaclientecoreservice.repository.AccountRepository;
 import com.pichincha.spfmsaclientecoreservice.repository.TransactionRepository;
+import com.pichincha.spfmsaclientecoreservice.service.HeaderCacheService;
+import com.pichincha.spfmsaclientecoreservice.service.KeysetPage;
+import com.pichincha.spfmsaclientecoreservice.service.StatementCacheService;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionPostingResult;
 import com.pichincha.spfmsaclientecoreservice.service.TransactionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
 
+    private static final int DEFAULT_BATCH_CHUNK_SIZE = 500;
+    private static final int EXPORT_CLEAR_INTERVAL = 1000;
+
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final HeaderCacheService headerCacheService;
+    private final StatementCacheService statementCacheService;
+
+    @Value("${transactions.batch.chunk-size:" + DEFAULT_BATCH_CHUNK_SIZE + "}")
+    private int batchChunkSize = DEFAULT_BATCH_CHUNK_SIZE;
 
     @Override
     @Transactional
@@ -33,29 +60,68 @@ public class TransactionServiceImpl implements TransactionService {
             throw new IllegalArgumentException("Account is required for transaction");
         }
 
-        Long accountId = transaction.getAccount().getAccountId();
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> {
-                    log.error("Account not found with ID: {}", accountId);
-                    return new ResourceNotFoundException("Account not found with id: " + accountId);
-                });
+        Account account = lockAccount(transaction.getAccount().getAccountId());
 
-        Double currentBalance = calculateCurrentBalance(account);
-        Double newBalance = calculateNewBalance(currentBalance, transaction);
+        long currentBalance = calculateCurrentBalance(account);
+        long newBalance = calculateNewBalance(currentBalance, transaction);
 
         transaction.setAccount(account);
-        transaction.setDate(LocalDateTime.now());
+        transaction.setDate(now());
         transaction.setBalance(newBalance);
+        Long previousBalance = account.getCurrentBalance();
+        account.setCurrentBalance(newBalance);
+        markPosted(account, previousBalance);
 
         Transaction savedTransaction = transactionRepository.save(transaction);
+        evictStatements(account, savedTransaction.getDate());
         log.info("Transaction created with ID: {}", savedTransaction.getTransactionId());
         return savedTransaction;
     }
 
+    /**
+     * Each account chunk is posted in its own database transaction holding the account lock once;
+     * rejected items are reported without rolling back the rest of the chunk
+     */
+    @Override
+    public List<TransactionPostingResult> createTransactions(List<Transaction> transactions) {
+        TransactionPostingResult[] results = new TransactionPostingResult[transactions.size()];
+        Map<Long, List<Integer>> indexesByAccount = new LinkedHashMap<>();
+
+        for (int index = 0; index < transactions.size(); index++) {
+            Transaction transaction = transactions.get(index);
+            if (transaction == null || transaction.getAccount() == null
+                    || transaction.getAccount().getAccountId() == null) {
+                results[index] = TransactionPostingResult.failed(index, "Account is required for transaction");
+            } else if (transaction.getTransactionType() == null || transaction.getAmount() == null) {
+                results[index] = TransactionPostingResult.failed(index,
+                        "Transaction type and amount are required for transaction");
+            } else {
+                indexesByAccount.computeIfAbsent(transaction.getAccount().getAccountId(), id -> new ArrayList<>())
+                        .add(index);
+            }
+        }
+
+        int chunkSize = Math.max(1, batchChunkSize);
+        indexesByAccount.forEach((accountId, indexes) -> {
+            for (int from = 0; from < indexes.size(); from += chunkSize) {
+                List<Integer> chunk = indexes.subList(from, Math.min(from + chunkSize, indexes.size()));
+                for (TransactionPostingResult result : postChunk(accountId, chunk, transactions)) {
+                    results[result.index()] = result;
+                }
+            }
+        });
+
+        long posted = Arrays.stream(results).filter(TransactionPostingResult::isPosted).count();
+        log.info("Batch posted: {} of {} transactions on {} accounts",
+                posted, transactions.size(), indexesByAccount.size());
+        return Arrays.asList(results);
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<Transaction> getAllTransactions() {
-        return transactionRepository.findAll();
+    public KeysetPage<Transaction> getTransactionsPage(Long afterId, int size) {
+        List<Transaction> rows = transactionRepository.findPageAfter(afterId, Limit.of(size + 1));
+        return KeysetPage.of(rows, size, Transaction::getTransactionId);
     }
 
     @Override
@@ -64,22 +130,75 @@ public class TransactionServiceImpl implements TransactionService {
         return transactionRepository.findById(transactionId);
     }
 
+    /**
+     * Accounts and clients fetched with the rows are shared between them, so besides detaching each
+     * transaction the persistence context is cleared periodically
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportTransactions(Consumer<Transaction> consumer) {
+        long exported = 0;
+        try (Stream<Transaction> transactions = transactionRepository.streamAllForExport()) {
+            for (Transaction transaction : (Iterable<Transaction>) transactions::iterator) {
+                consumer.accept(transaction);
+                entityManager.detach(transaction);
+                if (++exported % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        log.info("Transactions exported: {}", exported);
+        return exported;
+    }
+
     @Override
     @Transactional
     public Transaction updateTransaction(Long transactionId, Transaction transaction) {
         log.info("Updating transaction ID: {}", transactionId);
 
+        lockAccountOfTransaction(transactionId);
+
         return transactionRepository.findById(transactionId)
                 .map(existingTransaction -> {
                     Account account = existingTransaction.getAccount();
-                    List<Transaction> allTransactions = transactionRepository
-                            .findByAccountOrderByDateAsc(account);
-
-                    existingTransaction.setDate(transaction.getDate());
+                    Long accountId = account.getAccountId();
+
+                    LocalDateTime oldDate = existingTransaction.getDate();
+                    long oldAmount = signedAmount(existingTransaction.getTransactionType(),
+                            existingTransaction.getAmount());
+                    LocalDateTime newDate = transaction.getDate() != null
+                            ? transaction.getDate().truncatedTo(ChronoUnit.MICROS)
+                            : oldDate;
+                    long newAmount = signedAmount(transaction.getTransactionType(), transaction.getAmount());
+
+                    if (account.getArchivedUntil() != null && newDate.isBefore(account.getArchivedUntil())) {
+                        log.error("Transaction {} cannot be moved before the archive cutoff {}",
+                                transactionId, account.getArchivedUntil());
+                        throw new IllegalArgumentException("No se puede mover una transacción al periodo archivado");
+                    }
+
+                    if (newDate.isEqual(oldDate)) {
+                        transactionRepository.shiftBalancesAfter(accountId, oldDate, transactionId,
+                                newAmount - oldAmount);
+                    } else {
+                        transactionRepository.shiftBalancesAfter(accountId, oldDate, transactionId, -oldAmount);
+                    }
+
+                    existingTransaction.setDate(newDate);
                     existingTransaction.setTransactionType(transaction.getTransactionType());
-                    existingTransaction.setAmount(transaction.getAmount());
+                    existingTransaction.setAmount(newAmount);
 
-                    recalculateBalancesFromTransaction(allTransactions, existingTransaction, account);
+                    if (!newDate.isEqual(oldDate)) {
+                        transactionRepository.shiftBalancesAfter(accountId, newDate, transactionId, newAmount);
+                    }
+                    existingTransaction.setBalance(balanceBefore(account, newDate, transactionId) + newAmount);
+
+                    LocalDateTime recalculatedFrom = newDate.isBefore(oldDate) ? newDate : oldDate;
+                    validateBalancesFrom(accountId, recalculatedFrom, transactionId);
+                    Long previousBalance = account.getCurrentBalance();
+                    applyToCurrentBalance(account, newAmount - oldAmount);
+                    markPosted(account, previousBalance);
+                    evictStatements(account, recalculatedFrom);
 
                     Transaction updatedTransaction = transactionRepository.save(existingTransaction);
                     log.info("Transaction updated: {}", updatedTransaction.getTransactionId());
@@ -91,65 +210,13 @@ public class TransactionServiceImpl implements TransactionService {
                 });
     }
 
-    /**
-     * Recalculates balances from modified transaction onwards
-     */
-    private void recalculateBalancesFromTransaction(List<Transaction> allTransactions,
-                                                    Transaction modifiedTransaction,
-                                                    Account account) {
-        allTransactions.sort((t1, t2) -> t1.getDate().compareTo(t2.getDate()));
-
-        boolean foundModified = false;
-        Double previousBalance = account.getInitialBalance();
-
-        for (Transaction trans : allTransactions) {
-            if (!foundModified && !trans.getTransactionId().equals(modifiedTransaction.getTransactionId())) {
-                previousBalance = trans.getBalance();
-            } else {
-                foundModified = true;
-                Double newBalance = calculateNewBalanceForUpdate(previousBalance, trans);
-                trans.setBalance(newBalance);
-                transactionRepository.save(trans);
-                previousBalance = newBalance;
-            }
-        }
-    }
-
-    /**
-     * Calculates new balance during update
-     */
-    private Double calculateNewBalanceForUpdate(Double previousBalance, Transaction transaction) {
-        Double amount = transaction.getAmount();
-        Double newBalance = previousBalance;
-
-        if (transaction.getTransactionType() == TransactionType.WITHDRAWAL) {
-            if (amount > 0) {
-                amount = -amount;
-                transaction.setAmount(amount);
-            }
-            newBalance = previousBalance + amount;
-
-            if (newBalance < 0) {
-                log.error("Insufficient balance. Previous: {}, Amount: {}, Result: {}",
-                        previousBalance, amount, newBalance);
-                throw new InsufficientBalanceException("Saldo no disponible al recalcular transacciones");
-            }
-        } else if (transaction.getTransactionType() == TransactionType.DEPOSIT) {
-            if (amount < 0) {
-                amount = Math.abs(amount);
-                transaction.setAmount(amount);
-            }
-            newBalance = previousBalance + amount;
-        }
-
-        return newBalance;
-    }
-
     @Override
     @Transactional
     public void deleteTransaction(Long transactionId) {
         log.info("Deleting transaction ID: {}", transactionId);
 
+        lockAccountOfTransaction(transactionId);
+
         Transaction transactionToDelete = transactionRepository.findById(transactionId)
                 .orElseThrow(() -> {
                     log.error("Transaction not found with ID: {}", transactionId);
@@ -157,98 +224,212 @@ public class TransactionServiceImpl implements TransactionService {
                 });
 
         Account account = transactionToDelete.getAccount();
+        Long accountId = account.getAccountId();
         LocalDateTime deletedTransactionDate = transactionToDelete.getDate();
+        long deletedAmount = signedAmount(transactionToDelete.getTransactionType(),
+                transactionToDelete.getAmount());
 
-        List<Transaction> allTransactions = transactionRepository
-                .findByAccountOrderByDateAsc(account);
+        transactionRepository.delete(transactionToDelete);
+        transactionRepository.shiftBalancesAfter(accountId, deletedTransactionDate, transactionId, -deletedAmount);
 
-        transactionRepository.deleteById(transactionId);
-        recalculateBalancesAfterDeletion(allTransactions, transactionId, deletedTransactionDate, account);
+        validateBalancesFrom(accountId, deletedTransactionDate, transactionId);
+        Long previousBalance = account.getCurrentBalance();
+        applyToCurrentBalance(account, -deletedAmount);
+        markPosted(account, previousBalance);
+        evictStatements(account, deletedTransactionDate);
+    }
+
+    private List<TransactionPostingResult> postChunk(Long accountId, List<Integer> indexes,
+                                                     List<Transaction> transactions) {
+        try {
+            return transactionTemplate.execute(status -> applyChunk(accountId, indexes, transactions));
+        } catch (RuntimeException exception) {
+            log.error("Batch chunk for account {} failed: {}", accountId, exception.getMessage());
+            return indexes.stream()
+                    .map(index -> TransactionPostingResult.failed(index, exception.getMessage()))
+                    .toList();
+        }
+    }
+
+    private List<TransactionPostingResult> applyChunk(Long accountId, List<Integer> indexes,
+                                                      List<Transaction> transactions) {
+        Account account = lockAccount(accountId);
+        long balance = calculateCurrentBalance(account);
+        LocalDateTime date = now();
+
+        List<Transaction> accepted = new ArrayList<>(indexes.size());
+        List<TransactionPostingResult> results = new ArrayList<>(indexes.size());
+        for (Integer index : indexes) {
+            Transaction transaction = transactions.get(index);
+            try {
+                balance = calculateNewBalance(balance, transaction);
+            } catch (InsufficientBalanceException exception) {
+                results.add(TransactionPostingResult.failed(index, exception.getMessage()));
+                continue;
+            }
+            transaction.setAccount(account);
+            transaction.setDate(date);
+            transaction.setBalance(balance);
+            accepted.add(transaction);
+            results.add(TransactionPostingResult.posted(index, transaction));
+        }
+
+        transactionRepository.saveAll(accepted);
+        Long previousBalance = account.getCurrentBalance();
+        account.setCurrentBalance(balance);
+        if (!accepted.isEmpty()) {
+            markPosted(account, previousBalance);
+            evictStatements(account, date);
+        }
+        return results;
     }
 
     /**
-     * Recalculates balances after transaction deletion
+     * Balance right before the (date, id) position, or the opening balance when nothing precedes it
      */
-    private void recalculateBalancesAfterDeletion(List<Transaction> allTransactions,
-                                                  Long deletedTransactionId,
-                                                  LocalDateTime deletedTransactionDate,
-                                                  Account account) {
-        List<Transaction> subsequentTransactions = allTransactions.stream()
-                .filter(t -> !t.getTransactionId().equals(deletedTransactionId))
-                .filter(t -> t.getDate().isAfter(deletedTransactionDate) ||
-                        t.getDate().isEqual(deletedTransactionDate))
-                .sorted((t1, t2) -> t1.getDate().compareTo(t2.getDate()))
-                .toList();
-
-        if (subsequentTransactions.isEmpty()) {
+    private long balanceBefore(Account account, LocalDateTime date, Long transactionId) {
+        List<Long> balances = transactionRepository.findBalancesBefore(account.getAccountId(), date, transactionId,
+                Limit.of(1));
+        return balances.isEmpty() ? openingBalance(account) : balances.get(0);
+    }
+
+    /**
+     * Balance the history in the transaction table starts from: the archive checkpoint once older
+     * movements were archived, the initial balance otherwise
+     */
+    private long openingBalance(Account account) {
+        return account.getArchivedBalance() != null ? account.getArchivedBalance() : account.getInitialBalance();
+    }
+
+    /**
+     * Rejects the recalculation when any balance from the (date, id) position onwards became negative
+     */
+    private void validateBalancesFrom(Long accountId, LocalDateTime date, Long transactionId) {
+        Long minBalance = transactionRepository.findMinBalanceFrom(accountId, date, transactionId);
+        if (minBalance != null && minBalance < 0) {
+            log.error("Insufficient balance while recalculating account {}. Minimum balance: {}",
+                    accountId, minBalance);
+            throw new InsufficientBalanceException("Saldo no disponible al recalcular transacciones");
+        }
+    }
+
+    /**
+     * Signed amount according to the transaction type: withdrawals are negative, deposits positive
+     */
+    private long signedAmount(TransactionType transactionType, long amount) {
+        if (transactionType == TransactionType.WITHDRAWAL) {
+            return -Math.abs(amount);
+        }
+        if (transactionType == TransactionType.DEPOSIT) {
+            return Math.abs(amount);
+        }
+        return amount;
+    }
+
+    /**
+     * Moves the running balance snapshot by the given delta. Accounts without a snapshot take it
+     * from the latest movement, which already carries the shifted balance
+     */
+    private void applyToCurrentBalance(Account account, long delta) {
+        if (account.getCurrentBalance() != null) {
+            account.setCurrentBalance(account.getCurrentBalance() + delta);
             return;
         }
+        account.setCurrentBalance(calculateCurrentBalance(account));
+    }
+
+    /**
+     * Loads the account header holding a row lock until the surrounding transaction ends,
+     * so concurrent postings on the same account are applied one after the other
+     */
+    private Account lockAccount(Long accountId) {
+        Account account = accountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> {
+                    log.error("Account not found with ID: {}", accountId);
+                    return new ResourceNotFoundException("Account not found with id: " + accountId);
+                });
+        // every posting path locks the account before moving its balance; the header leaves the cache on commit
+        headerCacheService.evictAccount(accountId);
+        return account;
+    }
 
-        Double previousBalance = calculateBalanceBeforeTransaction(
-                allTransactions,
-                subsequentTransactions.get(0),
-                deletedTransactionId,
-                account
-        );
-
-        for (Transaction trans : subsequentTransactions) {
-            Double newBalance = calculateNewBalanceForUpdate(previousBalance, trans);
-            trans.setBalance(newBalance);
-            transactionRepository.save(trans);
-            previousBalance = newBalance;
+    /**
+     * The account version doubles as its posting sequence for ETags: a new balance bumps it on flush,
+     * movements that leave the balance as it was (zero amounts, date-only edits) bump it explicitly.
+     * The row is already held FOR UPDATE and Hibernate ignores weaker lock requests, hence PESSIMISTIC
+     */
+    private void markPosted(Account account, Long previousBalance) {
+        if (Objects.equals(previousBalance, account.getCurrentBalance())) {
+            entityManager.lock(account, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
         }
     }
 
     /**
-     * Calculates balance before a specific transaction (excluding deleted one)
+     * Cached statements of the account's client that reach the movement date leave the cache on commit
      */
-    private Double calculateBalanceBeforeTransaction(List<Transaction> allTransactions,
-                                                     Transaction targetTransaction,
-                                                     Long excludedTransactionId,
-                                                     Account account) {
-        List<Transaction> previousTransactions = allTransactions.stream()
-                .filter(t -> !t.getTransactionId().equals(excludedTransactionId))
-                .filter(t -> !t.getTransactionId().equals(targetTransaction.getTransactionId()))
-                .filter(t -> t.getDate().isBefore(targetTransaction.getDate()))
-                .sorted((t1, t2) -> t1.getDate().compareTo(t2.getDate()))
-                .toList();
-
-        if (previousTransactions.isEmpty()) {
-            return account.getInitialBalance();
+    private void evictStatements(Account account, LocalDateTime from) {
+        if (account.getClient() != null) {
+            statementCacheService.evictClientFrom(account.getClient().getPersonId(), from.toLocalDate());
         }
+    }
 
-        return previousTransactions.get(previousTransactions.size() - 1).getBalance();
+    /**
+     * Locks the account owning the transaction before the transaction itself is loaded
+     */
+    private void lockAccountOfTransaction(Long transactionId) {
+        Long accountId = transactionRepository.findAccountIdByTransactionId(transactionId)
+                .orElseThrow(() -> {
+                    log.error("Transaction not found with ID: {}", transactionId);
+                    return new ResourceNotFoundException("Transaction not found with id: " + transactionId);
+                });
+        lockAccount(accountId);
     }
 
-    private Double calculateCurrentBalance(Account account) {
-        List<Transaction> transactions = account.getTransactions();
+    /**
+     * Current time at the column precision, so in-memory positions compare equal to the stored ones
+     */
+    private LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
 
-        if (transactions.isEmpty()) {
-            return account.getInitialBalance();
+    /**
+     * Reads the running balance snapshot, falling back to the latest movement for accounts not yet backfilled
+     */
+    private long calculateCurrentBalance(Account account) {
+        if (account.getCurrentBalance() != null) {
+            return account.getCurrentBalance();
         }
 
-        return transactions.get(transactions.size() - 1).getBalance();
+        return transactionRepository.findFirstByAccountOrderByDateDescTransactionIdDesc(account)
+                .map(Transaction::getBalance)
+                .orElseGet(() -> openingBalance(account));
     }
 
-    private Double calculateNewBalance(Double currentBalance, Transaction transaction) {
-        Double newBalance = currentBalance;
+    /**
+     * Balance after the movement in cents. The amount is unboxed once and the sum stays in primitive long math
+     */
+    private long calculateNewBalance(long currentBalance, Transaction transaction) {
+        long amount = transaction.getAmount();
+        long newBalance = currentBalance;
 
         if (transaction.getTransactionType() == TransactionType.WITHDRAWAL) {
-            if (transaction.getAmount() > 0) {
-                transaction.setAmount(-transaction.getAmount());
+            if (amount > 0) {
+                amount = -amount;
+                transaction.setAmount(amount);
             }
-            newBalance = currentBalance + transaction.getAmount();
+            newBalance = currentBalance + amount;
 
             if (newBalance < 0) {
                 log.error("Insufficient balance. Current: {}, Withdrawal: {}, Result: {}",
-                        currentBalance, transaction.getAmount(), newBalance);
+                        currentBalance, amount, newBalance);
                 throw new InsufficientBalanceException("Saldo no disponible");
             }
         } else if (transaction.getTransactionType() == TransactionType.DEPOSIT) {
-            if (transaction.getAmount() < 0) {
-                transaction.setAmount(Math.abs(transaction.getAmount()));
+            if (amount < 0) {
+                amount = -amount;
+                transaction.setAmount(amount);
             }
-            newBalance = currentBalance + transaction.getAmount();
+            newBalance = currentBalance + amount;
         }
 
         return newBalance;
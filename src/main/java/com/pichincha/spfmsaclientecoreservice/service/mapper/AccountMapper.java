@@ -5,7 +5,7 @@ import com.pichincha.spfmsaclientecoreservice.model.AccountDTO;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring", uses = {ClientMapper.class})
+@Mapper(componentModel = "spring", uses = {ClientMapper.class, MoneyMapper.class})
 public interface AccountMapper {
 
     @Mapping(source = "client.personId", target = "clientId")
@@ -13,5 +13,9 @@ public interface AccountMapper {
 
     @Mapping(source = "clientId", target = "client.personId")
     @Mapping(target = "transactions", ignore = true)
+    @Mapping(target = "currentBalance", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "archivedUntil", ignore = true)
+    @Mapping(target = "archivedBalance", ignore = true)
     Account toEntity(AccountDTO accountDTO);
 }
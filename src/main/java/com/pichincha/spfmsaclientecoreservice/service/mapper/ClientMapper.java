@@ -13,5 +13,6 @@ public interface ClientMapper {
 
     @Mapping(source = "clientId", target = "personId")
     @Mapping(target = "accounts", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Client toEntity(ClientDTO clientDTO);
 }
@@ -0,0 +1,20 @@
+package com.pichincha.spfmsaclientecoreservice.service.mapper;
+
+import com.pichincha.spfmsaclientecoreservice.domain.Money;
+import org.mapstruct.Mapper;
+
+/**
+ * Convierte los centavos del dominio a los montos decimales de los DTOs y viceversa. Los mappers que lo usan
+ * lo aplican a toda propiedad Long -> Double, en lugar del ensanchamiento que MapStruct haría por defecto
+ */
+@Mapper(componentModel = "spring")
+public interface MoneyMapper {
+
+    default Double toAmount(Long cents) {
+        return cents != null ? Money.toDouble(cents) : null;
+    }
+
+    default Long toCents(Double amount) {
+        return amount != null ? Money.toCents(amount) : null;
+    }
+}
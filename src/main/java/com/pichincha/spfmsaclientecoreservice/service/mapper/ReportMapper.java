@@ -1,43 +1,68 @@
 package com.pichincha.spfmsaclientecoreservice.service.mapper;
 
-import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+import com.pichincha.spfmsaclientecoreservice.domain.Money;
+import com.pichincha.spfmsaclientecoreservice.model.AccountStatementSummaryDTO;
 import com.pichincha.spfmsaclientecoreservice.model.ReportDTO;
+import com.pichincha.spfmsaclientecoreservice.model.ReportJobDTO;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.AccountStatementTotals;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.StatementLine;
+import com.pichincha.spfmsaclientecoreservice.service.ReportJob;
+import com.pichincha.spfmsaclientecoreservice.service.StatementSummary;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = {MoneyMapper.class})
 public interface ReportMapper {
 
-    @Mapping(target = "date", source = "transaction.date")
-    @Mapping(target = "client", expression = "java(getClientName(transaction))")
-    @Mapping(target = "accountNumber", source = "transaction.account.accountNumber")
-    @Mapping(target = "type", source = "transaction.account.accountType")
-    @Mapping(target = "initialBalance", expression = "java(transaction.getAccount().getInitialBalance())")
-    @Mapping(target = "status", expression = "java(transaction.getAccount().getStatus())")
-    @Mapping(target = "movement", source = "transaction.amount")
-    @Mapping(target = "availableBalance", source = "transaction.balance")
+    @Mapping(target = "client", source = "clientName")
+    @Mapping(target = "type", source = "accountType")
+    @Mapping(target = "movement", source = "amount")
+    @Mapping(target = "availableBalance", source = "balance")
     @Mapping(target = "totalDebits", ignore = true)
     @Mapping(target = "totalCredits", ignore = true)
-    ReportDTO toDto(Transaction transaction);
+    ReportDTO toDto(StatementLine line);
 
-    default String getClientName(Transaction transaction) {
-        if (transaction.getAccount() != null && transaction.getAccount().getClient() != null) {
-            return transaction.getAccount().getClient().getName();
+    default List<ReportDTO> toStatementFromLines(List<StatementLine> lines) {
+        StatementSummary summary = StatementSummary.ofLines(lines);
+        Double totalDebits = summary.totalWithdrawals();
+        Double totalCredits = summary.totalDeposits();
+
+        List<ReportDTO> reports = new ArrayList<>(lines.size());
+        for (StatementLine line : lines) {
+            ReportDTO report = toDto(line);
+            report.setTotalDebits(totalDebits);
+            report.setTotalCredits(totalCredits);
+            reports.add(report);
         }
-        return null;
+        return reports;
+    }
+
+    default AccountStatementSummaryDTO toSummaryDto(AccountStatementTotals totals) {
+        return new AccountStatementSummaryDTO()
+                .accountId(totals.accountId())
+                .accountNumber(totals.accountNumber())
+                .type(totals.accountType() != null ? totals.accountType().name() : null)
+                .openingBalance(Money.toDouble(totals.openingBalance()))
+                .totalDeposits(Money.toDouble(totals.deposits()))
+                .totalWithdrawals(Money.toDouble(totals.withdrawals()))
+                .closingBalance(Money.toDouble(totals.closingBalance()))
+                .movements(totals.movements());
     }
 
-    default ReportDTO toDto(
-            Transaction transaction,
-            BigDecimal totalDebits,
-            BigDecimal totalCredits
-    ) {
-        ReportDTO report = toDto(transaction);
-        report.setTotalDebits(totalDebits != null ? totalDebits.doubleValue() : null);
-        report.setTotalCredits(totalCredits != null ? totalCredits.doubleValue() : null);
-        return report;
+    default ReportJobDTO toJobDto(ReportJob job) {
+        return new ReportJobDTO()
+                .jobId(job.jobId())
+                .status(ReportJobDTO.StatusEnum.fromValue(job.status().name()))
+                .clientId(job.clientId())
+                .startDate(job.startDate())
+                .endDate(job.endDate())
+                .createdAt(job.createdAt().atOffset(ZoneOffset.UTC))
+                .completedAt(job.completedAt() != null ? job.completedAt().atOffset(ZoneOffset.UTC) : null)
+                .error(job.error());
     }
 }
 
@@ -1,23 +1,52 @@
 package com.pichincha.spfmsaclientecoreservice.service.mapper;
 
 import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+import com.pichincha.spfmsaclientecoreservice.model.TransactionBatchItemDTO;
+import com.pichincha.spfmsaclientecoreservice.model.TransactionBatchResultDTO;
 import com.pichincha.spfmsaclientecoreservice.model.TransactionDTO;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionPostingResult;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.List;
 
-@Mapper(componentModel = "spring", uses = {AccountMapper.class})
+@Mapper(componentModel = "spring", uses = {AccountMapper.class, MoneyMapper.class})
 public interface TransactionMapper {
 
     @Mapping(source = "account.accountId", target = "accountId")
     TransactionDTO toDto(Transaction transaction);
 
+    @Named("summary")
+    @Mapping(source = "account.accountId", target = "accountId")
+    @Mapping(target = "account", ignore = true)
+    TransactionDTO toSummaryDto(Transaction transaction);
+
     @Mapping(source = "accountId", target = "account.accountId")
     Transaction toEntity(TransactionDTO transactionDTO);
 
+    default TransactionBatchResultDTO toBatchResultDto(List<TransactionPostingResult> results) {
+        int succeeded = (int) results.stream().filter(TransactionPostingResult::isPosted).count();
+        return new TransactionBatchResultDTO()
+                .total(results.size())
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results.stream().map(this::toBatchItemDto).toList());
+    }
+
+    default TransactionBatchItemDTO toBatchItemDto(TransactionPostingResult result) {
+        return new TransactionBatchItemDTO()
+                .index(result.index())
+                .status(result.isPosted()
+                        ? TransactionBatchItemDTO.StatusEnum.CREATED
+                        : TransactionBatchItemDTO.StatusEnum.FAILED)
+                .transaction(result.isPosted() ? toDto(result.transaction()) : null)
+                .error(result.error());
+    }
+
     default OffsetDateTime map(LocalDateTime dateTime) {
         return dateTime == null ? null : dateTime.atOffset(ZoneOffset.UTC);
     }
@@ -0,0 +1,27 @@
+-- =====================================================================
+-- Bases creadas antes de Flyway con ddl-auto: update. Se registran con baseline
+-- en V1 sin ejecutarlo, así que pueden faltar las secuencias y las columnas que
+-- agregó V1. En una base creada por V1 no cambia nada
+-- SQL común a PostgreSQL y H2
+-- =====================================================================
+
+-- Los IDs existentes los generaban columnas IDENTITY; el valor de cada secuencia
+-- se ajusta a esos IDs en V1.2 (propio de cada motor)
+CREATE SEQUENCE IF NOT EXISTS client_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS account_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS transaction_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE account ADD COLUMN IF NOT EXISTS current_balance DOUBLE PRECISION;
+ALTER TABLE account ADD COLUMN IF NOT EXISTS version BIGINT;
+
+-- Saldo actual: el del último movimiento de la cuenta, o el inicial si no tiene movimientos
+UPDATE account a SET current_balance = COALESCE(
+    (SELECT t.balance FROM transaction t
+     WHERE t.account_id = a.account_id
+     ORDER BY t.date DESC, t.transaction_id DESC
+     FETCH FIRST 1 ROW ONLY),
+    a.initial_balance)
+WHERE current_balance IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_transaction_account_date ON transaction (account_id, date, transaction_id);
+CREATE INDEX IF NOT EXISTS idx_account_client ON account (client_id);
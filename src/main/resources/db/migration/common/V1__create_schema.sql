@@ -0,0 +1,52 @@
+-- =====================================================================
+-- Esquema inicial (equivalente al que generaba ddl-auto: update a partir de las entidades)
+-- SQL común a PostgreSQL y H2
+-- =====================================================================
+
+-- Identificadores pooled: el incremento debe coincidir con allocationSize de JPA
+CREATE SEQUENCE client_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE account_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE transaction_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE client (
+    person_id       BIGINT       NOT NULL,
+    name            VARCHAR(100) NOT NULL,
+    gender          VARCHAR(10),
+    age             INTEGER,
+    identification  VARCHAR(20)  NOT NULL,
+    address         VARCHAR(200),
+    phone           VARCHAR(20),
+    password        VARCHAR(100) NOT NULL,
+    status          BOOLEAN      NOT NULL,
+    CONSTRAINT pk_client PRIMARY KEY (person_id),
+    CONSTRAINT uk_client_identification UNIQUE (identification)
+);
+
+CREATE TABLE account (
+    account_id      BIGINT           NOT NULL,
+    account_number  VARCHAR(20)      NOT NULL,
+    account_type    VARCHAR(20)      NOT NULL,
+    initial_balance DOUBLE PRECISION NOT NULL,
+    current_balance DOUBLE PRECISION,
+    status          BOOLEAN          NOT NULL,
+    version         BIGINT,
+    client_id       BIGINT           NOT NULL,
+    CONSTRAINT pk_account PRIMARY KEY (account_id),
+    CONSTRAINT uk_account_number UNIQUE (account_number),
+    CONSTRAINT fk_account_client FOREIGN KEY (client_id) REFERENCES client (person_id)
+);
+
+CREATE TABLE transaction (
+    transaction_id   BIGINT           NOT NULL,
+    date             TIMESTAMP(6)     NOT NULL,
+    transaction_type VARCHAR(20)      NOT NULL,
+    amount           DOUBLE PRECISION NOT NULL,
+    balance          DOUBLE PRECISION NOT NULL,
+    account_id       BIGINT           NOT NULL,
+    CONSTRAINT pk_transaction PRIMARY KEY (transaction_id),
+    CONSTRAINT fk_transaction_account FOREIGN KEY (account_id) REFERENCES account (account_id)
+);
+
+-- Mismos nombres que @Table(indexes) en las entidades
+CREATE INDEX idx_transaction_account_date ON transaction (account_id, date, transaction_id);
+CREATE INDEX idx_account_client ON account (client_id);
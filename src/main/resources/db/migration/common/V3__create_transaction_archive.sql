@@ -0,0 +1,21 @@
+-- =====================================================================
+-- Archivo de movimientos antiguos (solo lectura para estados de cuenta)
+-- =====================================================================
+
+-- Checkpoint por cuenta: fecha de corte del archivo y saldo al cierre del último movimiento archivado
+ALTER TABLE account ADD COLUMN archived_until TIMESTAMP(6);
+ALTER TABLE account ADD COLUMN archived_balance DOUBLE PRECISION;
+
+-- Movimientos anteriores al corte; se insertan una sola vez y no se actualizan
+CREATE TABLE transaction_archive (
+    transaction_id   BIGINT           NOT NULL,
+    date             TIMESTAMP(6)     NOT NULL,
+    transaction_type VARCHAR(20)      NOT NULL,
+    amount           DOUBLE PRECISION NOT NULL,
+    balance          DOUBLE PRECISION NOT NULL,
+    account_id       BIGINT           NOT NULL,
+    CONSTRAINT pk_transaction_archive PRIMARY KEY (transaction_id),
+    CONSTRAINT fk_transaction_archive_account FOREIGN KEY (account_id) REFERENCES account (account_id)
+);
+
+CREATE INDEX idx_transaction_archive_account_date ON transaction_archive (account_id, date, transaction_id);
@@ -0,0 +1,14 @@
+-- =====================================================================
+-- Montos como NUMERIC(19,2): la aplicación los maneja en centavos (long) y
+-- la base los guarda exactos, sin la deriva de DOUBLE PRECISION
+-- =====================================================================
+
+ALTER TABLE account ALTER COLUMN initial_balance SET DATA TYPE NUMERIC(19,2);
+ALTER TABLE account ALTER COLUMN current_balance SET DATA TYPE NUMERIC(19,2);
+ALTER TABLE account ALTER COLUMN archived_balance SET DATA TYPE NUMERIC(19,2);
+
+ALTER TABLE transaction ALTER COLUMN amount SET DATA TYPE NUMERIC(19,2);
+ALTER TABLE transaction ALTER COLUMN balance SET DATA TYPE NUMERIC(19,2);
+
+ALTER TABLE transaction_archive ALTER COLUMN amount SET DATA TYPE NUMERIC(19,2);
+ALTER TABLE transaction_archive ALTER COLUMN balance SET DATA TYPE NUMERIC(19,2);
@@ -0,0 +1,6 @@
+-- =====================================================================
+-- Versión del cliente: bloqueo optimista y base del ETag de /clients/{id}
+-- (las cuentas ya tienen su columna version desde V1)
+-- =====================================================================
+
+ALTER TABLE client ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,11 @@
+-- =====================================================================
+-- Versión de la cuenta obligatoria, igual que la del cliente (V5): una versión
+-- nula rompe el bloqueo optimista, el incremento forzado al registrar
+-- movimientos y los ETag. V1 ya aplicado no se modifica (checksum de Flyway)
+-- =====================================================================
+
+-- filas heredadas de bases registradas con baseline (ddl-auto: update) o creadas sin versión
+UPDATE account SET version = 0 WHERE version IS NULL;
+
+ALTER TABLE account ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE account ALTER COLUMN version SET NOT NULL;
@@ -0,0 +1,19 @@
+-- =====================================================================
+-- Secuencias por delante de los IDs existentes (solo H2; ver postgresql/V1.2)
+-- pooled (INCREMENT BY 50): el valor devuelto es el último ID de un bloque de 50
+-- =====================================================================
+
+ALTER SEQUENCE client_seq RESTART WITH (
+    SELECT GREATEST(COALESCE(MAX(person_id), 0) + 50,
+                    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'CLIENT_SEQ'))
+    FROM client);
+
+ALTER SEQUENCE account_seq RESTART WITH (
+    SELECT GREATEST(COALESCE(MAX(account_id), 0) + 50,
+                    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'ACCOUNT_SEQ'))
+    FROM account);
+
+ALTER SEQUENCE transaction_seq RESTART WITH (
+    SELECT GREATEST(COALESCE(MAX(transaction_id), 0) + 50,
+                    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'TRANSACTION_SEQ'))
+    FROM transaction);
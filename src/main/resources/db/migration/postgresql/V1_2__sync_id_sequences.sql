@@ -0,0 +1,33 @@
+-- =====================================================================
+-- Secuencias por delante de los IDs existentes (solo PostgreSQL)
+-- En bases anteriores a Flyway los IDs venían de columnas IDENTITY y las
+-- secuencias, si ddl-auto: update ya las había creado, empezaban en 1
+-- =====================================================================
+
+DO $$
+DECLARE
+    target  RECORD;
+    max_id  BIGINT;
+    next_id BIGINT;
+BEGIN
+    FOR target IN SELECT *
+                  FROM (VALUES ('client_seq', 'client', 'person_id'),
+                               ('account_seq', 'account', 'account_id'),
+                               ('transaction_seq', 'transaction', 'transaction_id'),
+                               ('transaction_seq', 'transaction_archive', 'transaction_id')) AS t (seq, tbl, col) LOOP
+        IF to_regclass(target.tbl) IS NULL THEN
+            CONTINUE;
+        END IF;
+        -- los IDs los asigna Hibernate desde la secuencia, como en V1
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN %I DROP IDENTITY IF EXISTS', target.tbl, target.col);
+        EXECUTE format('SELECT COALESCE(MAX(%I), 0) FROM %I', target.col, target.tbl) INTO max_id;
+        EXECUTE format('SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM %I', target.seq)
+            INTO next_id;
+        -- pooled (INCREMENT BY 50): el valor devuelto es el último ID de un bloque de 50;
+        -- la secuencia solo avanza, nunca vuelve a entregar un bloque ya usado
+        IF max_id + 50 > next_id THEN
+            PERFORM setval(target.seq, max_id + 50, false);
+        END IF;
+    END LOOP;
+END;
+$$;
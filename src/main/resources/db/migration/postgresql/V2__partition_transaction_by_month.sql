@@ -0,0 +1,82 @@
+-- =====================================================================
+-- Particionado mensual de transaction por rango de fecha (solo PostgreSQL)
+-- Las consultas acotadas por fecha (estados de cuenta) leen solo los meses que tocan
+-- =====================================================================
+
+-- La tabla actual se renombra junto con sus índices para liberar los nombres
+ALTER TABLE transaction RENAME TO transaction_unpartitioned;
+ALTER INDEX IF EXISTS pk_transaction RENAME TO pk_transaction_unpartitioned;
+ALTER INDEX IF EXISTS transaction_pkey RENAME TO transaction_unpartitioned_pkey;
+ALTER INDEX IF EXISTS idx_transaction_account_date RENAME TO idx_transaction_unpartitioned_account_date;
+
+-- La clave primaria de una tabla particionada debe incluir la columna de partición
+CREATE TABLE transaction (
+    transaction_id   BIGINT           NOT NULL,
+    date             TIMESTAMP(6)     NOT NULL,
+    transaction_type VARCHAR(20)      NOT NULL,
+    amount           DOUBLE PRECISION NOT NULL,
+    balance          DOUBLE PRECISION NOT NULL,
+    account_id       BIGINT           NOT NULL,
+    CONSTRAINT pk_transaction PRIMARY KEY (transaction_id, date),
+    CONSTRAINT fk_transaction_account FOREIGN KEY (account_id) REFERENCES account (account_id)
+) PARTITION BY RANGE (date);
+
+-- Se propaga a cada partición
+CREATE INDEX idx_transaction_account_date ON transaction (account_id, date, transaction_id);
+
+-- Recibe las fechas fuera de los meses creados; debe quedar vacía
+CREATE TABLE transaction_default PARTITION OF transaction DEFAULT;
+
+-- Crea (si no existe) la partición transaction_AAAA_MM del mes que contiene month_start
+CREATE FUNCTION create_transaction_partition(month_start DATE) RETURNS TEXT AS $$
+DECLARE
+    first_day      DATE := date_trunc('month', month_start)::DATE;
+    partition_name TEXT := 'transaction_' || to_char(first_day, 'YYYY_MM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF transaction FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, first_day, (first_day + INTERVAL '1 month')::DATE);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Separa la partición del mes para archivarla; queda como tabla independiente con sus filas.
+-- Devuelve NULL si la partición no existe o ya fue separada
+CREATE FUNCTION detach_transaction_partition(month_start DATE) RETURNS TEXT AS $$
+DECLARE
+    partition_name TEXT := 'transaction_' || to_char(date_trunc('month', month_start), 'YYYY_MM');
+BEGIN
+    IF NOT EXISTS (SELECT 1
+                   FROM pg_inherits i
+                   JOIN pg_class c ON c.oid = i.inhrelid
+                   WHERE i.inhparent = 'transaction'::regclass
+                     AND c.relname = partition_name) THEN
+        RETURN NULL;
+    END IF;
+    EXECUTE format('ALTER TABLE transaction DETACH PARTITION %I', partition_name);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Meses con datos existentes y hasta tres meses después del actual
+DO $$
+DECLARE
+    first_month DATE;
+    last_month  DATE;
+BEGIN
+    SELECT LEAST(date_trunc('month', MIN(date)), date_trunc('month', CURRENT_DATE))::DATE,
+           GREATEST(date_trunc('month', MAX(date)), date_trunc('month', CURRENT_DATE + INTERVAL '3 months'))::DATE
+    INTO first_month, last_month
+    FROM transaction_unpartitioned;
+
+    WHILE first_month <= last_month LOOP
+        PERFORM create_transaction_partition(first_month);
+        first_month := (first_month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$;
+
+INSERT INTO transaction (transaction_id, date, transaction_type, amount, balance, account_id)
+SELECT transaction_id, date, transaction_type, amount, balance, account_id
+FROM transaction_unpartitioned;
+
+DROP TABLE transaction_unpartitioned;
@@ -0,0 +1,30 @@
+-- =====================================================================
+-- Separar una partición mensual solo cuando el archivado ya la vació
+-- Sus movimientos deben estar en transaction_archive y cubiertos por el checkpoint
+-- archived_until / archived_balance de cada cuenta; si no, saldos y estados perderían el mes
+-- =====================================================================
+
+-- Devuelve NULL si la partición no existe o ya fue separada; falla (SQLSTATE 55000) si aún tiene movimientos
+CREATE OR REPLACE FUNCTION detach_transaction_partition(month_start DATE) RETURNS TEXT AS $$
+DECLARE
+    partition_name TEXT := 'transaction_' || to_char(date_trunc('month', month_start), 'YYYY_MM');
+    has_rows       BOOLEAN;
+BEGIN
+    IF NOT EXISTS (SELECT 1
+                   FROM pg_inherits i
+                   JOIN pg_class c ON c.oid = i.inhrelid
+                   WHERE i.inhparent = 'transaction'::regclass
+                     AND c.relname = partition_name) THEN
+        RETURN NULL;
+    END IF;
+    -- nadie escribe en el mes entre la comprobación y la separación; las lecturas siguen
+    EXECUTE format('LOCK TABLE %I IN EXCLUSIVE MODE', partition_name);
+    EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I)', partition_name) INTO has_rows;
+    IF has_rows THEN
+        RAISE EXCEPTION 'La partición % tiene movimientos sin archivar', partition_name
+            USING ERRCODE = 'object_not_in_prerequisite_state';
+    END IF;
+    EXECUTE format('ALTER TABLE transaction DETACH PARTITION %I', partition_name);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
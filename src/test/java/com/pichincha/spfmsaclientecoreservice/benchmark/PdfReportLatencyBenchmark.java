@@ -0,0 +1,123 @@
+package com.pichincha.spfmsaclientecoreservice.benchmark;
+
+import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+import com.pichincha.spfmsaclientecoreservice.domain.enums.TransactionType;
+import com.pichincha.spfmsaclientecoreservice.integration.TestData;
+import com.pichincha.spfmsaclientecoreservice.service.AccountService;
+import com.pichincha.spfmsaclientecoreservice.service.ClientService;
+import com.pichincha.spfmsaclientecoreservice.service.PdfReportService;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Reports p50/p99 latency of GET /reports/pdf compiling the layout on every request (the previous
+ * behaviour, forced through invalidateCompiledReport) against the cached compiled report.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PdfReportLatencyBenchmark {
+
+    private static final int WARMUP_REQUESTS = 20;
+    private static final int MEASURED_REQUESTS = 200;
+    private static final int MOVEMENTS = 60;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PdfReportService pdfReportService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    @DisplayName("GET /reports/pdf latency - compile per request vs cached report")
+    void pdfLatency() throws Exception {
+        Long clientId = createStatement();
+        LocalDate today = LocalDate.now();
+        RequestBuilder request = get("/reports/pdf")
+                .param("clientId", clientId.toString())
+                .param("startDate", today.minusDays(1).toString())
+                .param("endDate", today.plusDays(1).toString());
+
+        long[] compilePerRequest = measure(request, true);
+        long[] cached = measure(request, false);
+
+        System.out.printf("%n=== GET /reports/pdf latency (%d requests, %d movements) ===%n",
+                MEASURED_REQUESTS, MOVEMENTS);
+        System.out.printf("compile per request : p50 %7.1f ms   p99 %7.1f ms%n",
+                percentile(compilePerRequest, 50), percentile(compilePerRequest, 99));
+        System.out.printf("cached report       : p50 %7.1f ms   p99 %7.1f ms%n%n",
+                percentile(cached, 50), percentile(cached, 99));
+    }
+
+    private long[] measure(RequestBuilder request, boolean compilePerRequest) throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            perform(request, compilePerRequest);
+        }
+        long[] latencies = new long[MEASURED_REQUESTS];
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            long start = System.nanoTime();
+            perform(request, compilePerRequest);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private void perform(RequestBuilder request, boolean compilePerRequest) throws Exception {
+        if (compilePerRequest) {
+            pdfReportService.invalidateCompiledReport();
+        }
+        mockMvc.perform(request).andExpect(status().isOk());
+    }
+
+    private double percentile(long[] sortedNanos, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private Long createStatement() {
+        Account account = TestData.createAccount(clientService, accountService, "Benchmark Report", 100_000L);
+        Long accountId = account.getAccountId();
+
+        List<Transaction> movements = new ArrayList<>();
+        for (int i = 0; i < MOVEMENTS; i++) {
+            Account reference = new Account();
+            reference.setAccountId(accountId);
+            Transaction transaction = new Transaction();
+            transaction.setAccount(reference);
+            transaction.setTransactionType(i % 3 == 0 ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT);
+            transaction.setAmount(1000L);
+            movements.add(transaction);
+        }
+        transactionService.createTransactions(movements);
+        return account.getClient().getPersonId();
+    }
+}
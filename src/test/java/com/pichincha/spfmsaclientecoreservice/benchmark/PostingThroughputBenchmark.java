@@ -0,0 +1,122 @@
+package com.pichincha.spfmsaclientecoreservice.benchmark;
+
+import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.domain.Client;
+import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+import com.pichincha.spfmsaclientecoreservice.domain.enums.TransactionType;
+import com.pichincha.spfmsaclientecoreservice.integration.TestData;
+import com.pichincha.spfmsaclientecoreservice.repository.AccountRepository;
+import com.pichincha.spfmsaclientecoreservice.service.AccountService;
+import com.pichincha.spfmsaclientecoreservice.service.ClientService;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionService;
+import com.pichincha.spfmsaclientecoreservice.service.impl.StripedTransactionServiceImpl;
+import com.pichincha.spfmsaclientecoreservice.service.impl.TransactionServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares posting throughput of the database row-lock path against the striped in-memory
+ * sequencer on a few hot accounts. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class PostingThroughputBenchmark {
+
+    private static final int THREADS = 32;
+    private static final int HOT_ACCOUNTS = 4;
+    private static final int WARMUP_POSTINGS = 400;
+    private static final int MEASURED_POSTINGS = 4000;
+
+    @Autowired
+    private TransactionServiceImpl databaseLockService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    @DisplayName("Posting throughput - database lock vs striped sequencer")
+    void compareThroughput() throws Exception {
+        TransactionService stripedService = new StripedTransactionServiceImpl(databaseLockService, 64);
+
+        double databaseLockRate = measure("database-lock", databaseLockService);
+        double stripedRate = measure("striped", stripedService);
+
+        System.out.printf("%n=== Posting throughput (%d threads, %d hot accounts, %d postings) ===%n",
+                THREADS, HOT_ACCOUNTS, MEASURED_POSTINGS);
+        System.out.printf("database-lock : %10.1f postings/s%n", databaseLockRate);
+        System.out.printf("striped       : %10.1f postings/s%n", stripedRate);
+        System.out.printf("speed-up      : %10.2fx%n%n", stripedRate / databaseLockRate);
+    }
+
+    private double measure(String label, TransactionService service) throws Exception {
+        List<Long> accountIds = createAccounts(label);
+        run(service, accountIds, WARMUP_POSTINGS);
+
+        long start = System.nanoTime();
+        run(service, accountIds, MEASURED_POSTINGS);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        double expectedPerAccount = (WARMUP_POSTINGS + MEASURED_POSTINGS) / (double) HOT_ACCOUNTS;
+        for (Long accountId : accountIds) {
+            Account account = accountRepository.findHeaderById(accountId).orElseThrow();
+            assertThat(account.getCurrentBalance()).isEqualTo(expectedPerAccount);
+        }
+        return MEASURED_POSTINGS / seconds;
+    }
+
+    private void run(TransactionService service, List<Long> accountIds, int postings) throws Exception {
+        List<Callable<Transaction>> tasks = new ArrayList<>(postings);
+        for (int i = 0; i < postings; i++) {
+            Long accountId = accountIds.get(i % accountIds.size());
+            tasks.add(() -> {
+                Account reference = new Account();
+                reference.setAccountId(accountId);
+
+                Transaction transaction = new Transaction();
+                transaction.setAccount(reference);
+                transaction.setTransactionType(TransactionType.DEPOSIT);
+                transaction.setAmount(100L);
+                return service.createTransaction(transaction);
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Transaction> result : executor.invokeAll(tasks)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private List<Long> createAccounts(String label) {
+        Client client = TestData.createClient(clientService, "Benchmark " + label);
+
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < HOT_ACCOUNTS; i++) {
+            accountIds.add(TestData.createAccount(accountService, client, 0L).getAccountId());
+        }
+        return accountIds;
+    }
+}
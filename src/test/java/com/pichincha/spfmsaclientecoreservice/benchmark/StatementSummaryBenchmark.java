@@ -0,0 +1,122 @@
+package com.pichincha.spfmsaclientecoreservice.benchmark;
+
+import com.pichincha.spfmsaclientecoreservice.model.ReportDTO;
+import com.pichincha.spfmsaclientecoreservice.service.StatementSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the previous multi-pass statement totals (boxed BigDecimal streams in the controller plus
+ * the PDF stream passes) against the single-pass {@link StatementSummary} over 100k-row statements.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class StatementSummaryBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int ACCOUNTS = 8;
+    private static final int WARMUP_ITERATIONS = 30;
+    private static final int MEASURED_ITERATIONS = 100;
+
+    private static volatile double sink;
+
+    @Test
+    @DisplayName("Statement totals - multi-pass streams vs single-pass summary")
+    void compareAggregation() {
+        List<ReportDTO> reports = createStatement();
+
+        double multiPassMicros = measure(() -> multiPass(reports));
+        double singlePassMicros = measure(() -> singlePass(reports));
+
+        StatementSummary summary = StatementSummary.ofReports(reports);
+        assertThat(summary.totalWithdrawals()).isEqualTo(debitsWithBigDecimal(reports).doubleValue());
+
+        System.out.printf("%n=== Statement totals (%d rows, %d accounts) ===%n", ROWS, ACCOUNTS);
+        System.out.printf("multi-pass  : %10.1f us/op%n", multiPassMicros);
+        System.out.printf("single-pass : %10.1f us/op%n", singlePassMicros);
+        System.out.printf("speed-up    : %10.2fx%n%n", multiPassMicros / singlePassMicros);
+    }
+
+    private double measure(Runnable aggregation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            aggregation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            aggregation.run();
+        }
+        return (System.nanoTime() - start) / 1_000.0 / MEASURED_ITERATIONS;
+    }
+
+    private void singlePass(List<ReportDTO> reports) {
+        StatementSummary summary = StatementSummary.ofReports(reports);
+        sink = summary.totalWithdrawals() + summary.totalDeposits()
+                + summary.totalInitialBalance() + summary.maxAvailableBalance() + summary.accountCount();
+    }
+
+    private void multiPass(List<ReportDTO> reports) {
+        BigDecimal totalDebits = debitsWithBigDecimal(reports);
+        BigDecimal totalCredits = reports.stream()
+                .filter(report -> report.getMovement() > 0)
+                .map(report -> BigDecimal.valueOf(report.getMovement()))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        Map<String, List<ReportDTO>> grouped = new LinkedHashMap<>();
+        for (ReportDTO report : reports) {
+            grouped.computeIfAbsent(report.getAccountNumber() + "-" + report.getType(), k -> new ArrayList<>()).add(report);
+        }
+        double totalInitialBalance = grouped.values().stream()
+                .mapToDouble(list -> list.get(0).getInitialBalance())
+                .sum();
+        double totalDeposits = reports.stream()
+                .mapToDouble(report -> report.getMovement() > 0.0 ? report.getMovement() : 0.0)
+                .sum();
+        double totalWithdrawals = Math.abs(reports.stream()
+                .mapToDouble(report -> report.getMovement() < 0.0 ? report.getMovement() : 0.0)
+                .sum());
+        double totalFinalBalance = reports.stream()
+                .mapToDouble(ReportDTO::getAvailableBalance)
+                .max()
+                .orElse(0.0);
+
+        sink = totalDebits.doubleValue() + totalCredits.doubleValue() + totalInitialBalance
+                + totalDeposits + totalWithdrawals + totalFinalBalance + grouped.size();
+    }
+
+    private BigDecimal debitsWithBigDecimal(List<ReportDTO> reports) {
+        return reports.stream()
+                .filter(report -> report.getMovement() < 0)
+                .map(report -> BigDecimal.valueOf(Math.abs(report.getMovement())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private List<ReportDTO> createStatement() {
+        Random random = new Random(42);
+        double[] balances = new double[ACCOUNTS];
+        List<ReportDTO> reports = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            int account = i % ACCOUNTS;
+            double movement = (random.nextInt(200_00) - 100_00) / 100.0;
+            balances[account] += movement;
+
+            ReportDTO report = new ReportDTO();
+            report.setAccountNumber("BM" + account);
+            report.setType(account % 2 == 0 ? "SAVINGS" : "CHECKING");
+            report.setInitialBalance(1000.0);
+            report.setMovement(movement);
+            report.setAvailableBalance(1000.0 + balances[account]);
+            reports.add(report);
+        }
+        return reports;
+    }
+}
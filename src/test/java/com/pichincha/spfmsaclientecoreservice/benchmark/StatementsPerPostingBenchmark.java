@@ -0,0 +1,100 @@
+package com.pichincha.spfmsaclientecoreservice.benchmark;
+
+import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+import com.pichincha.spfmsaclientecoreservice.domain.enums.TransactionType;
+import com.pichincha.spfmsaclientecoreservice.integration.TestData;
+import com.pichincha.spfmsaclientecoreservice.repository.AccountRepository;
+import com.pichincha.spfmsaclientecoreservice.repository.TransactionRepository;
+import com.pichincha.spfmsaclientecoreservice.service.AccountService;
+import com.pichincha.spfmsaclientecoreservice.service.ClientService;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reports prepared JDBC statements per posting, for single postings through the service and for
+ * a bulk insert of movements in one transaction. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class StatementsPerPostingBenchmark {
+
+    private static final int POSTINGS = 500;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Statements per posting - single postings and bulk insert")
+    void statementsPerPosting() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Long accountId = TestData.createAccount(clientService, accountService, "Statements Client", 0L).getAccountId();
+
+        statistics.clear();
+        for (int i = 0; i < POSTINGS; i++) {
+            Account reference = new Account();
+            reference.setAccountId(accountId);
+
+            Transaction transaction = new Transaction();
+            transaction.setAccount(reference);
+            transaction.setTransactionType(TransactionType.DEPOSIT);
+            transaction.setAmount(100L);
+            transactionService.createTransaction(transaction);
+        }
+        double singlePostings = statistics.getPrepareStatementCount() / (double) POSTINGS;
+
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            Account account = accountRepository.getReferenceById(accountId);
+            List<Transaction> movements = new ArrayList<>(POSTINGS);
+            LocalDateTime date = LocalDateTime.now();
+            for (int i = 0; i < POSTINGS; i++) {
+                Transaction transaction = new Transaction();
+                transaction.setAccount(account);
+                transaction.setTransactionType(TransactionType.DEPOSIT);
+                transaction.setAmount(100L);
+                transaction.setBalance((POSTINGS + i + 1) * 100L);
+                transaction.setDate(date.plusNanos(i * 1000L));
+                movements.add(transaction);
+            }
+            transactionRepository.saveAll(movements);
+        });
+        double bulkInsert = statistics.getPrepareStatementCount() / (double) POSTINGS;
+
+        System.out.printf("%n=== Prepared statements per posting (%d postings) ===%n", POSTINGS);
+        System.out.printf("single postings : %6.2f%n", singlePostings);
+        System.out.printf("bulk insert     : %6.2f%n%n", bulkInsert);
+    }
+}
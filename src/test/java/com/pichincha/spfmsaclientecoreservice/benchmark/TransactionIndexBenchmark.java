@@ -0,0 +1,146 @@
+package com.pichincha.spfmsaclientecoreservice.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Seeds a few million movements and measures the report and posting hot-path queries without and
+ * with the secondary indexes declared on Transaction and Account. Foreign keys are dropped in the
+ * "before" phase because H2, unlike PostgreSQL, backs every foreign key with its own index.
+ * Plans come from H2 EXPLAIN; src/test/resources/benchmark/transaction-indexes-postgres.sql runs
+ * the same comparison with EXPLAIN ANALYZE on PostgreSQL. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class TransactionIndexBenchmark {
+
+    private static final long ID_OFFSET = 100_000_000L;
+    private static final int CLIENTS = 5_000;
+    private static final int ACCOUNTS = 10_000;
+    private static final int TRANSACTIONS = 2_000_000;
+    private static final int SAMPLES = 40;
+    private static final LocalDateTime FIRST_DATE = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    private static final String STATEMENT_LINES = "SELECT t.transaction_id, t.date, c.name, a.account_number, "
+            + "a.account_type, a.initial_balance, a.status, t.amount, t.balance "
+            + "FROM transaction t JOIN account a ON a.account_id = t.account_id "
+            + "JOIN client c ON c.person_id = a.client_id "
+            + "WHERE c.person_id = ? AND t.date BETWEEN ? AND ? "
+            + "ORDER BY a.account_id, t.date, t.transaction_id";
+    private static final String ACCOUNT_HISTORY = "SELECT t.transaction_id, t.balance FROM transaction t "
+            + "WHERE t.account_id = ? ORDER BY t.date, t.transaction_id";
+    private static final String LATEST_BALANCE = "SELECT t.balance FROM transaction t "
+            + "WHERE t.account_id = ? ORDER BY t.date DESC, t.transaction_id DESC LIMIT 1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Report and posting queries - without vs with secondary indexes")
+    void compareIndexes() {
+        long seedStart = System.nanoTime();
+        seed();
+        System.out.printf("%n=== Seeded %d clients, %d accounts, %d transactions in %d s ===%n",
+                CLIENTS, ACCOUNTS, TRANSACTIONS, (System.nanoTime() - seedStart) / 1_000_000_000L);
+
+        dropForeignKeys();
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_transaction_account_date");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_account_client");
+        jdbcTemplate.execute("ANALYZE");
+        double[][] before = measureAll("without indexes");
+
+        jdbcTemplate.execute("CREATE INDEX idx_transaction_account_date ON transaction (account_id, date, transaction_id)");
+        jdbcTemplate.execute("CREATE INDEX idx_account_client ON account (client_id)");
+        jdbcTemplate.execute("ANALYZE");
+        double[][] after = measureAll("with indexes");
+
+        String[] names = {"statement lines (1 client, 1 month)", "account history", "latest balance"};
+        System.out.printf("%n=== Latency p50 / p99 in ms (%d samples) ===%n", SAMPLES);
+        for (int i = 0; i < names.length; i++) {
+            System.out.printf("%-36s : %9.2f / %9.2f  ->  %7.2f / %7.2f%n", names[i],
+                    before[i][0], before[i][1], after[i][0], after[i][1]);
+        }
+        System.out.println();
+    }
+
+    private double[][] measureAll(String label) {
+        System.out.printf("%n--- Plans %s ---%n", label);
+        explain(STATEMENT_LINES, ID_OFFSET + 1, Timestamp.valueOf(FIRST_DATE.plusMonths(6)),
+                Timestamp.valueOf(FIRST_DATE.plusMonths(7)));
+        explain(ACCOUNT_HISTORY, ID_OFFSET + 1);
+        explain(LATEST_BALANCE, ID_OFFSET + 1);
+
+        Random random = new Random(7);
+        return new double[][]{
+                measure(sample -> {
+                    LocalDateTime start = FIRST_DATE.plusMonths(random.nextInt(24));
+                    jdbcTemplate.queryForList(STATEMENT_LINES, ID_OFFSET + 1 + random.nextInt(CLIENTS),
+                            Timestamp.valueOf(start), Timestamp.valueOf(start.plusMonths(1)));
+                }),
+                measure(sample -> jdbcTemplate.queryForList(ACCOUNT_HISTORY, ID_OFFSET + 1 + random.nextInt(ACCOUNTS))),
+                measure(sample -> jdbcTemplate.queryForList(LATEST_BALANCE, ID_OFFSET + 1 + random.nextInt(ACCOUNTS)))
+        };
+    }
+
+    private double[] measure(IntConsumer query) {
+        query.accept(-1);
+        long[] latencies = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            query.accept(i);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return new double[]{percentile(latencies, 50), percentile(latencies, 99)};
+    }
+
+    private double percentile(long[] sortedNanos, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private void explain(String sql, Object... args) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args);
+        plan.forEach(line -> System.out.println(line.replaceAll("\\s+", " ")));
+    }
+
+    private void seed() {
+        jdbcTemplate.update("INSERT INTO client (person_id, name, identification, password, status) "
+                + "SELECT " + ID_OFFSET + " + X, 'Index Client ' || X, 'IX-' || X, 'pwd', TRUE "
+                + "FROM SYSTEM_RANGE(1, " + CLIENTS + ")");
+        jdbcTemplate.update("INSERT INTO account (account_id, account_number, account_type, initial_balance, "
+                + "current_balance, status, version, client_id) "
+                + "SELECT " + ID_OFFSET + " + X, 'IX' || X, CASEWHEN(MOD(X, 2) = 0, 'SAVINGS', 'CHECKING'), "
+                + "1000.0, 1000.0, TRUE, 0, " + ID_OFFSET + " + MOD(X - 1, " + CLIENTS + ") + 1 "
+                + "FROM SYSTEM_RANGE(1, " + ACCOUNTS + ")");
+        // movimientos intercalados entre cuentas, como llegan en producción, a lo largo de ~3 años
+        jdbcTemplate.update("INSERT INTO transaction (transaction_id, date, transaction_type, amount, balance, account_id) "
+                + "SELECT " + ID_OFFSET + " + X, DATEADD('SECOND', X * 45, TIMESTAMP '" + Timestamp.valueOf(FIRST_DATE) + "'), "
+                + "'DEPOSIT', 10.0, 1000.0 + 10.0 * (X / " + ACCOUNTS + "), "
+                + ID_OFFSET + " + MOD(X, " + ACCOUNTS + ") + 1 FROM SYSTEM_RANGE(1, " + TRANSACTIONS + ")");
+    }
+
+    private void dropForeignKeys() {
+        List<String[]> foreignKeys = jdbcTemplate.query(
+                "SELECT TABLE_NAME, CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS "
+                        + "WHERE CONSTRAINT_TYPE = 'FOREIGN KEY' AND TABLE_NAME IN ('TRANSACTION', 'ACCOUNT')",
+                (rs, row) -> new String[]{rs.getString(1), rs.getString(2)});
+        foreignKeys.forEach(fk -> jdbcTemplate.execute(
+                "ALTER TABLE \"" + fk[0] + "\" DROP CONSTRAINT \"" + fk[1] + "\""));
+    }
+}
@@ -0,0 +1,117 @@
+package com.pichincha.spfmsaclientecoreservice.benchmark;
+
+import com.pichincha.spfmsaclientecoreservice.OptimusApplication;
+import com.pichincha.spfmsaclientecoreservice.integration.TestData;
+import com.pichincha.spfmsaclientecoreservice.service.AccountService;
+import com.pichincha.spfmsaclientecoreservice.service.ClientService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fires 2000 concurrent GET /accounts/{id}/balance requests against the service started with
+ * platform request threads (Tomcat's pool of 200) and again with virtual threads behind the
+ * concurrency limit filter, and reports throughput, p50/p99 latency and 503 rejections.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class VirtualThreadLoadBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 2000;
+    private static final int WARMUP_REQUESTS = 200;
+
+    @Test
+    @DisplayName("2000 concurrent requests - platform vs virtual request threads")
+    void concurrentRequests() throws Exception {
+        LoadResult platform = run(false);
+        LoadResult virtual = run(true);
+
+        System.out.printf("%n=== GET /accounts/{id}/balance with %d concurrent requests ===%n", CONCURRENT_REQUESTS);
+        print("platform threads", platform);
+        print("virtual threads ", virtual);
+        System.out.println();
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OptimusApplication.class)
+                .profiles("test")
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.accept-count=" + CONCURRENT_REQUESTS,
+                        "concurrency.acquire-timeout=PT30S",
+                        "logging.level.com.pichincha=WARN")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Long accountId = TestData.createAccount(context.getBean(ClientService.class),
+                    context.getBean(AccountService.class), "Load Client", 100_000L).getAccountId();
+            URI uri = URI.create("http://localhost:" + port + "/accounts/" + accountId + "/balance?date="
+                    + LocalDate.now());
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            fire(client, uri, WARMUP_REQUESTS);
+            return fire(client, uri, CONCURRENT_REQUESTS);
+        }
+    }
+
+    private LoadResult fire(HttpClient client, URI uri, int requests) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+        List<Future<long[]>> futures = new ArrayList<>(requests);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                futures.add(executor.submit(() -> {
+                    long requestStart = System.nanoTime();
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    return new long[]{System.nanoTime() - requestStart, response.statusCode()};
+                }));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long[] latencies = new long[requests];
+        int rejected = 0;
+        for (int i = 0; i < requests; i++) {
+            long[] outcome = futures.get(i).get();
+            latencies[i] = outcome[0];
+            if (outcome[1] == 503) {
+                rejected++;
+            }
+        }
+        Arrays.sort(latencies);
+        return new LoadResult(requests / (elapsed / 1_000_000_000.0), latencies, rejected);
+    }
+
+    private void print(String label, LoadResult result) {
+        System.out.printf("%s : %8.0f req/s   p50 %7.1f ms   p99 %7.1f ms   503 %d%n", label,
+                result.throughput(), percentile(result.latencies(), 50), percentile(result.latencies(), 99),
+                result.rejected());
+    }
+
+    private double percentile(long[] sortedNanos, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private record LoadResult(double throughput, long[] latencies, int rejected) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.pichincha.spfmsaclientecoreservice.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTest {
+
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(20),
+            new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Test
+    @DisplayName("Should reject with 503 when no permit frees up in time")
+    void doFilter_NoPermit_RejectsWithServiceUnavailable() throws Exception {
+        // Given - the only permit is held by a request still in the chain
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain holdingChain = nestedRequest("/accounts/1", nested);
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/clients"), response, holdingChain);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(nested.get().getStatus()).isEqualTo(503);
+        assertThat(nested.get().getContentAsString()).contains("Servicio saturado");
+    }
+
+    @Test
+    @DisplayName("Should release the permit once the request completes")
+    void doFilter_Sequential_ReusesPermit() throws Exception {
+        // Given
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        MockHttpServletResponse second = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/clients"), first, new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("GET", "/clients"), second, new MockFilterChain());
+
+        // Then
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should let actuator requests through while saturated")
+    void doFilter_Actuator_NotLimited() throws Exception {
+        // Given
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain holdingChain = nestedRequest("/actuator/health", nested);
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/clients"), new MockHttpServletResponse(), holdingChain);
+
+        // Then
+        assertThat(nested.get().getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should hold the permit of a streamed export until its async processing completes")
+    void doFilter_AsyncStarted_ReleasesOnComplete() throws Exception {
+        // Given - the export handler returns once the StreamingResponseBody is handed to the async executor
+        MockHttpServletRequest export = new MockHttpServletRequest("GET", "/transactions/export");
+        export.setAsyncSupported(true);
+        filter.doFilter(export, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        // When
+        MockHttpServletResponse whileStreaming = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/clients"), whileStreaming, new MockFilterChain());
+        ((MockAsyncContext) export.getAsyncContext()).complete();
+        MockHttpServletResponse afterStreaming = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/clients"), afterStreaming, new MockFilterChain());
+
+        // Then
+        assertThat(whileStreaming.getStatus()).isEqualTo(503);
+        assertThat(afterStreaming.getStatus()).isEqualTo(200);
+    }
+
+    /**
+     * A chain that, while the outer request still holds its permit, sends a second request through the filter
+     */
+    private FilterChain nestedRequest(String uri, AtomicReference<MockHttpServletResponse> nested) {
+        return (request, response) -> {
+            MockHttpServletResponse nestedResponse = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", uri), nestedResponse, new MockFilterChain());
+            nested.set(nestedResponse);
+        };
+    }
+}
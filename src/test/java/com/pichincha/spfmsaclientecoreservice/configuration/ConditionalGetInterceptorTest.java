@@ -0,0 +1,99 @@
+package com.pichincha.spfmsaclientecoreservice.configuration;
+
+import com.pichincha.spfmsaclientecoreservice.api.AccountsApi;
+import com.pichincha.spfmsaclientecoreservice.api.ReportsApi;
+import com.pichincha.spfmsaclientecoreservice.service.ResourceVersionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ConditionalGetInterceptorTest {
+
+    private final ResourceVersionService resourceVersionService = mock(ResourceVersionService.class);
+    private final ConditionalGetInterceptor interceptor = new ConditionalGetInterceptor(resourceVersionService);
+
+    @Test
+    @DisplayName("Should tag the response and let the handler run on the first request")
+    void preHandle_NoIfNoneMatch_SetsEtag() {
+        // Given
+        when(resourceVersionService.findAccountEtag(1L)).thenReturn(Optional.of("a1-4-2"));
+        MockHttpServletRequest request = accountRequest("GET", "1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, new Object());
+
+        // Then
+        assertThat(proceed).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"a1-4-2\"");
+    }
+
+    @Test
+    @DisplayName("Should answer 304 without reaching the handler when the ETag matches")
+    void preHandle_MatchingIfNoneMatch_NotModified() {
+        // Given
+        when(resourceVersionService.findAccountEtag(1L)).thenReturn(Optional.of("a1-4-2"));
+        MockHttpServletRequest request = accountRequest("GET", "1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"a1-4-2\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, new Object());
+
+        // Then
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should read the client of a statement from the query string")
+    void preHandle_Statement_UsesClientIdParameter() {
+        // Given
+        when(resourceVersionService.findStatementEtag(7L)).thenReturn(Optional.of("s7-abc"));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/reports");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ReportsApi.PATH_GENERATE_ACCOUNT_STATEMENT);
+        request.setParameter("clientId", "7");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"s7-old\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, new Object());
+
+        // Then
+        assertThat(proceed).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"s7-abc\"");
+    }
+
+    @Test
+    @DisplayName("Should leave writes, unknown and malformed ids to the handler")
+    void preHandle_NotApplicable_Proceeds() {
+        // Given
+        when(resourceVersionService.findAccountEtag(99L)).thenReturn(Optional.empty());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When / Then
+        assertThat(interceptor.preHandle(accountRequest("PUT", "1"), response, new Object())).isTrue();
+        assertThat(interceptor.preHandle(accountRequest("GET", "99"), response, new Object())).isTrue();
+        assertThat(interceptor.preHandle(accountRequest("GET", "abc"), response, new Object())).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+        verify(resourceVersionService).findAccountEtag(99L);
+        verifyNoMoreInteractions(resourceVersionService);
+    }
+
+    private MockHttpServletRequest accountRequest(String method, String accountId) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/accounts/" + accountId);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, AccountsApi.PATH_FIND_ACCOUNT_BY_ID);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("accountId", accountId));
+        return request;
+    }
+}
@@ -0,0 +1,97 @@
+package com.pichincha.spfmsaclientecoreservice.configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EvictionGuardedCaffeineCacheTest {
+
+    private final EvictionGuardedCaffeineCache cache = new EvictionGuardedCaffeineCache("headers",
+            Caffeine.newBuilder().build(), false, Duration.ofMinutes(10));
+
+    @Test
+    @DisplayName("Should cache a value loaded after a miss")
+    void get_Miss_LoadedValueCached() {
+        // When
+        String loaded = cache.get(1L, () -> "loaded");
+
+        // Then
+        assertThat(loaded).isEqualTo("loaded");
+        assertThat(cache.get(1L, () -> "reloaded")).isEqualTo("loaded");
+    }
+
+    @Test
+    @DisplayName("Should drop a value whose key was evicted while it was loaded")
+    void get_EvictedDuringLoad_NotCached() {
+        // When - a change commits and evicts the key before the stale value is stored
+        String loaded = cache.get(1L, () -> {
+            Thread writer = Thread.ofVirtual().start(() -> cache.evict(1L));
+            writer.join();
+            return "stale";
+        });
+
+        // Then
+        assertThat(loaded).isEqualTo("stale");
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(1L, () -> "current")).isEqualTo("current");
+        assertThat(cache.get(1L, String.class)).isEqualTo("current");
+    }
+
+    @Test
+    @DisplayName("Should keep caching other keys and loads started after the eviction")
+    void get_EvictionBeforeLoadOrOtherKey_Cached() {
+        // Given
+        cache.evict(1L);
+        cache.get(1L, () -> "current");
+
+        // When
+        cache.get(2L, () -> {
+            cache.evict(1L);
+            return "other";
+        });
+
+        // Then
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(2L, String.class)).isEqualTo("other");
+    }
+
+    @Test
+    @DisplayName("Should drop a value loaded while the cache was cleared")
+    void get_ClearedDuringLoad_NotCached() {
+        // When
+        cache.get(1L, () -> {
+            cache.clear();
+            return "stale";
+        });
+
+        // Then
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should leave no pending load behind a failed or empty load")
+    void get_FailedOrNullLoad_LaterPutCached() {
+        // Given
+        IllegalStateException failure = new IllegalStateException("database down");
+        assertThatThrownBy(() -> cache.get(1L, () -> {
+            throw failure;
+        })).isInstanceOf(Cache.ValueRetrievalException.class).hasCause(failure);
+        assertThat(cache.<String>get(2L, () -> null)).isNull();
+
+        // When
+        cache.evict(1L);
+        cache.evict(2L);
+        cache.put(1L, "direct");
+        cache.put(2L, "direct");
+
+        // Then
+        assertThat(cache.get(1L, String.class)).isEqualTo("direct");
+        assertThat(cache.get(2L, String.class)).isEqualTo("direct");
+    }
+}
@@ -0,0 +1,47 @@
+package com.pichincha.spfmsaclientecoreservice.domain;
+
+import com.pichincha.spfmsaclientecoreservice.domain.converter.MoneyConverter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MoneyTest {
+
+    @Test
+    @DisplayName("toCents - decimal amounts become exact cents and sums carry no drift")
+    void toCents_sumsWithoutDrift() {
+        // Given
+        long cents = 0;
+
+        // When - 0.1 ten times, which adds up to 0.9999999999999999 as double
+        for (int i = 0; i < 10; i++) {
+            cents += Money.toCents(0.1);
+        }
+
+        // Then
+        assertThat(cents).isEqualTo(100L);
+        assertThat(Money.toDouble(cents)).isEqualTo(1.0);
+        assertThat(Money.toCents(-19.99)).isEqualTo(-1999L);
+        assertThat(Money.toCents(2.675)).isEqualTo(268L);
+    }
+
+    @Test
+    @DisplayName("MoneyConverter - stores cents as NUMERIC(19,2) and reads them back")
+    void moneyConverter_roundTripsThroughNumeric() {
+        // Given
+        MoneyConverter converter = new MoneyConverter();
+
+        // When
+        BigDecimal column = converter.convertToDatabaseColumn(123_456L);
+
+        // Then
+        assertThat(column).isEqualTo(new BigDecimal("1234.56"));
+        assertThat(converter.convertToEntityAttribute(column)).isEqualTo(123_456L);
+        assertThat(converter.convertToEntityAttribute(new BigDecimal("10.5"))).isEqualTo(1050L);
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+}
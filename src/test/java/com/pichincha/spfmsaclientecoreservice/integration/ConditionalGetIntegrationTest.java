@@ -0,0 +1,128 @@
+package com.pichincha.spfmsaclientecoreservice.integration;
+
+import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.domain.Client;
+import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+import com.pichincha.spfmsaclientecoreservice.domain.enums.TransactionType;
+import com.pichincha.spfmsaclientecoreservice.service.AccountService;
+import com.pichincha.spfmsaclientecoreservice.service.ClientService;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    @DisplayName("An unchanged account answers 304 until a posting moves it, even one leaving the balance as it was")
+    void account_notModifiedUntilPosting() throws Exception {
+        // Given
+        Account account = TestData.createAccount(clientService, accountService, "Etag Client", 10_000L);
+        String path = "/accounts/" + account.getAccountId();
+        String etag = etag(get(path));
+
+        // When / Then
+        notModified(get(path), etag);
+
+        TestData.post(transactionService, account.getAccountId(), TransactionType.DEPOSIT, 0L);
+        String afterPosting = etag(get(path));
+        assertThat(afterPosting).isNotEqualTo(etag);
+        notModified(get(path), afterPosting);
+    }
+
+    @Test
+    @DisplayName("A client change moves the client ETag and the ETag of its accounts")
+    void clientChange_movesClientAndAccountEtags() throws Exception {
+        // Given
+        Account account = TestData.createAccount(clientService, accountService, "Etag Client", 10_000L);
+        Long clientId = account.getClient().getPersonId();
+        String clientEtag = etag(get("/clients/" + clientId));
+        String accountEtag = etag(get("/accounts/" + account.getAccountId()));
+        notModified(get("/clients/" + clientId), clientEtag);
+
+        // When
+        Client changes = clientService.findClientById(clientId).orElseThrow();
+        changes.setAddress("Nueva dirección 123");
+        clientService.updateClient(clientId, changes);
+
+        // Then
+        assertThat(etag(get("/clients/" + clientId))).isNotEqualTo(clientEtag);
+        assertThat(etag(get("/accounts/" + account.getAccountId()))).isNotEqualTo(accountEtag);
+    }
+
+    @Test
+    @DisplayName("Statements and transactions answer 304 until the account moves")
+    void statementAndTransaction_notModifiedUntilPosting() throws Exception {
+        // Given
+        Account account = TestData.createAccount(clientService, accountService, "Etag Client", 10_000L);
+        Transaction transaction = TestData.post(transactionService, account.getAccountId(), TransactionType.DEPOSIT, 2500L);
+        LocalDate today = LocalDate.now();
+        MockHttpServletRequestBuilder statement = get("/reports")
+                .param("clientId", account.getClient().getPersonId().toString())
+                .param("startDate", today.minusDays(1).toString())
+                .param("endDate", today.plusDays(1).toString());
+        String transactionPath = "/transactions/" + transaction.getTransactionId();
+        String statementEtag = etag(statement);
+        String transactionEtag = etag(get(transactionPath));
+
+        // When / Then
+        notModified(statement, statementEtag);
+        notModified(get(transactionPath), transactionEtag);
+
+        TestData.post(transactionService, account.getAccountId(), TransactionType.DEPOSIT, 1000L);
+        assertThat(etag(statement)).isNotEqualTo(statementEtag);
+        assertThat(etag(get(transactionPath))).isNotEqualTo(transactionEtag);
+    }
+
+    @Test
+    @DisplayName("Unknown resources reach the handler and get no ETag")
+    void unknownResource_notFoundWithoutEtag() throws Exception {
+        mockMvc.perform(get("/accounts/999999").header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    private String etag(MockHttpServletRequestBuilder request) throws Exception {
+        String etag = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"").endsWith("\"");
+        return etag;
+    }
+
+    private void notModified(MockHttpServletRequestBuilder request, String etag) throws Exception {
+        mockMvc.perform(request.header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+    }
+}
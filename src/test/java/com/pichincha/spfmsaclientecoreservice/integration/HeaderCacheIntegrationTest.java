@@ -0,0 +1,126 @@
+package com.pichincha.spfmsaclientecoreservice.integration;
+
+import com.pichincha.spfmsaclientecoreservice.configuration.CacheConfig;
+import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.domain.Client;
+import com.pichincha.spfmsaclientecoreservice.domain.enums.TransactionType;
+import com.pichincha.spfmsaclientecoreservice.exception.InsufficientBalanceException;
+import com.pichincha.spfmsaclientecoreservice.model.AccountDTO;
+import com.pichincha.spfmsaclientecoreservice.model.ClientDTO;
+import com.pichincha.spfmsaclientecoreservice.service.AccountService;
+import com.pichincha.spfmsaclientecoreservice.service.ClientService;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class HeaderCacheIntegrationTest {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Repeated header lookups are served from the cache and counted as hits")
+    void findHeaders_repeated_servedFromCache() {
+        // Given
+        Account account = TestData.createAccount(clientService, accountService, "Cache Client", 100_000L);
+        Long clientId = account.getClient().getPersonId();
+        double accountHits = gets(CacheConfig.ACCOUNT_HEADERS, "hit");
+        double accountMisses = gets(CacheConfig.ACCOUNT_HEADERS, "miss");
+
+        // When
+        AccountDTO first = accountService.findAccountHeader(account.getAccountId()).orElseThrow();
+        AccountDTO second = accountService.findAccountHeader(account.getAccountId()).orElseThrow();
+        ClientDTO client = clientService.findClientHeader(clientId).orElseThrow();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first.getCurrentBalance()).isEqualTo(1000.0);
+        assertThat(first.getClient().getClientId()).isEqualTo(clientId);
+        assertThat(clientService.findClientHeader(clientId).orElseThrow()).isSameAs(client);
+        assertThat(gets(CacheConfig.ACCOUNT_HEADERS, "hit") - accountHits).isEqualTo(1.0);
+        assertThat(gets(CacheConfig.ACCOUNT_HEADERS, "miss") - accountMisses).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Postings, account and client changes evict the cached headers on commit")
+    void writes_evictCachedHeaders() {
+        // Given
+        Account account = TestData.createAccount(clientService, accountService, "Cache Client", 100_000L);
+        Long accountId = account.getAccountId();
+        Long clientId = account.getClient().getPersonId();
+        accountService.findAccountHeader(accountId);
+        clientService.findClientHeader(clientId);
+
+        // When / Then - a posting refreshes the current balance
+        TestData.post(transactionService, accountId, TransactionType.DEPOSIT, 5000L);
+        assertThat(accountService.findAccountHeader(accountId).orElseThrow().getCurrentBalance()).isEqualTo(1050.0);
+
+        // When / Then - a client update reaches the client and the accounts embedding it
+        Client changes = clientService.findClientById(clientId).orElseThrow();
+        changes.setName("Renamed Client");
+        clientService.updateClient(clientId, changes);
+        assertThat(clientService.findClientHeader(clientId).orElseThrow().getName()).isEqualTo("Renamed Client");
+        assertThat(accountService.findAccountHeader(accountId).orElseThrow().getClient().getName())
+                .isEqualTo("Renamed Client");
+
+        // When / Then - a soft delete flips the cached status
+        accountService.deleteAccount(accountId);
+        assertThat(accountService.findAccountHeader(accountId).orElseThrow().getStatus()).isFalse();
+    }
+
+    @Test
+    @DisplayName("A rejected posting rolls back and keeps the cached header")
+    void rejectedPosting_keepsCachedHeader() {
+        // Given
+        Account account = TestData.createAccount(clientService, accountService, "Cache Client", 1000L);
+        AccountDTO cached = accountService.findAccountHeader(account.getAccountId()).orElseThrow();
+
+        // When
+        assertThatThrownBy(() -> TestData.post(transactionService, account.getAccountId(),
+                TransactionType.WITHDRAWAL, 5000L))
+                .isInstanceOf(InsufficientBalanceException.class);
+
+        // Then
+        assertThat(accountService.findAccountHeader(account.getAccountId()).orElseThrow()).isSameAs(cached);
+    }
+
+    @Test
+    @DisplayName("Unknown IDs are not cached")
+    void findHeader_unknownId_notCached() {
+        // Given
+        Long missingId = Long.MAX_VALUE;
+        double misses = gets(CacheConfig.ACCOUNT_HEADERS, "miss");
+
+        // When
+        accountService.findAccountHeader(missingId);
+
+        // Then - the second lookup goes to the database again
+        assertThat(accountService.findAccountHeader(missingId)).isEmpty();
+        assertThat(gets(CacheConfig.ACCOUNT_HEADERS, "miss") - misses).isEqualTo(2.0);
+        assertThat(clientService.findClientHeader(missingId)).isEmpty();
+    }
+
+    private double gets(String cacheName, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cacheName).tag("result", result)
+                .functionCounter().count();
+    }
+}
@@ -0,0 +1,73 @@
+package com.pichincha.spfmsaclientecoreservice.integration;
+
+import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+import com.pichincha.spfmsaclientecoreservice.domain.enums.TransactionType;
+import com.pichincha.spfmsaclientecoreservice.repository.TransactionRepository;
+import com.pichincha.spfmsaclientecoreservice.service.AccountService;
+import com.pichincha.spfmsaclientecoreservice.service.ClientService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class JdbcBatchingIntegrationTest {
+
+    private static final int MOVEMENTS = 200;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Bulk inserts of movements are sent in JDBC batches")
+    void saveAll_insertsMovementsInBatches() {
+        // Given
+        Account account = TestData.createAccount(clientService, accountService, "Batching Client", 0L);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Transaction> movements = new ArrayList<>(MOVEMENTS);
+            for (int i = 0; i < MOVEMENTS; i++) {
+                Transaction transaction = new Transaction();
+                transaction.setAccount(account);
+                transaction.setTransactionType(TransactionType.DEPOSIT);
+                transaction.setAmount(100L);
+                transaction.setBalance((i + 1) * 100L);
+                transaction.setDate(LocalDateTime.now());
+                movements.add(transaction);
+            }
+            transactionRepository.saveAll(movements);
+        });
+
+        // Then - one sequence call and one insert batch per 50 movements
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MOVEMENTS / 50 * 2);
+        assertThat(transactionRepository.findByAccountOrderByDateAsc(account)).hasSize(MOVEMENTS);
+    }
+}
@@ -0,0 +1,75 @@
+package com.pichincha.spfmsaclientecoreservice.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pichincha.spfmsaclientecoreservice.service.ClientService;
+import com.pichincha.spfmsaclientecoreservice.service.KeysetPagination;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"pagination.default-size=2", "pagination.max-size=3"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class KeysetPaginationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Following X-Next-Cursor walks every client exactly once")
+    void getAllClients_followingCursor_returnsEveryClientOnce() throws Exception {
+        // Given
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            created.add(TestData.createClient(clientService, "Page Client").getPersonId());
+        }
+
+        // When
+        List<Long> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            MvcResult result = mockMvc.perform(get("/clients")
+                            .param("size", "10")
+                            .param("cursor", cursor == null ? "" : cursor))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            JsonNode page = objectMapper.readTree(result.getResponse().getContentAsString());
+            page.forEach(client -> seen.add(client.get("clientId").asLong()));
+            pageSizes.add(page.size());
+            cursor = result.getResponse().getHeader(KeysetPagination.NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+
+        // Then - size is capped at 3 and the last page carries no cursor
+        assertThat(seen).containsExactlyElementsOf(created);
+        assertThat(pageSizes).containsExactly(3, 3, 1);
+    }
+
+    @Test
+    @DisplayName("Invalid cursor and page size are rejected with 400")
+    void getAllClients_invalidParameters_returnBadRequest() throws Exception {
+        mockMvc.perform(get("/clients").param("cursor", "not-a-cursor!"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/clients").param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
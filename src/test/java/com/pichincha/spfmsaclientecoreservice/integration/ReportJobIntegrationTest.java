@@ -0,0 +1,92 @@
+package com.pichincha.spfmsaclientecoreservice.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pichincha.spfmsaclientecoreservice.service.AccountService;
+import com.pichincha.spfmsaclientecoreservice.service.ClientService;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReportJobIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Report job renders the PDF in the background and serves it once completed")
+    void reportJob_pollsAndDownloadsPdf() throws Exception {
+        // Given
+        Long clientId = TestData.createClientWithMovement(clientService, accountService, transactionService,
+                "Job Client");
+        LocalDate today = LocalDate.now();
+
+        // When
+        String created = mockMvc.perform(post("/reports/jobs")
+                        .param("clientId", clientId.toString())
+                        .param("startDate", today.minusDays(1).toString())
+                        .param("endDate", today.plusDays(1).toString()))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        String jobId = objectMapper.readTree(created).get("jobId").asText();
+
+        JsonNode job = objectMapper.readTree(created);
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!"COMPLETED".equals(job.get("status").asText()) && System.currentTimeMillis() < deadline) {
+            assertThat(job.get("status").asText()).isNotEqualTo("FAILED");
+            Thread.sleep(50);
+            job = objectMapper.readTree(mockMvc.perform(get("/reports/jobs/{jobId}", jobId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+        }
+
+        // Then
+        assertThat(job.get("status").asText()).isEqualTo("COMPLETED");
+        assertThat(job.get("completedAt").isNull()).isFalse();
+        byte[] pdfBytes = mockMvc.perform(get("/reports/jobs/{jobId}/pdf", jobId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(new String(Arrays.copyOfRange(pdfBytes, 0, 4))).isEqualTo("%PDF");
+    }
+
+    @Test
+    @DisplayName("Unknown report job returns 404")
+    void reportJob_unknownJobReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/reports/jobs/{jobId}", UUID.randomUUID().toString()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/reports/jobs/{jobId}/pdf", UUID.randomUUID().toString()))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,74 @@
+package com.pichincha.spfmsaclientecoreservice.integration;
+
+import com.pichincha.spfmsaclientecoreservice.service.AccountService;
+import com.pichincha.spfmsaclientecoreservice.service.ClientService;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReportPdfDownloadIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    @DisplayName("PDF download streams the statement as an application/pdf attachment")
+    void downloadAccountStatementPdf_streamsBinaryPdf() throws Exception {
+        // Given
+        Long clientId = TestData.createClientWithMovement(clientService, accountService, transactionService,
+                "Pdf Client");
+        LocalDate today = LocalDate.now();
+        String startDate = today.minusDays(1).toString();
+        String endDate = today.plusDays(1).toString();
+
+        // When
+        MvcResult started = mockMvc.perform(get("/reports/pdf/download")
+                        .param("clientId", clientId.toString())
+                        .param("startDate", startDate)
+                        .param("endDate", endDate))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"estado-cuenta-" + clientId + "-" + startDate + "-" + endDate + ".pdf\""))
+                .andReturn();
+
+        // Then
+        byte[] pdfBytes = result.getResponse().getContentAsByteArray();
+        assertThat(pdfBytes).isNotEmpty();
+        assertThat(new String(Arrays.copyOfRange(pdfBytes, 0, 4))).isEqualTo("%PDF");
+    }
+}
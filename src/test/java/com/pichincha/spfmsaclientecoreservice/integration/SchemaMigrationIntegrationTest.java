@@ -0,0 +1,159 @@
+package com.pichincha.spfmsaclientecoreservice.integration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SchemaMigrationIntegrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.hibernate.ddl-auto}")
+    private String ddlAuto;
+
+    @Test
+    @DisplayName("Flyway owns the schema and Hibernate only validates it")
+    void migrationsAppliedAndValidated() {
+        // Then - every migration applied, none pending, checksums match the scripts
+        MigrationInfo[] migrations = flyway.info().all();
+        assertThat(migrations).isNotEmpty();
+        assertThat(Arrays.stream(migrations).map(MigrationInfo::getState))
+                .containsOnly(MigrationState.SUCCESS);
+        assertThat(flyway.validateWithResult().validationSuccessful).isTrue();
+        assertThat(ddlAuto).isEqualTo("validate");
+    }
+
+    @Test
+    @DisplayName("Secondary indexes are created by the migrations")
+    void secondaryIndexesExist() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES", String.class);
+
+        assertThat(indexes).contains("idx_transaction_account_date", "idx_account_client");
+    }
+
+    @Test
+    @DisplayName("Entity versions are mandatory and start at zero")
+    void versionColumnsNotNullWithDefault() {
+        List<String> versioned = jdbcTemplate.queryForList(
+                "SELECT LOWER(TABLE_NAME) FROM INFORMATION_SCHEMA.COLUMNS " +
+                        "WHERE LOWER(COLUMN_NAME) = 'version' AND IS_NULLABLE = 'NO' AND COLUMN_DEFAULT IS NOT NULL",
+                String.class);
+
+        assertThat(versioned).contains("account", "client");
+    }
+
+    @Test
+    @DisplayName("A pre-Flyway IDENTITY schema is baselined, completed and its sequences moved past the IDs")
+    void preFlywaySchema_identityTables_upgraded() {
+        // Given - the tables ddl-auto: update generated from the baseline entities
+        JdbcTemplate legacy = legacyDatabase();
+        createIdentitySchema(legacy);
+
+        // When
+        legacyFlyway(legacy).migrate();
+
+        // Then
+        assertUpgraded(legacy);
+    }
+
+    @Test
+    @DisplayName("Sequences created by ddl-auto: update at 1 are moved past the IDENTITY IDs")
+    void preFlywaySchema_sequencesAtOne_movedPastIds() {
+        // Given - the snapshot columns and the sequences were already added by ddl-auto: update
+        JdbcTemplate legacy = legacyDatabase();
+        createIdentitySchema(legacy);
+        legacy.execute("ALTER TABLE account ADD COLUMN current_balance FLOAT(53)");
+        legacy.execute("ALTER TABLE account ADD COLUMN version BIGINT");
+        for (String sequence : List.of("client_seq", "account_seq", "transaction_seq")) {
+            legacy.execute("CREATE SEQUENCE " + sequence + " START WITH 1 INCREMENT BY 50");
+        }
+
+        // When
+        legacyFlyway(legacy).migrate();
+
+        // Then
+        assertUpgraded(legacy);
+    }
+
+    private JdbcTemplate legacyDatabase() {
+        return new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:legacy-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+    }
+
+    /**
+     * Same settings as spring.flyway in application.yml
+     */
+    private Flyway legacyFlyway(JdbcTemplate legacy) {
+        return Flyway.configure()
+                .dataSource(legacy.getDataSource())
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .outOfOrder(true)
+                .load();
+    }
+
+    private void createIdentitySchema(JdbcTemplate legacy) {
+        legacy.execute("CREATE TABLE client (person_id BIGINT GENERATED BY DEFAULT AS IDENTITY, " +
+                "name VARCHAR(100) NOT NULL, gender VARCHAR(10), age INTEGER, identification VARCHAR(20) NOT NULL UNIQUE, " +
+                "address VARCHAR(200), phone VARCHAR(20), password VARCHAR(100) NOT NULL, status BOOLEAN NOT NULL, " +
+                "PRIMARY KEY (person_id))");
+        legacy.execute("CREATE TABLE account (account_id BIGINT GENERATED BY DEFAULT AS IDENTITY, " +
+                "account_number VARCHAR(20) NOT NULL UNIQUE, account_type VARCHAR(20) NOT NULL, " +
+                "initial_balance FLOAT(53) NOT NULL, status BOOLEAN NOT NULL, " +
+                "client_id BIGINT NOT NULL REFERENCES client (person_id), PRIMARY KEY (account_id))");
+        legacy.execute("CREATE TABLE transaction (transaction_id BIGINT GENERATED BY DEFAULT AS IDENTITY, " +
+                "date TIMESTAMP(6) NOT NULL, transaction_type VARCHAR(20) NOT NULL, amount FLOAT(53) NOT NULL, " +
+                "balance FLOAT(53) NOT NULL, account_id BIGINT NOT NULL REFERENCES account (account_id), " +
+                "PRIMARY KEY (transaction_id))");
+        legacy.update("INSERT INTO client (person_id, name, identification, password, status) " +
+                "VALUES (120, 'Jose Lema', '098254785', '1234', TRUE)");
+        legacy.update("INSERT INTO account (account_id, account_number, account_type, initial_balance, status, client_id) " +
+                "VALUES (75, '478758', 'SAVINGS', 2000, TRUE, 120), (76, '225487', 'CHECKING', 100, TRUE, 120)");
+        legacy.update("INSERT INTO transaction (transaction_id, date, transaction_type, amount, balance, account_id) " +
+                "VALUES (300, TIMESTAMP '2022-02-10 10:00:00', 'WITHDRAWAL', -575, 1425, 75), " +
+                "(301, TIMESTAMP '2022-02-11 10:00:00', 'DEPOSIT', 600, 2025, 75)");
+    }
+
+    private void assertUpgraded(JdbcTemplate legacy) {
+        // V1 is skipped by the baseline, everything after it applied
+        assertThat(Arrays.stream(legacyFlyway(legacy).info().all()).map(MigrationInfo::getState))
+                .containsOnly(MigrationState.BASELINE_IGNORED, MigrationState.BASELINE, MigrationState.SUCCESS)
+                .contains(MigrationState.SUCCESS);
+
+        // pooled: a value V hands out the IDs V - 49 to V
+        assertThat(nextBlockStart(legacy, "client_seq")).isGreaterThan(120);
+        assertThat(nextBlockStart(legacy, "account_seq")).isGreaterThan(76);
+        assertThat(nextBlockStart(legacy, "transaction_seq")).isGreaterThan(301);
+
+        assertThat(legacy.queryForList("SELECT current_balance FROM account ORDER BY account_id", Double.class))
+                .containsExactly(2025.0, 100.0);
+        assertThat(legacy.queryForList("SELECT version FROM account", Long.class)).containsOnly(0L);
+        assertThat(legacy.queryForObject("SELECT version FROM client", Long.class)).isZero();
+    }
+
+    private long nextBlockStart(JdbcTemplate legacy, String sequence) {
+        return legacy.queryForObject("SELECT NEXT VALUE FOR " + sequence, Long.class) - 49;
+    }
+}
@@ -0,0 +1,150 @@
+package com.pichincha.spfmsaclientecoreservice.integration;
+
+import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.domain.Client;
+import com.pichincha.spfmsaclientecoreservice.domain.enums.TransactionType;
+import com.pichincha.spfmsaclientecoreservice.repository.AccountRepository;
+import com.pichincha.spfmsaclientecoreservice.repository.ClientRepository;
+import com.pichincha.spfmsaclientecoreservice.service.AccountService;
+import com.pichincha.spfmsaclientecoreservice.service.ClientService;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Repeated reads of the same account and client rows run no SQL")
+    void repeatedReads_servedFromSecondLevelCache() {
+        // Given - the first read loads the rows into the cache
+        Account account = TestData.createAccount(clientService, accountService, "L2 Client", 100_000L);
+        Long accountId = account.getAccountId();
+        Long clientId = account.getClient().getPersonId();
+        readAccountAndClient(accountId);
+
+        // When
+        statistics.clear();
+        for (int i = 0; i < 5; i++) {
+            readAccountAndClient(accountId);
+        }
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(10);
+        assertThat(clientRepository.findHeaderById(clientId)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Header lookups are answered by the query cache until the table changes")
+    void findHeaderById_repeated_servedFromQueryCache() {
+        // Given
+        Long accountId = TestData.createAccount(clientService, accountService, "L2 Client", 100_000L).getAccountId();
+        accountRepository.findHeaderById(accountId);
+
+        // When
+        statistics.clear();
+        Account cached = accountRepository.findHeaderById(accountId).orElseThrow();
+
+        // Then
+        assertThat(cached.getAccountId()).isEqualTo(accountId);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Soft deletes and postings reach the cached rows and invalidate cached queries")
+    void writes_updateCachedRows() {
+        // Given
+        Account account = TestData.createAccount(clientService, accountService, "L2 Client", 100_000L);
+        Long accountId = account.getAccountId();
+        Long clientId = account.getClient().getPersonId();
+        accountRepository.findHeaderById(accountId);
+        clientRepository.findHeaderById(clientId);
+
+        // When
+        TestData.post(transactionService, accountId, TransactionType.DEPOSIT, 2500L);
+        accountService.deleteAccount(accountId);
+        clientService.deleteClient(clientId);
+
+        // Then
+        statistics.clear();
+        Account cachedAccount = accountRepository.findHeaderById(accountId).orElseThrow();
+        assertThat(cachedAccount.getStatus()).isFalse();
+        assertThat(cachedAccount.getCurrentBalance()).isEqualTo(102_500L);
+        assertThat(clientRepository.findHeaderById(clientId).orElseThrow().getStatus()).isFalse();
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Second-level and query cache statistics are published as metrics")
+    void statistics_publishedAsMetrics() {
+        // Given
+        Long accountId = TestData.createAccount(clientService, accountService, "L2 Client", 100_000L).getAccountId();
+
+        // When
+        accountRepository.findHeaderById(accountId);
+        accountRepository.findHeaderById(accountId);
+
+        // Then
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests").functionCounters()).isNotEmpty();
+        assertThat(meterRegistry.find("hibernate.cache.query.requests").tag("result", "hit").functionCounter())
+                .isNotNull()
+                .satisfies(counter -> assertThat(counter.count()).isPositive());
+    }
+
+    private void readAccountAndClient(Long accountId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Account account = entityManager.find(Account.class, accountId);
+            entityManager.find(Client.class, account.getClient().getPersonId());
+        });
+    }
+}
@@ -0,0 +1,134 @@
+package com.pichincha.spfmsaclientecoreservice.integration;
+
+import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.domain.Client;
+import com.pichincha.spfmsaclientecoreservice.domain.enums.TransactionType;
+import com.pichincha.spfmsaclientecoreservice.exception.InsufficientBalanceException;
+import com.pichincha.spfmsaclientecoreservice.model.ReportDTO;
+import com.pichincha.spfmsaclientecoreservice.service.AccountService;
+import com.pichincha.spfmsaclientecoreservice.service.ClientService;
+import com.pichincha.spfmsaclientecoreservice.service.StatementCacheService;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionService;
+import com.pichincha.spfmsaclientecoreservice.service.impl.StatementCacheServiceImpl;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StatementCacheIntegrationTest {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private StatementCacheService statementCacheService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("A posting drops the statements reaching its date and keeps older ranges")
+    void posting_evictsOnlyRangesReachingItsDate() {
+        // Given
+        Account account = createAccountWithDeposit();
+        Long clientId = account.getClient().getPersonId();
+        LocalDate today = LocalDate.now();
+        statementCacheService.findStatement(clientId, today.minusDays(1), today.plusDays(1));
+        statementCacheService.findStatement(clientId, today.minusYears(1), today.minusMonths(6));
+        double hits = memoryHits();
+
+        // When
+        TestData.post(transactionService, account.getAccountId(), TransactionType.DEPOSIT, 1000L);
+
+        // Then
+        List<ReportDTO> current = statementCacheService.findStatement(clientId, today.minusDays(1), today.plusDays(1));
+        assertThat(current).hasSize(2);
+        assertThat(current).extracting(ReportDTO::getAvailableBalance).contains(135.0);
+        statementCacheService.findStatement(clientId, today.minusYears(1), today.minusMonths(6));
+        assertThat(memoryHits() - hits).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("A rejected posting rolls back and keeps the cached statement and PDF")
+    void rejectedPosting_keepsCachedStatement() {
+        // Given
+        Account account = createAccountWithDeposit();
+        Long clientId = account.getClient().getPersonId();
+        LocalDate today = LocalDate.now();
+        List<ReportDTO> rows = statementCacheService.findStatement(clientId, today, today);
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        statementCacheService.writeStatementPdf(clientId, today, today, rows, pdf);
+        double lookups = memoryLookups();
+
+        // When
+        assertThatThrownBy(() -> TestData.post(transactionService, account.getAccountId(),
+                TransactionType.WITHDRAWAL, 1_000_000L))
+                .isInstanceOf(InsufficientBalanceException.class);
+
+        // Then - copied from the cached file: only a re-render looks up the rows
+        ByteArrayOutputStream cached = new ByteArrayOutputStream();
+        statementCacheService.writeStatementPdf(clientId, today, today, rows, cached);
+        assertThat(cached.toByteArray()).isEqualTo(pdf.toByteArray());
+        assertThat(memoryLookups()).isEqualTo(lookups);
+    }
+
+    @Test
+    @DisplayName("Client and account changes drop every statement of the client")
+    void clientAndAccountChanges_evictStatements() {
+        // Given
+        Account account = createAccountWithDeposit();
+        Long clientId = account.getClient().getPersonId();
+        LocalDate today = LocalDate.now();
+        statementCacheService.findStatement(clientId, today, today);
+
+        // When / Then - the client name is printed on every row
+        Client changes = clientService.findClientById(clientId).orElseThrow();
+        changes.setName("Renamed Statement Client");
+        clientService.updateClient(clientId, changes);
+        assertThat(statementCacheService.findStatement(clientId, today, today))
+                .extracting(ReportDTO::getClient)
+                .containsOnly("Renamed Statement Client");
+
+        // When / Then - so is the account status
+        accountService.deleteAccount(account.getAccountId());
+        assertThat(statementCacheService.findStatement(clientId, today, today))
+                .extracting(ReportDTO::getStatus)
+                .containsOnly(false);
+    }
+
+    private double memoryHits() {
+        return meterRegistry.get("cache.gets").tag("cache", StatementCacheServiceImpl.CACHE_NAME)
+                .tag("tier", "memory").tag("result", "hit").functionCounter().count();
+    }
+
+    private double memoryLookups() {
+        return meterRegistry.get("cache.gets").tag("cache", StatementCacheServiceImpl.CACHE_NAME)
+                .tag("tier", "memory").functionCounters().stream()
+                .mapToDouble(FunctionCounter::count)
+                .sum();
+    }
+
+    private Account createAccountWithDeposit() {
+        Account savedAccount = TestData.createAccount(clientService, accountService, "Statement Client", 10_000L);
+        TestData.post(transactionService, savedAccount.getAccountId(), TransactionType.DEPOSIT, 2500L);
+        return savedAccount;
+    }
+}
@@ -0,0 +1,81 @@
+package com.pichincha.spfmsaclientecoreservice.integration;
+
+import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.domain.Client;
+import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+import com.pichincha.spfmsaclientecoreservice.domain.enums.AccountType;
+import com.pichincha.spfmsaclientecoreservice.domain.enums.TransactionType;
+import com.pichincha.spfmsaclientecoreservice.service.AccountService;
+import com.pichincha.spfmsaclientecoreservice.service.ClientService;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionService;
+
+import java.util.UUID;
+
+/**
+ * Clients and accounts shared by the integration tests and benchmarks. Identifications and account
+ * numbers are random, so tests sharing the cached Spring context never collide
+ */
+public final class TestData {
+
+    private TestData() {
+    }
+
+    public static Client createClient(ClientService clientService, String name) {
+        Client client = new Client();
+        client.setName(name);
+        client.setIdentification(uniqueNumber());
+        client.setPassword("pwd");
+        client.setStatus(true);
+        return clientService.createClient(client);
+    }
+
+    /**
+     * Active savings account of the client; the balance is in cents
+     */
+    public static Account createAccount(AccountService accountService, Client client, Long initialBalance) {
+        Account account = new Account();
+        account.setAccountNumber(uniqueNumber());
+        account.setAccountType(AccountType.SAVINGS);
+        account.setInitialBalance(initialBalance);
+        account.setStatus(true);
+        account.setClient(client);
+        return accountService.createAccount(account);
+    }
+
+    /**
+     * Account of a new client with the given name
+     */
+    public static Account createAccount(ClientService clientService, AccountService accountService,
+                                        String clientName, Long initialBalance) {
+        return createAccount(accountService, createClient(clientService, clientName), initialBalance);
+    }
+
+    /**
+     * Account of a new client with one 25.00 deposit; returns the client ID
+     */
+    public static Long createClientWithMovement(ClientService clientService, AccountService accountService,
+                                                TransactionService transactionService, String clientName) {
+        Account account = createAccount(clientService, accountService, clientName, 10_000L);
+        post(transactionService, account.getAccountId(), TransactionType.DEPOSIT, 2500L);
+        return account.getClient().getPersonId();
+    }
+
+    /**
+     * Posts a movement referencing the account only by its ID, as an API request does; the amount is in cents
+     */
+    public static Transaction post(TransactionService transactionService, Long accountId, TransactionType type,
+                                   Long amount) {
+        Account reference = new Account();
+        reference.setAccountId(accountId);
+
+        Transaction transaction = new Transaction();
+        transaction.setAccount(reference);
+        transaction.setTransactionType(type);
+        transaction.setAmount(amount);
+        return transactionService.createTransaction(transaction);
+    }
+
+    private static String uniqueNumber() {
+        return "T-" + UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+    }
+}
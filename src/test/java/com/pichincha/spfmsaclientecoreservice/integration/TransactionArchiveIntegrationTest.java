@@ -0,0 +1,148 @@
+package com.pichincha.spfmsaclientecoreservice.integration;
+
+import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+import com.pichincha.spfmsaclientecoreservice.domain.enums.TransactionType;
+import com.pichincha.spfmsaclientecoreservice.repository.AccountRepository;
+import com.pichincha.spfmsaclientecoreservice.repository.ArchivedTransactionRepository;
+import com.pichincha.spfmsaclientecoreservice.repository.TransactionRepository;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.AccountStatementTotals;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.StatementLine;
+import com.pichincha.spfmsaclientecoreservice.service.AccountService;
+import com.pichincha.spfmsaclientecoreservice.service.ClientService;
+import com.pichincha.spfmsaclientecoreservice.service.ReportService;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionArchiveService;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionArchiveIntegrationTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2020, 3, 1, 0, 0);
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionArchiveService transactionArchiveService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    @Test
+    @DisplayName("Archived movements leave the hot table and statements read the same before and after")
+    void archiveTransactionsBefore_statementsUnchanged() {
+        // Given - balances 1100, 1070, 1120, 1130; the first two fall before the cutoff
+        Account account = TestData.createAccount(clientService, accountService, "Archive Client", 100_000L);
+        Long clientId = account.getClient().getPersonId();
+        Transaction first = TestData.post(transactionService, account.getAccountId(), TransactionType.DEPOSIT, 10_000L);
+        Transaction second = TestData.post(transactionService, account.getAccountId(), TransactionType.WITHDRAWAL, 3000L);
+        Transaction third = TestData.post(transactionService, account.getAccountId(), TransactionType.DEPOSIT, 5000L);
+        TestData.post(transactionService, account.getAccountId(), TransactionType.DEPOSIT, 1000L);
+        moveTo(first, LocalDateTime.of(2020, 1, 10, 9, 0));
+        moveTo(second, LocalDateTime.of(2020, 2, 15, 9, 0));
+        moveTo(third, LocalDateTime.of(2020, 3, 20, 9, 0));
+
+        LocalDate today = LocalDate.now();
+        List<StatementLine> fullStatement = reportService.findStatementLines(clientId, LocalDate.of(2020, 1, 1), today);
+        List<AccountStatementTotals> spanningTotals = reportService.summarizeAccountStatement(
+                clientId, LocalDate.of(2020, 2, 1), today);
+        List<AccountStatementTotals> archivedOnlyTotals = reportService.summarizeAccountStatement(
+                clientId, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 2, 28));
+        List<AccountStatementTotals> hotOnlyTotals = reportService.summarizeAccountStatement(
+                clientId, LocalDate.of(2020, 4, 1), today);
+
+        // When
+        transactionArchiveService.archiveTransactionsBefore(CUTOFF);
+
+        // Then - the movements moved and the account keeps the checkpoint
+        assertThat(transactionRepository.findById(first.getTransactionId())).isEmpty();
+        assertThat(transactionRepository.findById(second.getTransactionId())).isEmpty();
+        assertThat(archivedTransactionRepository.findById(first.getTransactionId())).isPresent();
+        assertThat(archivedTransactionRepository.findById(second.getTransactionId())).isPresent();
+        Account header = accountRepository.findHeaderById(account.getAccountId()).orElseThrow();
+        assertThat(header.getArchivedUntil()).isEqualTo(CUTOFF);
+        assertThat(header.getArchivedBalance()).isEqualTo(107_000L);
+
+        // Then - ranges before, across and after the cutoff read as before archiving
+        assertThat(reportService.findStatementLines(clientId, LocalDate.of(2020, 1, 1), today))
+                .isEqualTo(fullStatement)
+                .extracting(StatementLine::balance).containsExactly(110_000L, 107_000L, 112_000L, 113_000L);
+        assertThat(reportService.summarizeAccountStatement(clientId, LocalDate.of(2020, 2, 1), today))
+                .isEqualTo(spanningTotals);
+        assertThat(reportService.summarizeAccountStatement(clientId, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 2, 28)))
+                .isEqualTo(archivedOnlyTotals);
+        assertThat(reportService.summarizeAccountStatement(clientId, LocalDate.of(2020, 4, 1), today))
+                .isEqualTo(hotOnlyTotals);
+        assertThat(spanningTotals.get(0).openingBalance()).isEqualTo(110_000L);
+        assertThat(spanningTotals.get(0).closingBalance()).isEqualTo(113_000L);
+    }
+
+    @Test
+    @DisplayName("Recalculations after archiving start from the checkpoint balance")
+    void archivedAccount_recalculatesFromCheckpoint() {
+        // Given - 1100 and 1070 archived, then 1120 and 1130
+        Account account = TestData.createAccount(clientService, accountService, "Archive Client", 100_000L);
+        Transaction first = TestData.post(transactionService, account.getAccountId(), TransactionType.DEPOSIT, 10_000L);
+        Transaction second = TestData.post(transactionService, account.getAccountId(), TransactionType.WITHDRAWAL, 3000L);
+        Transaction third = TestData.post(transactionService, account.getAccountId(), TransactionType.DEPOSIT, 5000L);
+        Transaction fourth = TestData.post(transactionService, account.getAccountId(), TransactionType.DEPOSIT, 1000L);
+        moveTo(first, LocalDateTime.of(2020, 1, 10, 9, 0));
+        moveTo(second, LocalDateTime.of(2020, 2, 15, 9, 0));
+        moveTo(third, LocalDateTime.of(2020, 3, 20, 9, 0));
+        transactionArchiveService.archiveTransactionsBefore(CUTOFF);
+
+        // When - the only earlier hot movement is removed and the last one moved right after the cutoff
+        transactionService.deleteTransaction(third.getTransactionId());
+        moveTo(fourth, LocalDateTime.of(2020, 3, 5, 9, 0));
+
+        // Then - 1070 + 10, not the initial balance plus 10
+        assertThat(transactionRepository.findById(fourth.getTransactionId()).orElseThrow().getBalance())
+                .isEqualTo(108_000L);
+        assertThat(accountRepository.findHeaderById(account.getAccountId()).orElseThrow().getCurrentBalance())
+                .isEqualTo(108_000L);
+
+        // Then - a new posting continues from the current balance
+        Transaction withdrawal = TestData.post(transactionService, account.getAccountId(), TransactionType.WITHDRAWAL, 8000L);
+        assertThat(withdrawal.getBalance()).isEqualTo(100_000L);
+
+        // When / Then - movements cannot be moved into the archived period
+        assertThatThrownBy(() -> moveTo(fourth, LocalDateTime.of(2020, 2, 20, 9, 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void moveTo(Transaction transaction, LocalDateTime date) {
+        Transaction changes = new Transaction();
+        changes.setTransactionType(transaction.getTransactionType());
+        changes.setAmount(transaction.getAmount());
+        changes.setDate(date);
+        transactionService.updateTransaction(transaction.getTransactionId(), changes);
+    }
+}
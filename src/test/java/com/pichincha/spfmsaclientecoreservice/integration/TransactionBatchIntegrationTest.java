@@ -0,0 +1,87 @@
+package com.pichincha.spfmsaclientecoreservice.integration;
+
+import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+import com.pichincha.spfmsaclientecoreservice.domain.enums.TransactionType;
+import com.pichincha.spfmsaclientecoreservice.repository.AccountRepository;
+import com.pichincha.spfmsaclientecoreservice.repository.TransactionRepository;
+import com.pichincha.spfmsaclientecoreservice.service.AccountService;
+import com.pichincha.spfmsaclientecoreservice.service.ClientService;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionPostingResult;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "transactions.batch.chunk-size=100")
+@ActiveProfiles("test")
+class TransactionBatchIntegrationTest {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    @DisplayName("Batch posting spans several chunks per account and reports rejected items")
+    void createTransactions_acrossChunks_keepsBalancesInOrder() {
+        // Given - 250 deposits per account interleaved, plus one withdrawal that overdraws
+        Account first = TestData.createAccount(clientService, accountService, "Batch Client", 0L);
+        Account second = TestData.createAccount(clientService, accountService, "Batch Client", 0L);
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            transactions.add(movement(first, TransactionType.DEPOSIT, 100L));
+            transactions.add(movement(second, TransactionType.DEPOSIT, 200L));
+        }
+        transactions.add(movement(first, TransactionType.WITHDRAWAL, 100_000L));
+
+        // When
+        List<TransactionPostingResult> results = transactionService.createTransactions(transactions);
+
+        // Then
+        assertThat(results).hasSize(501);
+        assertThat(results).filteredOn(TransactionPostingResult::isPosted).hasSize(500);
+        assertThat(results.get(500).error()).isEqualTo("Saldo no disponible");
+        assertThat(results.get(498).transaction().getBalance()).isEqualTo(25_000L);
+        assertThat(results.get(499).transaction().getBalance()).isEqualTo(50_000L);
+
+        assertThat(currentBalance(first)).isEqualTo(25_000L);
+        assertThat(currentBalance(second)).isEqualTo(50_000L);
+        Account reloaded = accountRepository.findById(first.getAccountId()).orElseThrow();
+        assertThat(transactionRepository.findFirstByAccountOrderByDateDescTransactionIdDesc(reloaded))
+                .map(Transaction::getBalance)
+                .contains(25_000L);
+    }
+
+    private Transaction movement(Account account, TransactionType type, Long amount) {
+        Account reference = new Account();
+        reference.setAccountId(account.getAccountId());
+
+        Transaction transaction = new Transaction();
+        transaction.setAccount(reference);
+        transaction.setTransactionType(type);
+        transaction.setAmount(amount);
+        return transaction;
+    }
+
+    private Long currentBalance(Account account) {
+        return accountRepository.findHeaderById(account.getAccountId()).orElseThrow().getCurrentBalance();
+    }
+}
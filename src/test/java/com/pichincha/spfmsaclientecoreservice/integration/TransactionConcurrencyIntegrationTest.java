@@ -0,0 +1,126 @@
+package com.pichincha.spfmsaclientecoreservice.integration;
+
+import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+import com.pichincha.spfmsaclientecoreservice.domain.enums.TransactionType;
+import com.pichincha.spfmsaclientecoreservice.exception.InsufficientBalanceException;
+import com.pichincha.spfmsaclientecoreservice.repository.AccountRepository;
+import com.pichincha.spfmsaclientecoreservice.repository.TransactionRepository;
+import com.pichincha.spfmsaclientecoreservice.service.AccountService;
+import com.pichincha.spfmsaclientecoreservice.service.ClientService;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionConcurrencyIntegrationTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    @DisplayName("Concurrent deposits on the same account are all applied")
+    void concurrentDeposits_areAllApplied() throws Exception {
+        // Given
+        Account account = TestData.createAccount(clientService, accountService, "Concurrency Client", 10_000L);
+        int postings = 200;
+
+        // When
+        List<Future<Transaction>> results = postConcurrently(account.getAccountId(), postings,
+                TransactionType.DEPOSIT, 1000L);
+        for (Future<Transaction> result : results) {
+            result.get();
+        }
+
+        // Then
+        Account reloaded = accountRepository.findById(account.getAccountId()).orElseThrow();
+        assertThat(reloaded.getCurrentBalance()).isEqualTo(10_000L + postings * 1000L);
+        assertThat(reloaded.getTransactions()).hasSize(postings);
+        assertThat(transactionRepository.findFirstByAccountOrderByDateDescTransactionIdDesc(reloaded))
+                .map(Transaction::getBalance)
+                .contains(10_000L + postings * 1000L);
+    }
+
+    @Test
+    @DisplayName("Concurrent withdrawals cannot overdraw the account")
+    void concurrentWithdrawals_cannotOverdraw() throws Exception {
+        // Given
+        Account account = TestData.createAccount(clientService, accountService, "Concurrency Client", 10_000L);
+        int postings = 40;
+
+        // When
+        List<Future<Transaction>> results = postConcurrently(account.getAccountId(), postings,
+                TransactionType.WITHDRAWAL, 1000L);
+        int applied = 0;
+        int rejected = 0;
+        for (Future<Transaction> result : results) {
+            try {
+                result.get();
+                applied++;
+            } catch (ExecutionException exception) {
+                assertThat(exception.getCause()).isInstanceOf(InsufficientBalanceException.class);
+                rejected++;
+            }
+        }
+
+        // Then
+        Account reloaded = accountRepository.findById(account.getAccountId()).orElseThrow();
+        assertThat(applied).isEqualTo(10);
+        assertThat(rejected).isEqualTo(postings - 10);
+        assertThat(reloaded.getCurrentBalance()).isZero();
+        assertThat(reloaded.getTransactions()).hasSize(10);
+    }
+
+    private List<Future<Transaction>> postConcurrently(Long accountId, int postings,
+                                                       TransactionType type, Long amount)
+            throws InterruptedException {
+        List<Callable<Transaction>> tasks = new ArrayList<>();
+        for (int i = 0; i < postings; i++) {
+            tasks.add(() -> {
+                Account reference = new Account();
+                reference.setAccountId(accountId);
+
+                Transaction transaction = new Transaction();
+                transaction.setAccount(reference);
+                transaction.setTransactionType(type);
+                transaction.setAmount(amount);
+                return transactionService.createTransaction(transaction);
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            return executor.invokeAll(tasks);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
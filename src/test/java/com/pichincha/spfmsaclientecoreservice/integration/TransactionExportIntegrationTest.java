@@ -0,0 +1,92 @@
+package com.pichincha.spfmsaclientecoreservice.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+import com.pichincha.spfmsaclientecoreservice.domain.enums.TransactionType;
+import com.pichincha.spfmsaclientecoreservice.service.AccountService;
+import com.pichincha.spfmsaclientecoreservice.service.ClientService;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TransactionExportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Export streams every transaction as one JSON array in ID order")
+    void exportTransactions_streamsAllRowsInIdOrder() throws Exception {
+        // Given - more rows than the persistence context clear interval
+        Account account = TestData.createAccount(clientService, accountService, "Export Client", 0L);
+        List<Transaction> movements = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            Account reference = new Account();
+            reference.setAccountId(account.getAccountId());
+            Transaction transaction = new Transaction();
+            transaction.setAccount(reference);
+            transaction.setTransactionType(TransactionType.DEPOSIT);
+            transaction.setAmount(100L);
+            movements.add(transaction);
+        }
+        transactionService.createTransactions(movements);
+
+        // When
+        MvcResult started = mockMvc.perform(get("/transactions/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        // the context is shared with other integration tests, so only this account's rows are counted
+        JsonNode exported = objectMapper.readTree(result.getResponse().getContentAsString());
+        assertThat(exported.isArray()).isTrue();
+        List<JsonNode> accountRows = new ArrayList<>();
+        long previousId = 0;
+        for (JsonNode transaction : exported) {
+            assertThat(transaction.get("transactionId").asLong()).isGreaterThan(previousId);
+            previousId = transaction.get("transactionId").asLong();
+            if (transaction.get("accountId").asLong() == account.getAccountId()) {
+                accountRows.add(transaction);
+            }
+        }
+        assertThat(accountRows).hasSize(2500);
+        JsonNode last = accountRows.get(2499);
+        assertThat(last.get("balance").asDouble()).isEqualTo(2500.0);
+        assertThat(last.get("account").get("client").get("name").asText()).isEqualTo("Export Client");
+    }
+}
@@ -0,0 +1,72 @@
+package com.pichincha.spfmsaclientecoreservice.integration;
+
+import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.repository.AccountRepository;
+import com.pichincha.spfmsaclientecoreservice.service.AccountService;
+import com.pichincha.spfmsaclientecoreservice.service.ClientService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TransactionImportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    @DisplayName("NDJSON import posts every line and streams one result per line")
+    void importTransactions_streamsResultPerLine() throws Exception {
+        // Given
+        Account account = TestData.createAccount(clientService, accountService, "Import Client", 0L);
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 1200; i++) {
+            ndjson.append("{\"accountId\":").append(account.getAccountId())
+                    .append(",\"transactionType\":\"DEPOSIT\",\"amount\":1.0}\n");
+        }
+        ndjson.append("{\"accountId\":").append(account.getAccountId())
+                .append(",\"transactionType\":\"WITHDRAWAL\",\"amount\":5000.0}\n");
+
+        // When
+        MvcResult started = mockMvc.perform(post("/transactions/import")
+                        .contentType("application/x-ndjson")
+                        .content(ndjson.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(1201);
+        assertThat(lines[1199]).contains("\"index\":1200", "\"status\":\"CREATED\"", "\"balance\":1200.0");
+        assertThat(lines[1200]).contains("\"index\":1201", "\"status\":\"FAILED\"", "Saldo no disponible");
+        assertThat(accountRepository.findHeaderById(account.getAccountId()).orElseThrow().getCurrentBalance())
+                .isEqualTo(120_000L);
+    }
+}
@@ -0,0 +1,95 @@
+package com.pichincha.spfmsaclientecoreservice.integration;
+
+import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+import com.pichincha.spfmsaclientecoreservice.domain.enums.TransactionType;
+import com.pichincha.spfmsaclientecoreservice.exception.InsufficientBalanceException;
+import com.pichincha.spfmsaclientecoreservice.repository.AccountRepository;
+import com.pichincha.spfmsaclientecoreservice.repository.TransactionRepository;
+import com.pichincha.spfmsaclientecoreservice.service.AccountService;
+import com.pichincha.spfmsaclientecoreservice.service.ClientService;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionRecalculationIntegrationTest {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    @DisplayName("Moving a movement back in time recalculates every following balance")
+    void updateTransaction_movedDate_recalculatesFollowingBalances() {
+        // Given - balances 150, 120, 130 on an initial balance of 100
+        Account account = TestData.createAccount(clientService, accountService, "Recalculation Client", 10_000L);
+        Transaction first = TestData.post(transactionService, account.getAccountId(), TransactionType.DEPOSIT, 5000L);
+        Transaction second = TestData.post(transactionService, account.getAccountId(), TransactionType.WITHDRAWAL, 3000L);
+        Transaction third = TestData.post(transactionService, account.getAccountId(), TransactionType.DEPOSIT, 1000L);
+
+        // When - the last deposit becomes a 20 deposit placed before the first movement
+        Transaction changes = new Transaction();
+        changes.setTransactionType(TransactionType.DEPOSIT);
+        changes.setAmount(2000L);
+        changes.setDate(first.getDate().minusMinutes(1));
+        transactionService.updateTransaction(third.getTransactionId(), changes);
+
+        // Then
+        assertThat(balancesInOrder(account)).containsExactly(12_000L, 17_000L, 14_000L);
+        assertThat(currentBalance(account)).isEqualTo(14_000L);
+
+        // When - the withdrawal is removed
+        transactionService.deleteTransaction(second.getTransactionId());
+
+        // Then
+        assertThat(balancesInOrder(account)).containsExactly(12_000L, 17_000L);
+        assertThat(currentBalance(account)).isEqualTo(17_000L);
+    }
+
+    @Test
+    @DisplayName("A recalculation that leaves a negative balance is rolled back")
+    void deleteTransaction_leavingNegativeBalance_isRolledBack() {
+        // Given
+        Account account = TestData.createAccount(clientService, accountService, "Recalculation Client", 0L);
+        Transaction deposit = TestData.post(transactionService, account.getAccountId(), TransactionType.DEPOSIT, 5000L);
+        TestData.post(transactionService, account.getAccountId(), TransactionType.WITHDRAWAL, 4000L);
+
+        // When / Then
+        assertThatThrownBy(() -> transactionService.deleteTransaction(deposit.getTransactionId()))
+                .isInstanceOf(InsufficientBalanceException.class);
+        assertThat(balancesInOrder(account)).containsExactly(5000L, 1000L);
+        assertThat(currentBalance(account)).isEqualTo(1000L);
+    }
+
+    private List<Long> balancesInOrder(Account account) {
+        Account reloaded = accountRepository.findById(account.getAccountId()).orElseThrow();
+        return transactionRepository.findByAccountOrderByDateAsc(reloaded).stream()
+                .map(Transaction::getBalance)
+                .toList();
+    }
+
+    private Long currentBalance(Account account) {
+        return accountRepository.findHeaderById(account.getAccountId()).orElseThrow().getCurrentBalance();
+    }
+}
@@ -33,7 +33,7 @@ class AccountRepositoryTest {
         Account account = new Account();
         account.setAccountNumber("ACCT-001");
         account.setAccountType(AccountType.SAVINGS);
-        account.setInitialBalance(100.0);
+        account.setInitialBalance(10_000L);
         account.setStatus(true);
         account.setClient(savedClient);
 
@@ -5,7 +5,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -69,4 +71,27 @@ class ClientRepositoryTest {
         assertThat(clients).hasSize(2);
         assertThat(clients).extracting("name").containsExactlyInAnyOrder("Client 1", "Client 2");
     }
+
+    @Test
+    @DisplayName("find page after cursor returns clients in ID order")
+    void findPageAfterCursor() {
+        // Given
+        for (int i = 1; i <= 5; i++) {
+            Client client = new Client();
+            client.setName("Client " + i);
+            client.setIdentification("PAGE-00" + i);
+            client.setPassword("pwd");
+            client.setStatus(true);
+            clientRepository.save(client);
+        }
+
+        // When
+        List<Client> firstPage = clientRepository.findPageAfter(0L, Limit.of(3));
+        List<Client> secondPage = clientRepository.findPageAfter(
+                firstPage.get(firstPage.size() - 1).getPersonId(), Limit.of(3));
+
+        // Then
+        assertThat(firstPage).extracting("name").containsExactly("Client 1", "Client 2", "Client 3");
+        assertThat(secondPage).extracting("name").containsExactly("Client 4", "Client 5");
+    }
 }
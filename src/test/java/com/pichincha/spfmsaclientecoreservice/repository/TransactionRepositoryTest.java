@@ -5,10 +5,13 @@ import com.pichincha.spfmsaclientecoreservice.domain.Client;
 import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
 import com.pichincha.spfmsaclientecoreservice.domain.enums.AccountType;
 import com.pichincha.spfmsaclientecoreservice.domain.enums.TransactionType;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.AccountStatementTotals;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.StatementLine;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -41,7 +44,7 @@ class TransactionRepositoryTest {
         Account account = new Account();
         account.setAccountNumber("ACCT-001");
         account.setAccountType(AccountType.SAVINGS);
-        account.setInitialBalance(1000.0);
+        account.setInitialBalance(100_000L);
         account.setStatus(true);
         account.setClient(savedClient);
         Account savedAccount = accountRepository.save(account);
@@ -49,8 +52,8 @@ class TransactionRepositoryTest {
         // Create transaction
         Transaction transaction = new Transaction();
         transaction.setTransactionType(TransactionType.DEPOSIT);
-        transaction.setAmount(500.0);
-        transaction.setBalance(1500.0);
+        transaction.setAmount(50_000L);
+        transaction.setBalance(150_000L);
         transaction.setDate(LocalDateTime.now());
         transaction.setAccount(savedAccount);
 
@@ -59,8 +62,8 @@ class TransactionRepositoryTest {
 
         // Then
         assertThat(savedTransaction.getTransactionId()).isNotNull();
-        assertThat(savedTransaction.getAmount()).isEqualTo(500.0);
-        assertThat(savedTransaction.getBalance()).isEqualTo(1500.0);
+        assertThat(savedTransaction.getAmount()).isEqualTo(50_000L);
+        assertThat(savedTransaction.getBalance()).isEqualTo(150_000L);
         assertThat(savedTransaction.getTransactionType()).isEqualTo(TransactionType.DEPOSIT);
         assertThat(savedTransaction.getAccount()).isNotNull();
         assertThat(savedTransaction.getAccount().getAccountId()).isEqualTo(savedAccount.getAccountId());
@@ -82,7 +85,7 @@ class TransactionRepositoryTest {
         Account account = new Account();
         account.setAccountNumber("ACCT-002");
         account.setAccountType(AccountType.CHECKING);
-        account.setInitialBalance(2000.0);
+        account.setInitialBalance(200_000L);
         account.setStatus(true);
         account.setClient(savedClient);
         Account savedAccount = accountRepository.save(account);
@@ -90,15 +93,15 @@ class TransactionRepositoryTest {
         // Create multiple transactions
         Transaction deposit = new Transaction();
         deposit.setTransactionType(TransactionType.DEPOSIT);
-        deposit.setAmount(300.0);
-        deposit.setBalance(2300.0);
+        deposit.setAmount(30_000L);
+        deposit.setBalance(230_000L);
         deposit.setDate(LocalDateTime.now().minusDays(1));
         deposit.setAccount(savedAccount);
 
         Transaction withdrawal = new Transaction();
         withdrawal.setTransactionType(TransactionType.WITHDRAWAL);
-        withdrawal.setAmount(-100.0);
-        withdrawal.setBalance(2200.0);
+        withdrawal.setAmount(-10_000L);
+        withdrawal.setBalance(220_000L);
         withdrawal.setDate(LocalDateTime.now());
         withdrawal.setAccount(savedAccount);
 
@@ -113,4 +116,121 @@ class TransactionRepositoryTest {
         assertThat(transactions).extracting("transactionType")
                 .containsExactlyInAnyOrder(TransactionType.DEPOSIT, TransactionType.WITHDRAWAL);
     }
+
+    @Test
+    @DisplayName("shift balances after a position and read the surrounding balances")
+    void shiftBalancesAfterPosition() {
+        // Given - Three movements on the same account
+        Client client = new Client();
+        client.setName("Test Client");
+        client.setIdentification("ID-789");
+        client.setPassword("pwd");
+        client.setStatus(true);
+        Client savedClient = clientRepository.save(client);
+
+        Account account = new Account();
+        account.setAccountNumber("ACCT-003");
+        account.setAccountType(AccountType.SAVINGS);
+        account.setInitialBalance(10_000L);
+        account.setStatus(true);
+        account.setClient(savedClient);
+        Account savedAccount = accountRepository.save(account);
+
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        Transaction first = transactionRepository.save(movement(savedAccount, 5000L, 15_000L, base));
+        Transaction second = transactionRepository.save(movement(savedAccount, -3000L, 12_000L, base.plusDays(1)));
+        Transaction third = transactionRepository.save(movement(savedAccount, 1000L, 13_000L, base.plusDays(2)));
+
+        // When
+        int shifted = transactionRepository.shiftBalancesAfter(
+                savedAccount.getAccountId(), second.getDate(), second.getTransactionId(), -20_000L);
+
+        // Then
+        assertThat(shifted).isEqualTo(1);
+        assertThat(transactionRepository.findBalancesBefore(
+                savedAccount.getAccountId(), second.getDate(), second.getTransactionId(), Limit.of(1)))
+                .containsExactly(15_000L);
+        assertThat(transactionRepository.findBalancesBefore(
+                savedAccount.getAccountId(), first.getDate(), first.getTransactionId(), Limit.of(1)))
+                .isEmpty();
+        assertThat(transactionRepository.findMinBalanceFrom(
+                savedAccount.getAccountId(), second.getDate(), second.getTransactionId()))
+                .isEqualTo(-7000L);
+        assertThat(transactionRepository.findMinBalanceFrom(
+                savedAccount.getAccountId(), third.getDate().plusDays(1), 0L))
+                .isNull();
+    }
+
+    @Test
+    @DisplayName("statement lines and per-account totals are read as projections for the period")
+    void statementProjections() {
+        // Given - one account with movements before, inside and after the period, and one without movements
+        Client client = new Client();
+        client.setName("Statement Client");
+        client.setIdentification("ID-STM");
+        client.setPassword("pwd");
+        client.setStatus(true);
+        Client savedClient = clientRepository.save(client);
+
+        Account account = new Account();
+        account.setAccountNumber("ACCT-STM");
+        account.setAccountType(AccountType.SAVINGS);
+        account.setInitialBalance(10_000L);
+        account.setStatus(true);
+        account.setClient(savedClient);
+        Account savedAccount = accountRepository.save(account);
+
+        Account idle = new Account();
+        idle.setAccountNumber("ACCT-IDLE");
+        idle.setAccountType(AccountType.CHECKING);
+        idle.setInitialBalance(4000L);
+        idle.setStatus(true);
+        idle.setClient(savedClient);
+        Account savedIdle = accountRepository.save(idle);
+
+        LocalDateTime start = LocalDateTime.of(2024, 2, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 2, 29, 23, 59);
+        transactionRepository.save(movement(savedAccount, 5000L, 15_000L, start.minusDays(3)));
+        Transaction deposit = transactionRepository.save(movement(savedAccount, 2000L, 17_000L, start.plusDays(1)));
+        transactionRepository.save(movement(savedAccount, -7000L, 10_000L, start.plusDays(2)));
+        transactionRepository.save(movement(savedAccount, 500L, 10_500L, end.plusDays(1)));
+
+        // When
+        List<StatementLine> lines = transactionRepository.findStatementLines(savedClient.getPersonId(), start, end);
+        List<AccountStatementTotals> totals = transactionRepository.summarizeByAccount(
+                savedClient.getPersonId(), start, end);
+
+        // Then
+        assertThat(lines).extracting(StatementLine::amount).containsExactly(2000L, -7000L);
+        StatementLine first = lines.get(0);
+        assertThat(first.transactionId()).isEqualTo(deposit.getTransactionId());
+        assertThat(first.clientName()).isEqualTo("Statement Client");
+        assertThat(first.accountType()).isEqualTo(AccountType.SAVINGS);
+        assertThat(first.balance()).isEqualTo(17_000L);
+
+        assertThat(totals).hasSize(2);
+        AccountStatementTotals active = totals.get(0);
+        assertThat(active.accountId()).isEqualTo(savedAccount.getAccountId());
+        assertThat(active.openingBalance()).isEqualTo(15_000L);
+        assertThat(active.deposits()).isEqualTo(2000L);
+        assertThat(active.withdrawals()).isEqualTo(7000L);
+        assertThat(active.closingBalance()).isEqualTo(10_000L);
+        assertThat(active.movements()).isEqualTo(2L);
+
+        AccountStatementTotals idleTotals = totals.get(1);
+        assertThat(idleTotals.accountId()).isEqualTo(savedIdle.getAccountId());
+        assertThat(idleTotals.openingBalance()).isEqualTo(4000L);
+        assertThat(idleTotals.closingBalance()).isEqualTo(4000L);
+        assertThat(idleTotals.movements()).isZero();
+    }
+
+    private Transaction movement(Account account, Long amount, Long balance, LocalDateTime date) {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionType(amount < 0 ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT);
+        transaction.setAmount(amount);
+        transaction.setBalance(balance);
+        transaction.setDate(date);
+        transaction.setAccount(account);
+        return transaction;
+    }
 }
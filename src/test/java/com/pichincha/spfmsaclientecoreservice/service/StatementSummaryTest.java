@@ -0,0 +1,63 @@
+package com.pichincha.spfmsaclientecoreservice.service;
+
+import com.pichincha.spfmsaclientecoreservice.model.ReportDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementSummaryTest {
+
+    @Test
+    @DisplayName("ofReports - computes global and per-account totals in one pass")
+    void ofReports_computesGlobalAndPerAccountTotals() {
+        // Given
+        List<ReportDTO> reports = List.of(
+                report("478758", "SAVINGS", 1000.0, 500.0, 1500.0),
+                report("478758", "SAVINGS", 1000.0, -200.0, 1300.0),
+                report("225487", "CHECKING", 100.0, -0.1, 99.9),
+                report("225487", "CHECKING", 100.0, -0.2, 99.7));
+
+        // When
+        StatementSummary summary = StatementSummary.ofReports(reports);
+
+        // Then
+        assertThat(summary.rowCount()).isEqualTo(4);
+        assertThat(summary.accountCount()).isEqualTo(2);
+        assertThat(summary.totalInitialBalance()).isEqualTo(1100.0);
+        assertThat(summary.totalDeposits()).isEqualTo(500.0);
+        assertThat(summary.totalWithdrawals()).isEqualTo(200.3);
+        assertThat(summary.maxAvailableBalance()).isEqualTo(1500.0);
+
+        StatementSummary.AccountTotals checking = summary.accounts().get("225487-CHECKING");
+        assertThat(checking.initialBalance()).isEqualTo(100.0);
+        assertThat(checking.deposits()).isZero();
+        assertThat(checking.withdrawals()).isEqualTo(0.3);
+        assertThat(checking.closingBalance()).isEqualTo(99.7);
+    }
+
+    @Test
+    @DisplayName("ofReports - empty statement has zero totals")
+    void ofReports_emptyStatement() {
+        StatementSummary summary = StatementSummary.ofReports(List.of());
+
+        assertThat(summary.accountCount()).isZero();
+        assertThat(summary.totalInitialBalance()).isZero();
+        assertThat(summary.totalDeposits()).isZero();
+        assertThat(summary.totalWithdrawals()).isZero();
+        assertThat(summary.maxAvailableBalance()).isZero();
+    }
+
+    private ReportDTO report(String accountNumber, String type, Double initialBalance, Double movement,
+                             Double availableBalance) {
+        ReportDTO report = new ReportDTO();
+        report.setAccountNumber(accountNumber);
+        report.setType(type);
+        report.setInitialBalance(initialBalance);
+        report.setMovement(movement);
+        report.setAvailableBalance(availableBalance);
+        return report;
+    }
+}
@@ -3,15 +3,25 @@ package com.pichincha.spfmsaclientecoreservice.service.impl;
 import com.pichincha.spfmsaclientecoreservice.domain.Account;
 import com.pichincha.spfmsaclientecoreservice.domain.Client;
 import com.pichincha.spfmsaclientecoreservice.exception.ResourceNotFoundException;
+import com.pichincha.spfmsaclientecoreservice.model.AccountDTO;
 import com.pichincha.spfmsaclientecoreservice.repository.AccountRepository;
+import com.pichincha.spfmsaclientecoreservice.repository.ArchivedTransactionRepository;
 import com.pichincha.spfmsaclientecoreservice.repository.ClientRepository;
+import com.pichincha.spfmsaclientecoreservice.repository.TransactionRepository;
+import com.pichincha.spfmsaclientecoreservice.service.HeaderCacheService;
+import com.pichincha.spfmsaclientecoreservice.service.KeysetPage;
+import com.pichincha.spfmsaclientecoreservice.service.StatementCacheService;
+import com.pichincha.spfmsaclientecoreservice.service.mapper.AccountMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -29,6 +39,21 @@ class AccountServiceImplTest {
     @Mock
     private ClientRepository clientRepository;
 
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    @Mock
+    private AccountMapper accountMapper;
+
+    @Mock
+    private HeaderCacheService headerCacheService;
+
+    @Mock
+    private StatementCacheService statementCacheService;
+
     @InjectMocks
     private AccountServiceImpl accountService;
 
@@ -57,7 +82,7 @@ class AccountServiceImplTest {
         saved.setAccountNumber("ACC-123");
         saved.setClient(persistedClient);
 
-        when(clientRepository.findById(1L)).thenReturn(Optional.of(persistedClient));
+        when(clientRepository.findHeaderById(1L)).thenReturn(Optional.of(persistedClient));
         when(accountRepository.save(any(Account.class))).thenReturn(saved);
 
         Account result = accountService.createAccount(toSave);
@@ -65,7 +90,7 @@ class AccountServiceImplTest {
         assertNotNull(result);
         assertEquals(10L, result.getAccountId());
         assertNotNull(result.getClient());
-        verify(clientRepository, times(1)).findById(1L);
+        verify(clientRepository, times(1)).findHeaderById(1L);
         verify(accountRepository, times(1)).save(any(Account.class));
     }
 
@@ -78,13 +103,13 @@ class AccountServiceImplTest {
         toSave.setAccountNumber("ACC-999");
         toSave.setClient(client);
 
-        when(clientRepository.findById(99L)).thenReturn(Optional.empty());
+        when(clientRepository.findHeaderById(99L)).thenReturn(Optional.empty());
 
         ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
                 () -> accountService.createAccount(toSave));
 
         assertTrue(ex.getMessage().contains("Client not found"));
-        verify(clientRepository, times(1)).findById(99L);
+        verify(clientRepository, times(1)).findHeaderById(99L);
         verify(accountRepository, never()).save(any());
     }
 
@@ -106,27 +131,56 @@ class AccountServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals(20L, result.getAccountId());
-        verify(clientRepository, never()).findById(any());
+        verify(clientRepository, never()).findHeaderById(any());
         verify(accountRepository, times(1)).save(toSave);
     }
 
     @Test
-    void getAllAccounts_returnsAllAccounts() {
+    void createAccount_initializesCurrentBalanceFromInitialBalance() {
+        // Given
+        Account toSave = new Account();
+        toSave.setAccountNumber("ACC-BALANCE");
+        toSave.setInitialBalance(25_000L);
+
+        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Account result = accountService.createAccount(toSave);
+
+        // Then
+        assertEquals(25_000L, result.getCurrentBalance());
+    }
+
+    @Test
+    void getAccountsPage_fetchesOneExtraRowToDetectNextPage() {
         // Given
-        List<Account> accounts = Arrays.asList(
-                createTestAccount(1L, "ACC-001"),
-                createTestAccount(2L, "ACC-002")
+        List<Account> rows = Arrays.asList(
+                createTestAccount(4L, "ACC-004"),
+                createTestAccount(5L, "ACC-005"),
+                createTestAccount(6L, "ACC-006")
         );
-        when(accountRepository.findAll()).thenReturn(accounts);
+        when(accountRepository.findPageAfter(3L, Limit.of(3))).thenReturn(rows);
+
+        // When
+        KeysetPage<Account> page = accountService.getAccountsPage(3L, 2);
+
+        // Then
+        assertThat(page.content()).extracting(Account::getAccountId).containsExactly(4L, 5L);
+        assertThat(page.nextKey()).isEqualTo(5L);
+    }
+
+    @Test
+    void getAccountsPage_lastPage_hasNoNextKey() {
+        // Given
+        when(accountRepository.findPageAfter(5L, Limit.of(3)))
+                .thenReturn(List.of(createTestAccount(6L, "ACC-006")));
 
         // When
-        List<Account> result = accountService.getAllAccounts();
+        KeysetPage<Account> page = accountService.getAccountsPage(5L, 2);
 
         // Then
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).getAccountNumber()).isEqualTo("ACC-001");
-        assertThat(result.get(1).getAccountNumber()).isEqualTo("ACC-002");
-        verify(accountRepository, times(1)).findAll();
+        assertThat(page.content()).hasSize(1);
+        assertThat(page.nextKey()).isNull();
     }
 
     @Test
@@ -157,13 +211,32 @@ class AccountServiceImplTest {
         verify(accountRepository, times(1)).findById(99L);
     }
 
+    @Test
+    void findAccountHeader_existingAccount_readsHeaderWithoutMovements() {
+        // Given
+        Account testAccount = createTestAccount(1L, "ACC-HEAD");
+        AccountDTO accountDTO = new AccountDTO().accountId(1L).accountNumber("ACC-HEAD");
+        when(accountRepository.findHeaderById(1L)).thenReturn(Optional.of(testAccount));
+        when(accountMapper.toDto(testAccount)).thenReturn(accountDTO);
+
+        // When
+        Optional<AccountDTO> result = accountService.findAccountHeader(1L);
+
+        // Then
+        assertThat(result).containsSame(accountDTO);
+        verify(accountRepository, never()).findById(any());
+    }
+
     @Test
     void updateAccount_existingAccount_updatesAndReturns() {
         // Given
         Account existingAccount = createTestAccount(1L, "ACC-OLD");
+        Client owner = new Client();
+        owner.setPersonId(5L);
+        existingAccount.setClient(owner);
         Account updateData = new Account();
         updateData.setAccountNumber("ACC-UPDATED");
-        updateData.setInitialBalance(2000.0);
+        updateData.setInitialBalance(200_000L);
         updateData.setStatus(false);
 
         when(accountRepository.findById(1L)).thenReturn(Optional.of(existingAccount));
@@ -174,10 +247,12 @@ class AccountServiceImplTest {
 
         // Then
         assertThat(result.getAccountNumber()).isEqualTo("ACC-UPDATED");
-        assertThat(result.getInitialBalance()).isEqualTo(2000.0);
+        assertThat(result.getInitialBalance()).isEqualTo(200_000L);
         assertThat(result.getStatus()).isFalse();
         verify(accountRepository, times(1)).findById(1L);
         verify(accountRepository, times(1)).save(existingAccount);
+        verify(headerCacheService).evictAccount(1L);
+        verify(statementCacheService).evictClient(5L);
     }
 
     @Test
@@ -224,11 +299,86 @@ class AccountServiceImplTest {
         verify(accountRepository, never()).deleteById(any());
     }
 
+    @Test
+    void getBalanceAt_withMovementUpToThatDay_returnsItsRunningBalance() {
+        // Given
+        when(accountRepository.findHeaderById(1L)).thenReturn(Optional.of(createTestAccount(1L, "ACC-1")));
+        when(transactionRepository.findBalancesBefore(1L, LocalDateTime.of(2024, 3, 16, 0, 0), Long.MIN_VALUE, Limit.of(1)))
+                .thenReturn(List.of(125_000L));
+
+        // When
+        Long balance = accountService.getBalanceAt(1L, LocalDate.of(2024, 3, 15));
+
+        // Then
+        assertEquals(125_000L, balance);
+        verifyNoInteractions(archivedTransactionRepository);
+    }
+
+    @Test
+    void getBalanceAt_beforeAnyMovement_returnsInitialBalance() {
+        // Given
+        when(accountRepository.findHeaderById(1L)).thenReturn(Optional.of(createTestAccount(1L, "ACC-1")));
+        when(transactionRepository.findBalancesBefore(eq(1L), any(LocalDateTime.class), eq(Long.MIN_VALUE), any(Limit.class)))
+                .thenReturn(List.of());
+
+        // When
+        Long balance = accountService.getBalanceAt(1L, LocalDate.of(2024, 3, 15));
+
+        // Then
+        assertEquals(100_000L, balance);
+    }
+
+    @Test
+    void getBalanceAt_afterArchiveCutoff_returnsCheckpointBalance() {
+        // Given
+        Account archived = createTestAccount(1L, "ACC-1");
+        archived.setArchivedUntil(LocalDateTime.of(2023, 1, 1, 0, 0));
+        archived.setArchivedBalance(87_000L);
+        when(accountRepository.findHeaderById(1L)).thenReturn(Optional.of(archived));
+        when(transactionRepository.findBalancesBefore(eq(1L), any(LocalDateTime.class), eq(Long.MIN_VALUE), any(Limit.class)))
+                .thenReturn(List.of());
+
+        // When
+        Long balance = accountService.getBalanceAt(1L, LocalDate.of(2023, 6, 30));
+
+        // Then
+        assertEquals(87_000L, balance);
+        verifyNoInteractions(archivedTransactionRepository);
+    }
+
+    @Test
+    void getBalanceAt_beforeArchiveCutoff_readsArchivedRunningBalance() {
+        // Given
+        Account archived = createTestAccount(1L, "ACC-1");
+        archived.setArchivedUntil(LocalDateTime.of(2023, 1, 1, 0, 0));
+        archived.setArchivedBalance(87_000L);
+        when(accountRepository.findHeaderById(1L)).thenReturn(Optional.of(archived));
+        when(transactionRepository.findBalancesBefore(eq(1L), any(LocalDateTime.class), eq(Long.MIN_VALUE), any(Limit.class)))
+                .thenReturn(List.of());
+        when(archivedTransactionRepository.findBalancesBefore(1L, LocalDateTime.of(2022, 7, 1, 0, 0), Limit.of(1)))
+                .thenReturn(List.of(94_000L));
+
+        // When
+        Long balance = accountService.getBalanceAt(1L, LocalDate.of(2022, 6, 30));
+
+        // Then
+        assertEquals(94_000L, balance);
+    }
+
+    @Test
+    void getBalanceAt_nonExistingAccount_throwsResourceNotFoundException() {
+        // Given
+        when(accountRepository.findHeaderById(99L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> accountService.getBalanceAt(99L, LocalDate.of(2024, 1, 1)));
+    }
+
     private Account createTestAccount(Long id, String accountNumber) {
         Account account = new Account();
         account.setAccountId(id);
         account.setAccountNumber(accountNumber);
-        account.setInitialBalance(1000.0);
+        account.setInitialBalance(100_000L);
         account.setStatus(true);
         return account;
     }
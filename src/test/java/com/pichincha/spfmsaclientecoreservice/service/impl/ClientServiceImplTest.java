@@ -1,8 +1,13 @@
 package com.pichincha.spfmsaclientecoreservice.service.impl;
 
+import com.pichincha.spfmsaclientecoreservice.domain.Account;
 import com.pichincha.spfmsaclientecoreservice.domain.Client;
 import com.pichincha.spfmsaclientecoreservice.exception.ResourceNotFoundException;
+import com.pichincha.spfmsaclientecoreservice.model.ClientDTO;
 import com.pichincha.spfmsaclientecoreservice.repository.ClientRepository;
+import com.pichincha.spfmsaclientecoreservice.service.HeaderCacheService;
+import com.pichincha.spfmsaclientecoreservice.service.StatementCacheService;
+import com.pichincha.spfmsaclientecoreservice.service.mapper.ClientMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,7 +16,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +31,15 @@ class ClientServiceImplTest {
     @Mock
     private ClientRepository clientRepository;
 
+    @Mock
+    private ClientMapper clientMapper;
+
+    @Mock
+    private HeaderCacheService headerCacheService;
+
+    @Mock
+    private StatementCacheService statementCacheService;
+
     @InjectMocks
     private ClientServiceImpl clientService;
 
@@ -71,22 +84,6 @@ class ClientServiceImplTest {
         verify(clientRepository, times(1)).save(clientToSave);
     }
 
-    @Test
-    @DisplayName("getAllClients - returns list of clients")
-    void getAllClients_returnsListOfClients() {
-        // Given
-        List<Client> clients = Arrays.asList(testClient, new Client());
-        when(clientRepository.findAll()).thenReturn(clients);
-
-        // When
-        List<Client> result = clientService.getAllClients();
-
-        // Then
-        assertThat(result).hasSize(2);
-        assertThat(result).containsExactly(testClient, clients.get(1));
-        verify(clientRepository, times(1)).findAll();
-    }
-
     @Test
     @DisplayName("findClientById - existing client returns Optional with client")
     void findClientById_existingClient_returnsOptionalWithClient() {
@@ -116,6 +113,56 @@ class ClientServiceImplTest {
         verify(clientRepository, times(1)).findById(99L);
     }
 
+    @Test
+    @DisplayName("findClientHeader - existing client returns its DTO")
+    void findClientHeader_existingClient_returnsDto() {
+        // Given
+        ClientDTO clientDTO = new ClientDTO().clientId(1L).name("John Doe");
+        when(clientRepository.findHeaderById(1L)).thenReturn(Optional.of(testClient));
+        when(clientMapper.toDto(testClient)).thenReturn(clientDTO);
+
+        // When
+        Optional<ClientDTO> result = clientService.findClientHeader(1L);
+
+        // Then
+        assertThat(result).containsSame(clientDTO);
+    }
+
+    @Test
+    @DisplayName("findClientHeader - non-existing client returns empty Optional")
+    void findClientHeader_nonExistingClient_returnsEmptyOptional() {
+        // Given
+        when(clientRepository.findHeaderById(99L)).thenReturn(Optional.empty());
+
+        // When
+        Optional<ClientDTO> result = clientService.findClientHeader(99L);
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(clientMapper);
+    }
+
+    @Test
+    @DisplayName("updateClient - evicts the client, the accounts embedding it and its statements")
+    void updateClient_existingClient_evictsClientAndAccountHeaders() {
+        // Given
+        Account first = new Account();
+        first.setAccountId(10L);
+        Account second = new Account();
+        second.setAccountId(11L);
+        testClient.setAccounts(List.of(first, second));
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(testClient));
+        when(clientRepository.save(testClient)).thenReturn(testClient);
+
+        // When
+        clientService.updateClient(1L, testClient);
+
+        // Then
+        verify(headerCacheService).evictClient(1L);
+        verify(headerCacheService).evictAccounts(List.of(10L, 11L));
+        verify(statementCacheService).evictClient(1L);
+    }
+
     @Test
     @DisplayName("updateClient - existing client updates and returns client")
     void updateClient_existingClient_updatesAndReturnsClient() {
@@ -0,0 +1,66 @@
+package com.pichincha.spfmsaclientecoreservice.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstanceDirectoryTest {
+
+    @TempDir
+    private Path base;
+
+    @Test
+    @DisplayName("Instances sharing a base directory keep each other's files")
+    void create_sharedBase_keepsRunningInstanceFiles() throws IOException {
+        // Given
+        try (InstanceDirectory first = InstanceDirectory.create(base)) {
+            Path result = Files.writeString(first.path().resolve("job.pdf"), "%PDF");
+
+            // When
+            try (InstanceDirectory second = InstanceDirectory.create(base)) {
+
+                // Then
+                assertThat(second.path()).isNotEqualTo(first.path()).startsWith(base);
+                assertThat(result).exists();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A directory whose instance stopped without cleaning up is removed at startup")
+    void create_abandonedDirectory_removed() throws IOException {
+        // Given - a lock file nobody holds, as left by a killed instance
+        Path abandoned = Files.createDirectory(base.resolve("abandoned"));
+        Files.createFile(abandoned.resolve(".lock"));
+        Files.writeString(abandoned.resolve("job.pdf"), "%PDF");
+        Path unrelated = Files.createDirectory(base.resolve("unrelated"));
+
+        // When
+        try (InstanceDirectory ignored = InstanceDirectory.create(base)) {
+
+            // Then
+            assertThat(abandoned).doesNotExist();
+            assertThat(unrelated).exists();
+        }
+    }
+
+    @Test
+    @DisplayName("Closing the directory deletes it with its files")
+    void close_deletesDirectory() throws IOException {
+        // Given
+        InstanceDirectory directory = InstanceDirectory.create(base);
+        Files.writeString(directory.path().resolve("job.pdf"), "%PDF");
+
+        // When
+        directory.close();
+
+        // Then
+        assertThat(directory.path()).doesNotExist();
+    }
+}
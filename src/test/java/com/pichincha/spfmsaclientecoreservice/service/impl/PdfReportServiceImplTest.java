@@ -4,21 +4,22 @@ import com.pichincha.spfmsaclientecoreservice.model.ReportDTO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Semaphore;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
-@ExtendWith(MockitoExtension.class)
 class PdfReportServiceImplTest {
 
-    @InjectMocks
-    private PdfReportServiceImpl pdfReportService;
+    private final PdfReportServiceImpl pdfReportService = new PdfReportServiceImpl(1);
 
     private ReportDTO reportDTO1;
     private ReportDTO reportDTO2;
@@ -121,4 +122,77 @@ class PdfReportServiceImplTest {
         String pdfHeader = new String(Arrays.copyOfRange(pdfBytes, 0, 4));
         assertThat(pdfHeader).isEqualTo("%PDF");
     }
+
+    @Test
+    @DisplayName("generateAccountStatementPdf - compiles the report once and reuses it")
+    void generateAccountStatementPdf_reusesCompiledReport() {
+        // Given
+        List<ReportDTO> reportData = Arrays.asList(reportDTO1, reportDTO2);
+        pdfReportService.generateAccountStatementPdf(reportData);
+        Object compiled = ReflectionTestUtils.getField(pdfReportService, "compiledReport");
+
+        // When
+        pdfReportService.generateAccountStatementPdf(reportData);
+
+        // Then
+        assertThat(compiled).isNotNull();
+        assertThat(ReflectionTestUtils.getField(pdfReportService, "compiledReport")).isSameAs(compiled);
+    }
+
+    @Test
+    @DisplayName("invalidateCompiledReport - next request compiles a new report")
+    void invalidateCompiledReport_recompilesOnNextRequest() {
+        // Given
+        List<ReportDTO> reportData = Arrays.asList(reportDTO1, reportDTO2);
+        pdfReportService.generateAccountStatementPdf(reportData);
+        Object compiled = ReflectionTestUtils.getField(pdfReportService, "compiledReport");
+
+        // When
+        pdfReportService.invalidateCompiledReport();
+        byte[] pdfBytes = pdfReportService.generateAccountStatementPdf(reportData);
+
+        // Then
+        assertThat(pdfBytes).isNotEmpty();
+        assertThat(ReflectionTestUtils.getField(pdfReportService, "compiledReport"))
+                .isNotNull()
+                .isNotSameAs(compiled);
+    }
+
+    @Test
+    @DisplayName("writeAccountStatementPdf - writes the same PDF into the given stream")
+    void writeAccountStatementPdf_writesPdfToStream() {
+        // Given
+        List<ReportDTO> reportData = Arrays.asList(reportDTO1, reportDTO2);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        pdfReportService.writeAccountStatementPdf(reportData, outputStream);
+
+        // Then
+        byte[] pdfBytes = outputStream.toByteArray();
+        assertThat(pdfBytes).isNotEmpty();
+        assertThat(new String(Arrays.copyOfRange(pdfBytes, 0, 4))).isEqualTo("%PDF");
+    }
+
+    @Test
+    @DisplayName("writeAccountStatementPdf - releases the render permit when writing fails")
+    void writeAccountStatementPdf_releasesPermitOnFailure() {
+        // Given
+        List<ReportDTO> reportData = Arrays.asList(reportDTO1, reportDTO2);
+        OutputStream brokenStream = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("conexión cerrada");
+            }
+        };
+
+        // When
+        assertThatThrownBy(() -> pdfReportService.writeAccountStatementPdf(reportData, brokenStream))
+                .isInstanceOf(RuntimeException.class);
+
+        // Then - the single permit is free again, so the next render does not wait forever
+        Semaphore permits = (Semaphore) ReflectionTestUtils.getField(pdfReportService, "renderPermits");
+        assertThat(permits.availablePermits()).isEqualTo(1);
+        assertThat(pdfReportService.generateAccountStatementPdf(reportData)).isNotEmpty();
+    }
 }
@@ -0,0 +1,156 @@
+package com.pichincha.spfmsaclientecoreservice.service.impl;
+
+import com.pichincha.spfmsaclientecoreservice.model.ReportDTO;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.StatementLine;
+import com.pichincha.spfmsaclientecoreservice.service.PdfReportService;
+import com.pichincha.spfmsaclientecoreservice.service.ReportJob;
+import com.pichincha.spfmsaclientecoreservice.service.ReportService;
+import com.pichincha.spfmsaclientecoreservice.service.mapper.ReportMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportJobServiceImplTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 12, 31);
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private ReportMapper reportMapper;
+
+    @Mock
+    private PdfReportService pdfReportService;
+
+    @TempDir
+    private Path directory;
+
+    private ReportResultStore resultStore;
+    private final List<Runnable> queued = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        resultStore = new ReportResultStore(directory);
+    }
+
+    @Test
+    @DisplayName("submitAccountStatement - renders the PDF on the worker and completes the job")
+    void submitAccountStatement_rendersPdfAndCompletes() throws IOException {
+        // Given
+        ReportJobServiceImpl service = newService(Duration.ofHours(1));
+        List<StatementLine> lines = List.of(new StatementLine(1L, 1L, null, "Jose Lema", "478758", null, 10_000L, true, 1000L, 11_000L));
+        List<ReportDTO> reports = List.of(new ReportDTO());
+        when(reportService.findStatementLines(1L, START, END)).thenReturn(lines);
+        when(reportMapper.toStatementFromLines(lines)).thenReturn(reports);
+        doAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(1);
+            output.write("%PDF".getBytes(StandardCharsets.US_ASCII));
+            return null;
+        }).when(pdfReportService).writeAccountStatementPdf(eq(reports), any(OutputStream.class));
+
+        // When
+        ReportJob job = service.submitAccountStatement(1L, START, END);
+
+        // Then
+        assertThat(job.status()).isEqualTo(ReportJob.Status.PENDING);
+        assertThat(service.findResult(job.jobId())).isEmpty();
+
+        queued.forEach(Runnable::run);
+
+        assertThat(service.findJob(job.jobId())).get()
+                .extracting(ReportJob::status).isEqualTo(ReportJob.Status.COMPLETED);
+        Path result = service.findResult(job.jobId()).orElseThrow();
+        assertThat(Files.readString(result)).isEqualTo("%PDF");
+    }
+
+    @Test
+    @DisplayName("submitAccountStatement - failed rendering marks the job FAILED without result")
+    void submitAccountStatement_failureMarksJobFailed() {
+        // Given
+        ReportJobServiceImpl service = newService(Duration.ofHours(1));
+        when(reportService.findStatementLines(1L, START, END)).thenReturn(List.of());
+        when(reportMapper.toStatementFromLines(anyList())).thenReturn(List.of());
+        doThrow(new UncheckedIOException(new IOException("disco lleno")))
+                .when(pdfReportService).writeAccountStatementPdf(anyList(), any(OutputStream.class));
+
+        // When
+        ReportJob job = service.submitAccountStatement(1L, START, END);
+        queued.forEach(Runnable::run);
+
+        // Then
+        ReportJob failed = service.findJob(job.jobId()).orElseThrow();
+        assertThat(failed.status()).isEqualTo(ReportJob.Status.FAILED);
+        assertThat(failed.error()).contains("disco lleno");
+        assertThat(service.findResult(job.jobId())).isEmpty();
+        assertThat(resultStore.resultPath(job.jobId())).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("submitAccountStatement - full worker queue rejects the job and forgets it")
+    void submitAccountStatement_rejectedWhenQueueFull() {
+        // Given
+        ReportJobServiceImpl service = new ReportJobServiceImpl(reportService, reportMapper, pdfReportService,
+                resultStore, task -> {
+                    throw new RejectedExecutionException("full");
+                }, Duration.ofHours(1));
+
+        // When / Then
+        assertThatThrownBy(() -> service.submitAccountStatement(1L, START, END))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(service.evictExpiredJobs()).isZero();
+        verifyNoInteractions(reportService);
+    }
+
+    @Test
+    @DisplayName("evictExpiredJobs - drops finished jobs past the TTL and their PDF, keeps pending ones")
+    void evictExpiredJobs_dropsFinishedJobsOnly() {
+        // Given
+        ReportJobServiceImpl service = newService(Duration.ZERO);
+        when(reportService.findStatementLines(any(), any(), any())).thenReturn(List.of());
+        when(reportMapper.toStatementFromLines(anyList())).thenReturn(List.of());
+        ReportJob finished = service.submitAccountStatement(1L, START, END);
+        queued.forEach(Runnable::run);
+        queued.clear();
+        ReportJob pending = service.submitAccountStatement(2L, START, END);
+        Path result = resultStore.resultPath(finished.jobId());
+        assertThat(result).exists();
+
+        // When
+        int evicted = service.evictExpiredJobs();
+
+        // Then
+        assertThat(evicted).isEqualTo(1);
+        assertThat(service.findJob(finished.jobId())).isEmpty();
+        assertThat(result).doesNotExist();
+        assertThat(service.findJob(pending.jobId())).isPresent();
+    }
+
+    private ReportJobServiceImpl newService(Duration ttl) {
+        return new ReportJobServiceImpl(reportService, reportMapper, pdfReportService, resultStore, queued::add, ttl);
+    }
+}
@@ -1,8 +1,11 @@
 package com.pichincha.spfmsaclientecoreservice.service.impl;
 
-import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+import com.pichincha.spfmsaclientecoreservice.domain.enums.AccountType;
+import com.pichincha.spfmsaclientecoreservice.repository.ArchivedTransactionRepository;
 import com.pichincha.spfmsaclientecoreservice.repository.TransactionRepository;
-import org.junit.jupiter.api.BeforeEach;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.AccountStatementTotals;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.ArchivedPeriodTotals;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.StatementLine;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,7 +15,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,104 +28,62 @@ class ReportServiceImplTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
     @InjectMocks
     private ReportServiceImpl reportService;
 
-    private Transaction transaction1;
-    private Transaction transaction2;
-
-    @BeforeEach
-    void setUp() {
-        transaction1 = new Transaction();
-        transaction1.setTransactionId(1L);
-        transaction1.setAmount(100.0);
-        transaction1.setBalance(1100.0);
-        transaction1.setDate(LocalDateTime.now().minusDays(1));
-
-        transaction2 = new Transaction();
-        transaction2.setTransactionId(2L);
-        transaction2.setAmount(-50.0);
-        transaction2.setBalance(1050.0);
-        transaction2.setDate(LocalDateTime.now());
-    }
-
     @Test
-    @DisplayName("generateAccountStatement - returns transactions for client in date range")
-    void generateAccountStatement_returnsTransactionsForClientInDateRange() {
+    @DisplayName("findStatementLines - merges archived rows ahead of the hot rows of each account")
+    void findStatementLines_mergesArchivedRowsInStatementOrder() {
         // Given
-        Long clientId = 1L;
-        LocalDate startDate = LocalDate.now().minusDays(7);
-        LocalDate endDate = LocalDate.now();
-        List<Transaction> expectedTransactions = Arrays.asList(transaction1, transaction2);
-
-        when(transactionRepository.findByClientAndDateRange(
-                anyLong(), 
-                any(LocalDateTime.class), 
-                any(LocalDateTime.class)
-        )).thenReturn(expectedTransactions);
+        StatementLine archivedFirst = line(1L, 10L, LocalDateTime.of(2020, 1, 10, 9, 0), 110_000L);
+        StatementLine archivedSecond = line(2L, 20L, LocalDateTime.of(2020, 1, 12, 9, 0), 50_000L);
+        StatementLine hotFirst = line(3L, 10L, LocalDateTime.of(2020, 4, 1, 9, 0), 115_000L);
+        StatementLine hotSecond = line(4L, 20L, LocalDateTime.of(2020, 4, 2, 9, 0), 45_000L);
+        when(transactionRepository.findStatementLines(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(hotFirst, hotSecond));
+        when(archivedTransactionRepository.findStatementLines(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(archivedFirst, archivedSecond));
 
         // When
-        List<Transaction> result = reportService.generateAccountStatement(clientId, startDate, endDate);
+        List<StatementLine> lines = reportService.findStatementLines(1L, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31));
 
-        // Then
-        assertThat(result).hasSize(2);
-        assertThat(result).containsExactly(transaction1, transaction2);
-        
-        verify(transactionRepository, times(1)).findByClientAndDateRange(
-                eq(clientId),
-                any(LocalDateTime.class),
-                any(LocalDateTime.class)
-        );
+        // Then - each row carries its account balance before the account's first movement in the period
+        assertThat(lines).extracting(StatementLine::transactionId).containsExactly(1L, 3L, 2L, 4L);
+        assertThat(lines).extracting(StatementLine::initialBalance)
+                .containsExactly(109_000L, 109_000L, 49_000L, 49_000L);
     }
 
     @Test
-    @DisplayName("generateAccountStatement - returns empty list when no transactions found")
-    void generateAccountStatement_returnsEmptyListWhenNoTransactionsFound() {
-        // Given
-        Long clientId = 1L;
-        LocalDate startDate = LocalDate.now().minusDays(7);
-        LocalDate endDate = LocalDate.now();
-
-        when(transactionRepository.findByClientAndDateRange(
-                anyLong(), 
-                any(LocalDateTime.class), 
-                any(LocalDateTime.class)
-        )).thenReturn(List.of());
+    @DisplayName("summarizeAccountStatement - moves archived movements of the period out of the opening balance")
+    void summarizeAccountStatement_addsArchivedMovementsOfThePeriod() {
+        // Given - checkpoint 1070 counted as prior, 30 withdrawn in the period is archived
+        AccountStatementTotals hot = new AccountStatementTotals(10L, "478758", AccountType.SAVINGS,
+                100_000L, 7000L, 5000L, 0L, 1L);
+        AccountStatementTotals untouched = new AccountStatementTotals(20L, "225487", AccountType.CHECKING,
+                10_000L, 0L, 0L, 0L, 0L);
+        when(transactionRepository.summarizeByAccount(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(hot, untouched));
+        when(archivedTransactionRepository.summarizeSince(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(new ArchivedPeriodTotals(10L, -3000L, 0L, 3000L, 1L)));
 
         // When
-        List<Transaction> result = reportService.generateAccountStatement(clientId, startDate, endDate);
+        List<AccountStatementTotals> totals = reportService.summarizeAccountStatement(
+                1L, LocalDate.of(2020, 2, 1), LocalDate.of(2020, 12, 31));
 
         // Then
-        assertThat(result).isEmpty();
-        verify(transactionRepository, times(1)).findByClientAndDateRange(
-                eq(clientId),
-                any(LocalDateTime.class),
-                any(LocalDateTime.class)
-        );
+        assertThat(totals).hasSize(2);
+        assertThat(totals.get(0).openingBalance()).isEqualTo(110_000L);
+        assertThat(totals.get(0).withdrawals()).isEqualTo(3000L);
+        assertThat(totals.get(0).movements()).isEqualTo(2L);
+        assertThat(totals.get(0).closingBalance()).isEqualTo(112_000L);
+        assertThat(totals.get(1)).isEqualTo(untouched);
     }
 
-    @Test
-    @DisplayName("generateAccountStatement - calls repository with correct date time ranges")
-    void generateAccountStatement_callsRepositoryWithCorrectDateTimeRanges() {
-        // Given
-        Long clientId = 1L;
-        LocalDate startDate = LocalDate.of(2023, 1, 1);
-        LocalDate endDate = LocalDate.of(2023, 1, 31);
-
-        when(transactionRepository.findByClientAndDateRange(
-                anyLong(), 
-                any(LocalDateTime.class), 
-                any(LocalDateTime.class)
-        )).thenReturn(List.of());
-
-        // When
-        reportService.generateAccountStatement(clientId, startDate, endDate);
-
-        // Then
-        verify(transactionRepository, times(1)).findByClientAndDateRange(
-                eq(clientId),
-                eq(LocalDateTime.of(2023, 1, 1, 0, 0, 0)),
-                eq(LocalDateTime.of(2023, 1, 31, 23, 59, 59, 999999999))
-        );
+    private StatementLine line(Long transactionId, Long accountId, LocalDateTime date, Long balance) {
+        return new StatementLine(transactionId, accountId, date, "Jose Lema", "ACC-" + accountId,
+                AccountType.SAVINGS, 100_000L, true, 1000L, balance);
     }
 }
@@ -0,0 +1,85 @@
+package com.pichincha.spfmsaclientecoreservice.service.impl;
+
+import com.pichincha.spfmsaclientecoreservice.repository.AccountRepository;
+import com.pichincha.spfmsaclientecoreservice.repository.ClientRepository;
+import com.pichincha.spfmsaclientecoreservice.repository.TransactionRepository;
+import com.pichincha.spfmsaclientecoreservice.repository.projection.AccountVersion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResourceVersionServiceImplTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @InjectMocks
+    private ResourceVersionServiceImpl resourceVersionService;
+
+    @Test
+    @DisplayName("The account ETag follows both the account and the embedded client version")
+    void findAccountEtag_combinesAccountAndClientVersion() {
+        // Given
+        when(accountRepository.findVersionById(1L))
+                .thenReturn(Optional.of(new AccountVersion(1L, 4L, 2L)))
+                .thenReturn(Optional.of(new AccountVersion(1L, 4L, 3L)));
+
+        // When
+        String before = resourceVersionService.findAccountEtag(1L).orElseThrow();
+        String after = resourceVersionService.findAccountEtag(1L).orElseThrow();
+
+        // Then
+        assertThat(before).isEqualTo("a1-4-2");
+        assertThat(after).isNotEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("The statement ETag changes when any account of the client moves")
+    void findStatementEtag_changesWithAnyAccountVersion() {
+        // Given
+        when(clientRepository.findVersionById(7L)).thenReturn(Optional.of(0L));
+        when(accountRepository.findVersionsByClientId(7L))
+                .thenReturn(List.of(new AccountVersion(1L, 3L, 0L), new AccountVersion(2L, 5L, 0L)))
+                .thenReturn(List.of(new AccountVersion(1L, 3L, 0L), new AccountVersion(2L, 5L, 0L)))
+                .thenReturn(List.of(new AccountVersion(1L, 3L, 0L), new AccountVersion(2L, 6L, 0L)));
+
+        // When
+        String first = resourceVersionService.findStatementEtag(7L).orElseThrow();
+        String repeated = resourceVersionService.findStatementEtag(7L).orElseThrow();
+        String posted = resourceVersionService.findStatementEtag(7L).orElseThrow();
+
+        // Then
+        assertThat(repeated).isEqualTo(first).startsWith("s7-");
+        assertThat(posted).isNotEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("Unknown resources get no ETag")
+    void findEtag_unknownResource_empty() {
+        // Given
+        when(clientRepository.findVersionById(99L)).thenReturn(Optional.empty());
+        when(transactionRepository.findAccountVersionByTransactionId(99L)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThat(resourceVersionService.findClientEtag(99L)).isEmpty();
+        assertThat(resourceVersionService.findStatementEtag(99L)).isEmpty();
+        assertThat(resourceVersionService.findTransactionEtag(99L)).isEmpty();
+        verify(accountRepository, never()).findVersionsByClientId(99L);
+    }
+}
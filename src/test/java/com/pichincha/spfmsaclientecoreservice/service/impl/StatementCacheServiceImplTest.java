@@ -0,0 +1,333 @@
+package com.pichincha.spfmsaclientecoreservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.pichincha.spfmsaclientecoreservice.model.ReportDTO;
+import com.pichincha.spfmsaclientecoreservice.service.PdfReportService;
+import com.pichincha.spfmsaclientecoreservice.service.ReportService;
+import com.pichincha.spfmsaclientecoreservice.service.mapper.ReportMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatementCacheServiceImplTest {
+
+    private static final Long CLIENT_ID = 1L;
+    private static final LocalDate JANUARY_START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate JANUARY_END = LocalDate.of(2024, 1, 31);
+    private static final LocalDate MARCH_START = LocalDate.of(2024, 3, 1);
+    private static final LocalDate MARCH_END = LocalDate.of(2024, 3, 31);
+    private static final byte[] PDF = {'%', 'P', 'D', 'F'};
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private ReportMapper reportMapper;
+
+    @Mock
+    private PdfReportService pdfReportService;
+
+    @TempDir
+    private Path directory;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("A repeated statement is served from memory without reading the database")
+    void findStatement_repeated_servedFromMemory() {
+        // Given
+        StatementCacheServiceImpl service = newService(DataSize.ofMegabytes(1));
+        List<ReportDTO> rows = List.of(row("ACC-1", 100.0));
+        when(reportMapper.toStatementFromLines(anyList())).thenReturn(rows);
+
+        // When
+        service.findStatement(CLIENT_ID, JANUARY_START, JANUARY_END);
+        List<ReportDTO> cached = service.findStatement(CLIENT_ID, JANUARY_START, JANUARY_END);
+
+        // Then
+        assertThat(cached).isEqualTo(rows).isNotSameAs(rows);
+        verify(reportService, times(1)).findStatementLines(CLIENT_ID, JANUARY_START, JANUARY_END);
+        assertThat(gets("memory", "hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("A statement evicted from memory is read back from disk")
+    void findStatement_evictedFromMemory_servedFromDisk() {
+        // Given - every entry outweighs the memory tier
+        StatementCacheServiceImpl service = newService(DataSize.ofBytes(1));
+        List<ReportDTO> rows = List.of(row("ACC-1", 100.0), row("ACC-1", -40.0));
+        when(reportMapper.toStatementFromLines(anyList())).thenReturn(rows);
+
+        // When
+        service.findStatement(CLIENT_ID, JANUARY_START, JANUARY_END);
+        List<ReportDTO> cached = service.findStatement(CLIENT_ID, JANUARY_START, JANUARY_END);
+
+        // Then
+        assertThat(cached).isEqualTo(rows);
+        verify(reportService, times(1)).findStatementLines(CLIENT_ID, JANUARY_START, JANUARY_END);
+        assertThat(gets("disk", "hit")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", StatementCacheServiceImpl.CACHE_NAME)
+                .tag("tier", "memory").functionCounter().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("The PDF is rendered once and stored next to the rows")
+    void writeStatementPdf_repeated_renderedOnce() throws IOException {
+        // Given
+        StatementCacheServiceImpl service = newService(DataSize.ofMegabytes(1));
+        when(reportMapper.toStatementFromLines(anyList())).thenReturn(List.of(row("ACC-1", 100.0)));
+        renderPdf(PDF);
+
+        // When
+        List<ReportDTO> rows = service.findStatement(CLIENT_ID, JANUARY_START, JANUARY_END);
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        long written = service.writeStatementPdf(CLIENT_ID, JANUARY_START, JANUARY_END, rows, first);
+        service.writeStatementPdf(CLIENT_ID, JANUARY_START, JANUARY_END, rows, second);
+
+        // Then
+        assertThat(first.toByteArray()).isEqualTo(PDF);
+        assertThat(second.toByteArray()).isEqualTo(PDF);
+        assertThat(written).isEqualTo(PDF.length);
+        verify(reportService, times(1)).findStatementLines(CLIENT_ID, JANUARY_START, JANUARY_END);
+        verify(reportMapper, times(1)).toStatementFromLines(anyList());
+        verify(pdfReportService, times(1)).writeAccountStatementPdf(eq(rows), any(OutputStream.class));
+        verify(pdfReportService, never()).generateAccountStatementPdf(anyList());
+        assertThat(files(".pdf")).hasSize(1);
+        assertThat(files(".json")).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("A PDF is streamed from its disk file and never kept in memory")
+    void writeStatementPdf_largerThanMemoryTier_streamedFromDisk() throws IOException {
+        // Given - the PDF alone outweighs the memory tier
+        StatementCacheServiceImpl service = newService(DataSize.ofKilobytes(4));
+        when(reportMapper.toStatementFromLines(anyList())).thenReturn(List.of(row("ACC-1", 100.0)));
+        byte[] pdf = new byte[64 * 1024];
+        pdf[pdf.length - 1] = 1;
+        renderPdf(pdf);
+
+        // When
+        List<ReportDTO> rows = service.findStatement(CLIENT_ID, JANUARY_START, JANUARY_END);
+        service.writeStatementPdf(CLIENT_ID, JANUARY_START, JANUARY_END, rows, new ByteArrayOutputStream());
+        ByteArrayOutputStream cached = new ByteArrayOutputStream();
+        service.writeStatementPdf(CLIENT_ID, JANUARY_START, JANUARY_END, rows, cached);
+
+        // Then
+        assertThat(cached.toByteArray()).isEqualTo(pdf);
+        verify(pdfReportService, times(1)).writeAccountStatementPdf(anyList(), any(OutputStream.class));
+        assertThat(size("memory")).isLessThan(pdf.length);
+        assertThat(size("disk")).isGreaterThan(pdf.length);
+    }
+
+    @Test
+    @DisplayName("A PDF rendered while the client changed is streamed but not kept")
+    void writeStatementPdf_evictedWhileRendering_notCached() throws IOException {
+        // Given
+        StatementCacheServiceImpl service = newService(DataSize.ofMegabytes(1));
+        when(reportMapper.toStatementFromLines(anyList())).thenReturn(List.of(row("ACC-1", 100.0)));
+        doAnswer(invocation -> {
+            service.evictClient(CLIENT_ID);
+            invocation.<OutputStream>getArgument(1).write(PDF);
+            return null;
+        }).when(pdfReportService).writeAccountStatementPdf(anyList(), any(OutputStream.class));
+
+        List<ReportDTO> rows = service.findStatement(CLIENT_ID, JANUARY_START, JANUARY_END);
+
+        // When
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.writeStatementPdf(CLIENT_ID, JANUARY_START, JANUARY_END, rows, output);
+
+        // Then
+        assertThat(output.toByteArray()).isEqualTo(PDF);
+        assertThat(files("")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("A PDF of rows that are no longer the cached statement is streamed but not kept")
+    void writeStatementPdf_rowsReplacedSinceLookup_notCached() throws IOException {
+        // Given - the client changed after the rows were read and the statement was loaded again
+        StatementCacheServiceImpl service = newService(DataSize.ofMegabytes(1));
+        when(reportMapper.toStatementFromLines(anyList()))
+                .thenReturn(List.of(row("ACC-1", 100.0)))
+                .thenReturn(List.of(row("ACC-1", 100.0), row("ACC-1", -40.0)));
+        renderPdf(PDF);
+        List<ReportDTO> stale = service.findStatement(CLIENT_ID, JANUARY_START, JANUARY_END);
+        service.evictClient(CLIENT_ID);
+        service.findStatement(CLIENT_ID, JANUARY_START, JANUARY_END);
+
+        // When
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.writeStatementPdf(CLIENT_ID, JANUARY_START, JANUARY_END, stale, output);
+
+        // Then
+        assertThat(output.toByteArray()).isEqualTo(PDF);
+        verify(pdfReportService).writeAccountStatementPdf(eq(stale), any(OutputStream.class));
+        assertThat(files(".pdf")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("An eviction drops only the client's statements reaching the movement date")
+    void evictClientFrom_dropsOnlyAffectedRanges() throws IOException {
+        // Given
+        StatementCacheServiceImpl service = newService(DataSize.ofMegabytes(1));
+        when(reportMapper.toStatementFromLines(anyList())).thenReturn(List.of(row("ACC-1", 100.0)));
+        service.findStatement(CLIENT_ID, JANUARY_START, JANUARY_END);
+        service.findStatement(CLIENT_ID, MARCH_START, MARCH_END);
+        service.findStatement(2L, MARCH_START, MARCH_END);
+
+        // When
+        service.evictClientFrom(CLIENT_ID, LocalDate.of(2024, 2, 15));
+        service.findStatement(CLIENT_ID, JANUARY_START, JANUARY_END);
+        service.findStatement(2L, MARCH_START, MARCH_END);
+
+        // Then
+        verify(reportService, times(1)).findStatementLines(CLIENT_ID, JANUARY_START, JANUARY_END);
+        verify(reportService, times(1)).findStatementLines(2L, MARCH_START, MARCH_END);
+        assertThat(files(".json")).hasSize(2);
+        assertThat(meterRegistry.get("cache.statements.invalidations").tag("tier", "disk").counter().count())
+                .isEqualTo(1.0);
+
+        service.findStatement(CLIENT_ID, MARCH_START, MARCH_END);
+        verify(reportService, times(2)).findStatementLines(CLIENT_ID, MARCH_START, MARCH_END);
+    }
+
+    @Test
+    @DisplayName("A statement loaded while its client changed is not cached")
+    void evictClient_duringLoad_resultNotCached() {
+        // Given
+        StatementCacheServiceImpl service = newService(DataSize.ofMegabytes(1));
+        when(reportMapper.toStatementFromLines(anyList())).thenReturn(List.of(row("ACC-1", 100.0)));
+        when(reportService.findStatementLines(CLIENT_ID, JANUARY_START, JANUARY_END))
+                .thenAnswer(invocation -> {
+                    service.evictClient(CLIENT_ID);
+                    return List.of();
+                })
+                .thenReturn(List.of());
+
+        // When
+        service.findStatement(CLIENT_ID, JANUARY_START, JANUARY_END);
+        service.findStatement(CLIENT_ID, JANUARY_START, JANUARY_END);
+
+        // Then
+        verify(reportService, times(2)).findStatementLines(CLIENT_ID, JANUARY_START, JANUARY_END);
+    }
+
+    @Test
+    @DisplayName("Inside a transaction the eviction waits for the commit")
+    void evictClientFrom_insideTransaction_appliesOnCommit() {
+        // Given
+        StatementCacheServiceImpl service = newService(DataSize.ofMegabytes(1));
+        when(reportMapper.toStatementFromLines(anyList())).thenReturn(List.of(row("ACC-1", 100.0)));
+        service.findStatement(CLIENT_ID, JANUARY_START, JANUARY_END);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            service.evictClientFrom(CLIENT_ID, JANUARY_START);
+            service.findStatement(CLIENT_ID, JANUARY_START, JANUARY_END);
+            verify(reportService, times(1)).findStatementLines(CLIENT_ID, JANUARY_START, JANUARY_END);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        service.findStatement(CLIENT_ID, JANUARY_START, JANUARY_END);
+        verify(reportService, times(2)).findStatementLines(CLIENT_ID, JANUARY_START, JANUARY_END);
+    }
+
+    @Test
+    @DisplayName("Byte sizes of both tiers are published as gauges")
+    void sizeGauges_reportStoredBytes() throws IOException {
+        // Given
+        StatementCacheServiceImpl service = newService(DataSize.ofMegabytes(1));
+        when(reportMapper.toStatementFromLines(anyList())).thenReturn(List.of(row("ACC-1", 100.0)));
+        renderPdf(new byte[2048]);
+
+        // When
+        List<ReportDTO> rows = service.findStatement(CLIENT_ID, JANUARY_START, JANUARY_END);
+        service.writeStatementPdf(CLIENT_ID, JANUARY_START, JANUARY_END, rows, new ByteArrayOutputStream());
+
+        // Then - rows in both tiers, the PDF only on disk
+        long storedBytes = 0;
+        for (Path file : files("")) {
+            storedBytes += Files.size(file);
+        }
+        assertThat(size("memory")).isEqualTo(Files.size(files(".json").get(0)));
+        assertThat(size("disk")).isEqualTo(storedBytes).isGreaterThan(2048);
+    }
+
+    private void renderPdf(byte[] pdf) {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(pdf);
+            return null;
+        }).when(pdfReportService).writeAccountStatementPdf(anyList(), any(OutputStream.class));
+    }
+
+    private StatementCacheServiceImpl newService(DataSize memoryMaxSize) {
+        return new StatementCacheServiceImpl(reportService, reportMapper, pdfReportService, objectMapper,
+                meterRegistry, memoryMaxSize, DataSize.ofMegabytes(10), Duration.ofMinutes(15), directory);
+    }
+
+    private double gets(String tier, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", StatementCacheServiceImpl.CACHE_NAME)
+                .tag("tier", tier).tag("result", result).functionCounter().count();
+    }
+
+    private double size(String tier) {
+        return meterRegistry.get("cache.statements.size").tag("tier", tier).gauge().value();
+    }
+
+    /**
+     * Cached files live in the instance's subdirectory of the configured directory
+     */
+    private List<Path> files(String suffix) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> !file.getFileName().toString().startsWith("."))
+                    .filter(file -> file.toString().endsWith(suffix))
+                    .toList();
+        }
+    }
+
+    private ReportDTO row(String accountNumber, Double movement) {
+        ReportDTO report = new ReportDTO();
+        report.setDate(JANUARY_START);
+        report.setClient("Jose Lema");
+        report.setAccountNumber(accountNumber);
+        report.setType("SAVINGS");
+        report.setInitialBalance(1000.0);
+        report.setStatus(true);
+        report.setMovement(movement);
+        report.setAvailableBalance(1000.0 + movement);
+        return report;
+    }
+}
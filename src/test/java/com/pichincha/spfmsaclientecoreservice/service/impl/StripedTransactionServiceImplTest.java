@@ -0,0 +1,142 @@
+package com.pichincha.spfmsaclientecoreservice.service.impl;
+
+import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionPostingResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StripedTransactionServiceImplTest {
+
+    @Mock
+    private TransactionServiceImpl delegate;
+
+    private StripedTransactionServiceImpl stripedService;
+
+    @BeforeEach
+    void setUp() {
+        stripedService = new StripedTransactionServiceImpl(delegate, 16);
+    }
+
+    @Test
+    @DisplayName("createTransaction - postings to the same account never overlap")
+    void createTransaction_sameAccount_isSerialized() throws Exception {
+        // Given
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(delegate.createTransaction(any(Transaction.class))).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            inFlight.decrementAndGet();
+            return invocation.getArgument(0);
+        });
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Transaction>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(executor.submit(() -> stripedService.createTransaction(transactionFor(7L))));
+        }
+        for (Future<Transaction> result : results) {
+            result.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(maxInFlight.get()).isEqualTo(1);
+        verify(delegate, times(20)).createTransaction(any(Transaction.class));
+    }
+
+    @Test
+    @DisplayName("createTransaction - postings to different accounts run in parallel")
+    void createTransaction_differentAccounts_runInParallel() throws Exception {
+        // Given
+        CountDownLatch bothInside = new CountDownLatch(2);
+        when(delegate.createTransaction(any(Transaction.class))).thenAnswer(invocation -> {
+            bothInside.countDown();
+            assertThat(bothInside.await(5, TimeUnit.SECONDS)).isTrue();
+            return invocation.getArgument(0);
+        });
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<Transaction> first = executor.submit(() -> stripedService.createTransaction(transactionFor(1L)));
+        Future<Transaction> second = executor.submit(() -> stripedService.createTransaction(transactionFor(2L)));
+
+        // Then
+        assertThat(first.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isNotNull();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("createTransaction - without account delegates validation")
+    void createTransaction_withoutAccount_delegates() {
+        // Given
+        Transaction transaction = new Transaction();
+        when(delegate.createTransaction(transaction)).thenThrow(new IllegalArgumentException("Account is required"));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> stripedService.createTransaction(transaction));
+    }
+
+    @Test
+    @DisplayName("createTransactions - results keep the position of every item in the request")
+    void createTransactions_mapsResultsBackToRequestPositions() {
+        // Given - accounts 1 and 17 share a stripe, account 2 has its own
+        when(delegate.createTransactions(anyList())).thenAnswer(invocation -> {
+            List<Transaction> group = invocation.getArgument(0);
+            List<TransactionPostingResult> results = new ArrayList<>();
+            for (int i = 0; i < group.size(); i++) {
+                results.add(TransactionPostingResult.posted(i, group.get(i)));
+            }
+            return results;
+        });
+        List<Transaction> transactions = List.of(
+                transactionFor(1L), transactionFor(2L), transactionFor(17L), transactionFor(2L));
+
+        // When
+        List<TransactionPostingResult> results = stripedService.createTransactions(transactions);
+
+        // Then
+        assertThat(results).extracting(TransactionPostingResult::index).containsExactly(0, 1, 2, 3);
+        for (int i = 0; i < transactions.size(); i++) {
+            assertThat(results.get(i).transaction()).isSameAs(transactions.get(i));
+        }
+        verify(delegate, times(2)).createTransactions(anyList());
+    }
+
+    @Test
+    @DisplayName("constructor - rejects non positive stripe count")
+    void constructor_rejectsNonPositiveStripeCount() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedTransactionServiceImpl(delegate, 0));
+    }
+
+    private Transaction transactionFor(Long accountId) {
+        Account account = new Account();
+        account.setAccountId(accountId);
+        Transaction transaction = new Transaction();
+        transaction.setAccount(account);
+        return transaction;
+    }
+}
@@ -0,0 +1,127 @@
+package com.pichincha.spfmsaclientecoreservice.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.domain.Money;
+import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
+import com.pichincha.spfmsaclientecoreservice.model.TransactionDTO;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionImportSummary;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionPostingResult;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionService;
+import com.pichincha.spfmsaclientecoreservice.service.mapper.TransactionMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionImportServiceImplTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private TransactionMapper transactionMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private TransactionImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new TransactionImportServiceImpl(transactionService, transactionMapper, objectMapper,
+                entityManager);
+        ReflectionTestUtils.setField(importService, "importChunkSize", 2);
+
+        when(transactionMapper.toEntity(any(TransactionDTO.class))).thenAnswer(invocation -> {
+            TransactionDTO dto = invocation.getArgument(0);
+            Account account = new Account();
+            account.setAccountId(dto.getAccountId());
+            Transaction transaction = new Transaction();
+            transaction.setAccount(account);
+            transaction.setAmount(Money.toCents(dto.getAmount()));
+            return transaction;
+        });
+        lenient().when(transactionMapper.toSummaryDto(any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            return new TransactionDTO()
+                    .amount(Money.toDouble(transaction.getAmount()))
+                    .balance(Money.toDouble(transaction.getBalance()));
+        });
+    }
+
+    @Test
+    @DisplayName("importTransactions - posts in chunks and writes one result per line in order")
+    void importTransactions_postsInChunksAndKeepsLineOrder() throws Exception {
+        // Given
+        when(transactionService.createTransactions(anyList())).thenAnswer(invocation -> {
+            List<Transaction> transactions = invocation.getArgument(0);
+            List<TransactionPostingResult> results = new ArrayList<>();
+            for (int i = 0; i < transactions.size(); i++) {
+                Transaction transaction = transactions.get(i);
+                if (transaction.getAmount() > 10_000) {
+                    results.add(TransactionPostingResult.failed(i, "Saldo no disponible"));
+                } else {
+                    transaction.setBalance(transaction.getAmount());
+                    results.add(TransactionPostingResult.posted(i, transaction));
+                }
+            }
+            return results;
+        });
+        String ndjson = """
+                {"accountId":1,"transactionType":"DEPOSIT","amount":10.0}
+
+                {"accountId":1,"transactionType":
+                {"accountId":2,"transactionType":"WITHDRAWAL","amount":500.0}
+                {"accountId":2,"transactionType":"DEPOSIT","amount":20.0}
+                """;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        TransactionImportSummary summary = importService.importTransactions(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), output);
+
+        // Then
+        List<JsonNode> results = output.toString(StandardCharsets.UTF_8).lines()
+                .map(this::readTree)
+                .toList();
+        assertThat(results).extracting(node -> node.get("index").asInt()).containsExactly(1, 3, 4, 5);
+        assertThat(results).extracting(node -> node.get("status").asText())
+                .containsExactly("CREATED", "FAILED", "FAILED", "CREATED");
+        assertThat(results.get(1).get("error").asText()).startsWith("Invalid transaction line");
+        assertThat(results.get(2).get("error").asText()).isEqualTo("Saldo no disponible");
+        assertThat(results.get(3).get("transaction").get("balance").asDouble()).isEqualTo(20.0);
+
+        assertThat(summary).isEqualTo(new TransactionImportSummary(5, 2, 2));
+        verify(transactionService, times(2)).createTransactions(anyList());
+        verify(entityManager, times(2)).clear();
+    }
+
+    private JsonNode readTree(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.pichincha.spfmsaclientecoreservice.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionPartitionServiceImplTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-11-20T10:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should create the current month and the configured months ahead on PostgreSQL")
+    void createUpcomingPartitions_PostgreSql_CreatesEachMonth() {
+        // Given
+        onDatabase("PostgreSQL");
+        when(jdbcTemplate.queryForObject(eq("SELECT create_transaction_partition(?)"), eq(String.class), any(LocalDate.class)))
+                .thenAnswer(invocation -> "transaction_" + invocation.getArgument(2, LocalDate.class).toString()
+                        .substring(0, 7).replace('-', '_'));
+        TransactionPartitionServiceImpl service = new TransactionPartitionServiceImpl(jdbcTemplate, 2, CLOCK);
+
+        // When
+        List<String> partitions = service.createUpcomingPartitions();
+
+        // Then - the year boundary is crossed with the first day of each month
+        assertThat(partitions).containsExactly("transaction_2024_11", "transaction_2024_12", "transaction_2025_01");
+        verify(jdbcTemplate).queryForObject("SELECT create_transaction_partition(?)", String.class, LocalDate.of(2025, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Should leave databases without partitions untouched")
+    void createUpcomingPartitions_H2_DoesNothing() {
+        // Given
+        onDatabase("H2");
+        TransactionPartitionServiceImpl service = new TransactionPartitionServiceImpl(jdbcTemplate, 3, CLOCK);
+
+        // When
+        List<String> partitions = service.createUpcomingPartitions();
+
+        // Then
+        assertThat(partitions).isEmpty();
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(String.class), any(Object[].class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onDatabase(String productName) {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(productName);
+    }
+}
@@ -1,22 +1,33 @@
 package com.pichincha.spfmsaclientecoreservice.service.impl;
 
 import com.pichincha.spfmsaclientecoreservice.domain.Account;
+import com.pichincha.spfmsaclientecoreservice.domain.Client;
 import com.pichincha.spfmsaclientecoreservice.domain.Transaction;
 import com.pichincha.spfmsaclientecoreservice.domain.enums.TransactionType;
 import com.pichincha.spfmsaclientecoreservice.exception.InsufficientBalanceException;
 import com.pichincha.spfmsaclientecoreservice.exception.ResourceNotFoundException;
 import com.pichincha.spfmsaclientecoreservice.repository.AccountRepository;
 import com.pichincha.spfmsaclientecoreservice.repository.TransactionRepository;
+import com.pichincha.spfmsaclientecoreservice.service.HeaderCacheService;
+import com.pichincha.spfmsaclientecoreservice.service.StatementCacheService;
+import com.pichincha.spfmsaclientecoreservice.service.TransactionPostingResult;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,6 +41,18 @@ class TransactionServiceImplTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private HeaderCacheService headerCacheService;
+
+    @Mock
+    private StatementCacheService statementCacheService;
+
     @InjectMocks
     private TransactionServiceImpl transactionService;
 
@@ -39,18 +62,22 @@ class TransactionServiceImplTest {
     void setUp() {
         account = new Account();
         account.setAccountId(1L);
-        account.setInitialBalance(100.0);
+        account.setInitialBalance(10_000L);
+        account.setCurrentBalance(10_000L);
         account.setTransactions(new ArrayList<>());
+        Client client = new Client();
+        client.setPersonId(7L);
+        account.setClient(client);
     }
 
     @Test
     void createTransaction_deposit_updatesBalanceAndSaves() {
         Transaction tx = new Transaction();
         tx.setAccount(account);
-        tx.setAmount(50.0);
+        tx.setAmount(5000L);
         tx.setTransactionType(TransactionType.DEPOSIT);
 
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
             Transaction t = invocation.getArgument(0);
             t.setTransactionId(100L);
@@ -61,18 +88,45 @@ class TransactionServiceImplTest {
 
         assertNotNull(saved);
         assertEquals(100L, saved.getTransactionId());
-        assertEquals(150.0, saved.getBalance());
+        assertEquals(15_000L, saved.getBalance());
+        assertEquals(15_000L, account.getCurrentBalance());
         verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(accountRepository, never()).findById(any());
+        verify(headerCacheService).evictAccount(1L);
+        verify(statementCacheService).evictClientFrom(7L, saved.getDate().toLocalDate());
+        verify(entityManager, never()).lock(any(), any());
+    }
+
+    @Test
+    void createTransaction_withoutBalanceSnapshot_usesLatestTransactionBalance() {
+        account.setCurrentBalance(null);
+        Transaction latest = new Transaction();
+        latest.setBalance(8000L);
+
+        Transaction tx = new Transaction();
+        tx.setAccount(account);
+        tx.setAmount(2000L);
+        tx.setTransactionType(TransactionType.DEPOSIT);
+
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        when(transactionRepository.findFirstByAccountOrderByDateDescTransactionIdDesc(account))
+                .thenReturn(Optional.of(latest));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Transaction saved = transactionService.createTransaction(tx);
+
+        assertEquals(10_000L, saved.getBalance());
+        assertEquals(10_000L, account.getCurrentBalance());
     }
 
     @Test
     void createTransaction_withdraw_insufficientBalance_throws() {
         Transaction tx = new Transaction();
         tx.setAccount(account);
-        tx.setAmount(200.0);
+        tx.setAmount(20_000L);
         tx.setTransactionType(TransactionType.WITHDRAWAL);
 
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
 
         assertThrows(InsufficientBalanceException.class, () -> transactionService.createTransaction(tx));
         verify(transactionRepository, never()).save(any());
@@ -85,10 +139,215 @@ class TransactionServiceImplTest {
         a.setAccountId(99L);
         tx.setAccount(a);
 
-        when(accountRepository.findById(99L)).thenReturn(Optional.empty());
+        when(accountRepository.findByIdForUpdate(99L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> transactionService.createTransaction(tx));
         verify(transactionRepository, never()).save(any());
     }
-}
 
+    @Test
+    void createTransaction_zeroAmount_forcesAccountVersionIncrement() {
+        Transaction tx = new Transaction();
+        tx.setAccount(account);
+        tx.setAmount(0L);
+        tx.setTransactionType(TransactionType.DEPOSIT);
+
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        transactionService.createTransaction(tx);
+
+        assertEquals(10_000L, account.getCurrentBalance());
+        verify(entityManager).lock(account, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+    }
+
+    @Test
+    void updateTransaction_sameDate_shiftsFollowingBalancesByDifference() {
+        LocalDateTime date = LocalDateTime.of(2024, 1, 10, 9, 0);
+        Transaction existing = existingTransaction(5L, TransactionType.DEPOSIT, 5000L, 15_000L, date);
+
+        Transaction changes = new Transaction();
+        changes.setTransactionType(TransactionType.WITHDRAWAL);
+        changes.setAmount(2000L);
+
+        when(transactionRepository.findAccountIdByTransactionId(5L)).thenReturn(Optional.of(1L));
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        when(transactionRepository.findById(5L)).thenReturn(Optional.of(existing));
+        when(transactionRepository.findBalancesBefore(eq(1L), eq(date), eq(5L), any(Limit.class)))
+                .thenReturn(List.of());
+        when(transactionRepository.findMinBalanceFrom(1L, date, 5L)).thenReturn(3000L);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Transaction updated = transactionService.updateTransaction(5L, changes);
+
+        assertEquals(-2000L, updated.getAmount());
+        assertEquals(8000L, updated.getBalance());
+        assertEquals(3000L, account.getCurrentBalance());
+        verify(transactionRepository).shiftBalancesAfter(1L, date, 5L, -7000L);
+        verify(transactionRepository, never()).findByAccountOrderByDateAsc(any());
+    }
+
+    @Test
+    void updateTransaction_movedDate_shiftsOldAndNewPositions() {
+        LocalDateTime oldDate = LocalDateTime.of(2024, 1, 10, 9, 0);
+        LocalDateTime newDate = LocalDateTime.of(2024, 1, 5, 9, 0);
+        Transaction existing = existingTransaction(5L, TransactionType.DEPOSIT, 5000L, 15_000L, oldDate);
+
+        Transaction changes = new Transaction();
+        changes.setTransactionType(TransactionType.DEPOSIT);
+        changes.setAmount(4000L);
+        changes.setDate(newDate);
+
+        when(transactionRepository.findAccountIdByTransactionId(5L)).thenReturn(Optional.of(1L));
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        when(transactionRepository.findById(5L)).thenReturn(Optional.of(existing));
+        when(transactionRepository.findBalancesBefore(eq(1L), eq(newDate), eq(5L), any(Limit.class)))
+                .thenReturn(List.of(7000L));
+        when(transactionRepository.findMinBalanceFrom(1L, newDate, 5L)).thenReturn(7000L);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Transaction updated = transactionService.updateTransaction(5L, changes);
+
+        assertEquals(newDate, updated.getDate());
+        assertEquals(11_000L, updated.getBalance());
+        assertEquals(9000L, account.getCurrentBalance());
+        verify(transactionRepository).shiftBalancesAfter(1L, oldDate, 5L, -5000L);
+        verify(transactionRepository).shiftBalancesAfter(1L, newDate, 5L, 4000L);
+    }
+
+    @Test
+    void updateTransaction_negativeBalanceAfterRecalculation_throws() {
+        LocalDateTime date = LocalDateTime.of(2024, 1, 10, 9, 0);
+        Transaction existing = existingTransaction(5L, TransactionType.DEPOSIT, 5000L, 15_000L, date);
+
+        Transaction changes = new Transaction();
+        changes.setTransactionType(TransactionType.WITHDRAWAL);
+        changes.setAmount(50_000L);
+
+        when(transactionRepository.findAccountIdByTransactionId(5L)).thenReturn(Optional.of(1L));
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        when(transactionRepository.findById(5L)).thenReturn(Optional.of(existing));
+        when(transactionRepository.findBalancesBefore(eq(1L), eq(date), eq(5L), any(Limit.class)))
+                .thenReturn(List.of());
+        when(transactionRepository.findMinBalanceFrom(1L, date, 5L)).thenReturn(-40_000L);
+
+        assertThrows(InsufficientBalanceException.class, () -> transactionService.updateTransaction(5L, changes));
+        assertEquals(10_000L, account.getCurrentBalance());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void deleteTransaction_shiftsFollowingBalancesAndSnapshot() {
+        LocalDateTime date = LocalDateTime.of(2024, 1, 10, 9, 0);
+        Transaction existing = existingTransaction(5L, TransactionType.DEPOSIT, 5000L, 15_000L, date);
+
+        when(transactionRepository.findAccountIdByTransactionId(5L)).thenReturn(Optional.of(1L));
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        when(transactionRepository.findById(5L)).thenReturn(Optional.of(existing));
+        when(transactionRepository.findMinBalanceFrom(1L, date, 5L)).thenReturn(null);
+
+        transactionService.deleteTransaction(5L);
+
+        assertEquals(5000L, account.getCurrentBalance());
+        verify(transactionRepository).delete(existing);
+        verify(transactionRepository).shiftBalancesAfter(1L, date, 5L, -5000L);
+    }
+
+    @Test
+    void deleteTransaction_notFound_throwsResourceNotFound() {
+        when(transactionRepository.findAccountIdByTransactionId(9L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> transactionService.deleteTransaction(9L));
+        verify(transactionRepository, never()).delete(any());
+    }
+
+    @Test
+    void createTransactions_postsPerAccountAndReportsFailedItems() {
+        Account other = new Account();
+        other.setAccountId(2L);
+        other.setInitialBalance(0L);
+        other.setCurrentBalance(0L);
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        when(accountRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(other));
+
+        List<TransactionPostingResult> results = transactionService.createTransactions(List.of(
+                batchItem(account, TransactionType.DEPOSIT, 5000L),
+                batchItem(other, TransactionType.WITHDRAWAL, 1000L),
+                batchItem(account, TransactionType.WITHDRAWAL, 12_000L),
+                batchItem(null, TransactionType.DEPOSIT, 500L),
+                batchItem(account, TransactionType.WITHDRAWAL, 20_000L)));
+
+        assertEquals(5, results.size());
+        assertTrue(results.get(0).isPosted());
+        assertEquals(15_000L, results.get(0).transaction().getBalance());
+        assertEquals("Saldo no disponible", results.get(1).error());
+        assertEquals(3000L, results.get(2).transaction().getBalance());
+        assertEquals("Account is required for transaction", results.get(3).error());
+        assertEquals("Saldo no disponible", results.get(4).error());
+        assertEquals(3000L, account.getCurrentBalance());
+        assertEquals(0L, other.getCurrentBalance());
+        verify(accountRepository, times(1)).findByIdForUpdate(1L);
+        verify(transactionRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    void createTransactions_unknownAccount_failsItsItemsOnly() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        Account missing = new Account();
+        missing.setAccountId(99L);
+        when(accountRepository.findByIdForUpdate(99L)).thenReturn(Optional.empty());
+
+        List<TransactionPostingResult> results = transactionService.createTransactions(List.of(
+                batchItem(missing, TransactionType.DEPOSIT, 1000L),
+                batchItem(account, TransactionType.DEPOSIT, 1000L)));
+
+        assertEquals("Account not found with id: 99", results.get(0).error());
+        assertTrue(results.get(1).isPosted());
+        assertEquals(11_000L, account.getCurrentBalance());
+    }
+
+    @Test
+    void exportTransactions_handsEveryRowToConsumerAndDetachesIt() {
+        Transaction first = existingTransaction(1L, TransactionType.DEPOSIT, 1000L, 11_000L, LocalDateTime.now());
+        Transaction second = existingTransaction(2L, TransactionType.DEPOSIT, 500L, 11_500L, LocalDateTime.now());
+        when(transactionRepository.streamAllForExport()).thenReturn(Stream.of(first, second));
+
+        List<Long> exportedIds = new ArrayList<>();
+        long exported = transactionService.exportTransactions(transaction ->
+                exportedIds.add(transaction.getTransactionId()));
+
+        assertEquals(2, exported);
+        assertEquals(List.of(1L, 2L), exportedIds);
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    private Transaction batchItem(Account target, TransactionType type, Long amount) {
+        Transaction transaction = new Transaction();
+        if (target != null) {
+            Account reference = new Account();
+            reference.setAccountId(target.getAccountId());
+            transaction.setAccount(reference);
+        }
+        transaction.setTransactionType(type);
+        transaction.setAmount(amount);
+        return transaction;
+    }
+
+    private Transaction existingTransaction(Long id, TransactionType type, Long amount, Long balance,
+                                            LocalDateTime date) {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(id);
+        transaction.setTransactionType(type);
+        transaction.setAmount(amount);
+        transaction.setBalance(balance);
+        transaction.setDate(date);
+        transaction.setAccount(account);
+        return transaction;
+    }
+}
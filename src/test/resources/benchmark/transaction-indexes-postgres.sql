@@ -0,0 +1,97 @@
+-- =====================================================================
+-- Benchmark de índices de transaction/account en PostgreSQL
+-- Uso (base vacía, sin los datos de bdd_client_core_banco.sql.txt):
+--   createdb index_benchmark
+--   psql -d index_benchmark -f src/test/resources/benchmark/transaction-indexes-postgres.sql
+-- Siembra 5.000 clientes, 10.000 cuentas y 2.000.000 de movimientos y muestra
+-- EXPLAIN (ANALYZE, BUFFERS) de las consultas calientes sin y con los índices.
+-- =====================================================================
+\timing on
+
+DROP TABLE IF EXISTS transaction, account, client;
+
+CREATE TABLE client (
+    client_id       BIGINT PRIMARY KEY,
+    name            VARCHAR(100) NOT NULL,
+    identification  VARCHAR(20) UNIQUE NOT NULL,
+    password        VARCHAR(100),
+    status          BOOLEAN
+);
+
+CREATE TABLE account (
+    account_id      BIGINT PRIMARY KEY,
+    account_number  VARCHAR(20) UNIQUE NOT NULL,
+    account_type    VARCHAR(20),
+    initial_balance DOUBLE PRECISION,
+    current_balance DOUBLE PRECISION,
+    status          BOOLEAN,
+    version         BIGINT NOT NULL DEFAULT 0,
+    client_id       BIGINT REFERENCES client(client_id)
+);
+
+CREATE TABLE transaction (
+    transaction_id   BIGINT PRIMARY KEY,
+    date             TIMESTAMP,
+    transaction_type VARCHAR(20),
+    amount           DOUBLE PRECISION,
+    balance          DOUBLE PRECISION,
+    account_id       BIGINT REFERENCES account(account_id)
+);
+
+INSERT INTO client (client_id, name, identification, password, status)
+SELECT g, 'Index Client ' || g, 'IX-' || g, 'pwd', true
+FROM generate_series(1, 5000) g;
+
+INSERT INTO account (account_id, account_number, account_type, initial_balance, current_balance, status, client_id)
+SELECT g, 'IX' || g, CASE WHEN g % 2 = 0 THEN 'SAVINGS' ELSE 'CHECKING' END, 1000, 1000, true, (g - 1) % 5000 + 1
+FROM generate_series(1, 10000) g;
+
+-- movimientos intercalados entre cuentas, a lo largo de ~3 años
+INSERT INTO transaction (transaction_id, date, transaction_type, amount, balance, account_id)
+SELECT g, TIMESTAMP '2022-01-01' + g * INTERVAL '45 seconds', 'DEPOSIT', 10, 1000 + 10 * (g / 10000), g % 10000 + 1
+FROM generate_series(1, 2000000) g;
+
+VACUUM ANALYZE client;
+VACUUM ANALYZE account;
+VACUUM ANALYZE transaction;
+
+-- ---------------------------------------------------------------------
+-- Sin índices secundarios
+-- ---------------------------------------------------------------------
+\echo '=== statement lines sin índices ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.transaction_id, t.date, c.name, a.account_number, a.account_type, a.initial_balance, a.status, t.amount, t.balance
+FROM transaction t JOIN account a ON a.account_id = t.account_id JOIN client c ON c.client_id = a.client_id
+WHERE c.client_id = 42 AND t.date BETWEEN '2023-06-01' AND '2023-06-30 23:59:59'
+ORDER BY a.account_id, t.date, t.transaction_id;
+
+\echo '=== account history sin índices ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.transaction_id, t.balance FROM transaction t WHERE t.account_id = 4242 ORDER BY t.date, t.transaction_id;
+
+\echo '=== latest balance sin índices ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.balance FROM transaction t WHERE t.account_id = 4242 ORDER BY t.date DESC, t.transaction_id DESC LIMIT 1;
+
+-- ---------------------------------------------------------------------
+-- Con los índices de V1__create_schema.sql / @Table(indexes)
+-- ---------------------------------------------------------------------
+CREATE INDEX idx_transaction_account_date ON transaction (account_id, date, transaction_id);
+CREATE INDEX idx_account_client ON account (client_id);
+ANALYZE transaction;
+ANALYZE account;
+
+\echo '=== statement lines con índices ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.transaction_id, t.date, c.name, a.account_number, a.account_type, a.initial_balance, a.status, t.amount, t.balance
+FROM transaction t JOIN account a ON a.account_id = t.account_id JOIN client c ON c.client_id = a.client_id
+WHERE c.client_id = 42 AND t.date BETWEEN '2023-06-01' AND '2023-06-30 23:59:59'
+ORDER BY a.account_id, t.date, t.transaction_id;
+
+\echo '=== account history con índices ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.transaction_id, t.balance FROM transaction t WHERE t.account_id = 4242 ORDER BY t.date, t.transaction_id;
+
+\echo '=== latest balance con índices ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.balance FROM transaction t WHERE t.account_id = 4242 ORDER BY t.date DESC, t.transaction_id DESC LIMIT 1;